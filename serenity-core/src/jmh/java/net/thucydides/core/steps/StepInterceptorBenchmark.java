@@ -0,0 +1,55 @@
+package net.thucydides.core.steps;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of calling a helper method on an instrumented step library,
+ * compared with calling the same method directly, both normally and inside a silent task.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StepInterceptorBenchmark {
+
+    public static class CalculatorSteps {
+        public int add(int a, int b) {
+            return a + b;
+        }
+    }
+
+    private CalculatorSteps instrumentedSteps;
+    private CalculatorSteps plainSteps;
+    private int value;
+
+    @Setup
+    public void createStepLibraries() {
+        instrumentedSteps = new StepFactory().getNewStepLibraryFor(CalculatorSteps.class);
+        plainSteps = new CalculatorSteps();
+        value = 1;
+    }
+
+    @Benchmark
+    public int directCall() {
+        return plainSteps.add(value, value);
+    }
+
+    @Benchmark
+    public int interceptedCall() {
+        return instrumentedSteps.add(value, value);
+    }
+
+    @Benchmark
+    public int interceptedCallInASilentTask() {
+        SilentTaskTracker.startingSilentTask();
+        try {
+            return instrumentedSteps.add(value, value);
+        } finally {
+            SilentTaskTracker.finishedSilentTask();
+        }
+    }
+}
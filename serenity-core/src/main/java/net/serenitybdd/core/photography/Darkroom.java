@@ -12,14 +12,21 @@ import java.util.Arrays;
 import java.util.List;
 
 import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_COMPRESS_SCREENSHOTS;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_DARKROOM_QUEUE_SIZE;
 
+/**
+ * Receives the screenshot negatives of a test thread and has them processed and saved in the background.
+ * Each darkroom has its own queue, so that it can wait for its own screenshots to be saved when it closes,
+ * but the worker threads that process the screenshots are shared by all the darkrooms in the JVM.
+ */
 public class Darkroom {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(Darkroom.class);
     private final static List<PhotoFilter> DEFAULT_PROCESSORS = Arrays.asList(new Blurer());
+    private final static int DEFAULT_QUEUE_SIZE = 64;
     private DarkroomProcessingLine processingLine;
-    private Thread screenshotThread;
     private final EnvironmentVariables environmentVariables;
+    private final DarkroomMetrics metrics = new DarkroomMetrics();
 
     public void isOpenForBusiness() {
         if (theDarkroomIsClosed()) {
@@ -58,11 +65,18 @@ public class Darkroom {
     }
 
     public void start() {
+        this.processingLine = new DarkroomProcessingLine(getProcessors(),
+                                                         DarkroomProcessingLine.sharedWorkerCount(),
+                                                         SERENITY_DARKROOM_QUEUE_SIZE.integerFrom(environmentVariables, DEFAULT_QUEUE_SIZE),
+                                                         metrics);
+        processingLine.start();
+    }
 
-        this.processingLine = new DarkroomProcessingLine(getProcessors());
-        screenshotThread = new Thread(processingLine,"Darkroom Processing Line");
-        screenshotThread.setDaemon(true);
-        screenshotThread.start();
+    /**
+     * Counters and per-stage timings for the screenshots processed by this darkroom.
+     */
+    public DarkroomMetrics getMetrics() {
+        return metrics;
     }
 
     public void terminate() {
@@ -77,19 +91,14 @@ public class Darkroom {
         return processingLine.addToProcessingQueue(negative);
     }
 
-    private void ensureThatTheProcessingLineIsRunning() {
-        if (processingLine == null) {
+    private synchronized void ensureThatTheProcessingLineIsRunning() {
+        if (theDarkroomIsClosed()) {
             start();
         }
     }
 
     private void shutdownProcessingLine() {
         processingLine.terminate();
-        try {
-            screenshotThread.join();
-        } catch (InterruptedException e) {
-            LOGGER.error("Screenshot processing interrupted",e);
-        }
     }
 
     /**
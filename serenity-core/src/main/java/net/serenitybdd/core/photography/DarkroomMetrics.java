@@ -0,0 +1,114 @@
+package net.serenitybdd.core.photography;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timings for the screenshots processed by a darkroom.
+ * Times are recorded per processing stage: the time spent waiting in the queue, the time spent in each
+ * photo filter (including reading and writing the image), and the time spent saving the final screenshot.
+ */
+public class DarkroomMetrics {
+
+    public static final String QUEUE_STAGE = "queue";
+    public static final String WRITE_STAGE = "write";
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder processedInTestThread = new LongAdder();
+    private final LongAdder waitedForQueue = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final ConcurrentMap<String, LongAdder> stageTimes = new ConcurrentHashMap<>();
+
+    void recordSubmission() {
+        submitted.increment();
+    }
+
+    void recordProcessed() {
+        processed.increment();
+    }
+
+    void recordProcessedInTestThread() {
+        processedInTestThread.increment();
+    }
+
+    void recordWaitForQueue() {
+        waitedForQueue.increment();
+    }
+
+    void recordFailure() {
+        failed.increment();
+    }
+
+    void recordQueueDepth(int depth) {
+        queueDepth.set(depth);
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    void recordStageTime(String stage, long elapsedNanos) {
+        stageTimes.computeIfAbsent(stage, newStage -> new LongAdder()).add(elapsedNanos);
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * The number of screenshots saved directly by the test thread because the processing queue was full.
+     */
+    public long getProcessedInTestThreadCount() {
+        return processedInTestThread.sum();
+    }
+
+    /**
+     * The number of times a test thread had to wait for room in the processing queue.
+     */
+    public long getWaitForQueueCount() {
+        return waitedForQueue.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getTotalTimeInMillis(String stage) {
+        LongAdder stageTime = stageTimes.get(stage);
+        return (stageTime == null) ? 0 : TimeUnit.NANOSECONDS.toMillis(stageTime.sum());
+    }
+
+    public Map<String, Long> getStageTimesInMillis() {
+        Map<String, Long> times = new TreeMap<>();
+        stageTimes.forEach((stage, time) -> times.put(stage, TimeUnit.NANOSECONDS.toMillis(time.sum())));
+        return times;
+    }
+
+    @Override
+    public String toString() {
+        return "submitted=" + getSubmittedCount()
+                + ", processed=" + getProcessedCount()
+                + ", processedInTestThread=" + getProcessedInTestThreadCount()
+                + ", waitedForQueue=" + getWaitForQueueCount()
+                + ", failed=" + getFailedCount()
+                + ", maxQueueDepth=" + getMaxQueueDepth()
+                + ", stageTimesInMillis=" + getStageTimesInMillis();
+    }
+}
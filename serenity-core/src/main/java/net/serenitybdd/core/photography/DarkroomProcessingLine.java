@@ -1,96 +1,199 @@
 package net.serenitybdd.core.photography;
 
 import com.google.common.base.Preconditions;
+import net.serenitybdd.core.environment.ConfiguredEnvironment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
 import java.nio.file.StandardCopyOption;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class DarkroomProcessingLine implements Runnable {
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_DARKROOM_WORKERS;
+
+/**
+ * Processes and saves screenshot negatives in the background.
+ * Each processing line has its own bounded queue of negatives, and the queues of all the processing lines are served
+ * by a single pool of daemon worker threads shared by the whole JVM, so the number of worker threads does not grow
+ * with the number of test threads. When the queue is full, negatives that need no image processing are saved
+ * directly by the submitting thread, and other negatives wait until there is room in the queue,
+ * so that a burst of screenshots cannot grow the queue without limit.
+ */
+public class DarkroomProcessingLine {
 
     private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 
-    boolean openForBusiness;
+    volatile boolean openForBusiness;
+
+    private volatile boolean started;
 
     private final List<? extends PhotoFilter> processors;
 
-    private final List<ScreenshotNegative> queue;
+    private final BlockingQueue<QueuedNegative> queue;
 
+    private final int workerCount;
 
-    public void terminate() {
-        openForBusiness = false;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
 
-        synchronized (queue) {
-            queue.notifyAll();
-        }
+    private final Object workersFinished = new Object();
+
+    private final DarkroomMetrics metrics;
 
+    private static final class SharedWorkerPool {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+        private static final int SIZE = Math.max(1, SERENITY_DARKROOM_WORKERS.integerFrom(
+                ConfiguredEnvironment.getEnvironmentVariables(), Math.max(2, Runtime.getRuntime().availableProcessors())));
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "Darkroom Processing Line " + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     DarkroomProcessingLine(List<? extends PhotoFilter> processors) {
+        this(processors, 1, Integer.MAX_VALUE, new DarkroomMetrics());
+    }
+
+    /**
+     * @param workerCount the maximum number of shared worker threads that process the negatives of this line at once
+     */
+    DarkroomProcessingLine(List<? extends PhotoFilter> processors, int workerCount, int queueCapacity, DarkroomMetrics metrics) {
         this.processors = processors;
-        this.queue = Collections.synchronizedList(new LinkedList<ScreenshotNegative>());
+        this.workerCount = Math.max(1, workerCount);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.metrics = metrics;
         this.openForBusiness = true;
     }
 
+    /**
+     * The number of worker threads shared by all the processing lines in the JVM.
+     */
+    static int sharedWorkerCount() {
+        return SharedWorkerPool.SIZE;
+    }
+
+    void start() {
+        started = true;
+        dispatchWorkers();
+    }
+
+    /**
+     * Stop accepting new negatives, and wait for the negatives already in the queue to be processed.
+     */
+    public void terminate() {
+        openForBusiness = false;
+        started = true;
+        dispatchWorkers();
+        try {
+            synchronized (workersFinished) {
+                while (!queue.isEmpty() || activeWorkers.get() > 0) {
+                    workersFinished.wait(100);
+                    dispatchWorkers();
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.error("Screenshot processing interrupted", e);
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.debug("Darkroom processing line shut down: {}", metrics);
+    }
+
+    /**
+     * Ask the shared workers to process the queued negatives, using at most workerCount of them at once.
+     */
+    private void dispatchWorkers() {
+        while (started && !queue.isEmpty()) {
+            int active = activeWorkers.get();
+            if (active >= workerCount) {
+                return;
+            }
+            if (activeWorkers.compareAndSet(active, active + 1)) {
+                SharedWorkerPool.INSTANCE.execute(this::processNegatives);
+            }
+        }
+    }
+
     public ScreenshotReceipt addToProcessingQueue(ScreenshotNegative negative) {
-        queue.add(negative);
-        synchronized (queue) {
-            queue.notifyAll();
+        ensureThatTheDarkroomIsStillOpen();
+        metrics.recordSubmission();
+
+        QueuedNegative queuedNegative = new QueuedNegative(negative);
+        if (!queue.offer(queuedNegative)) {
+            if (needsNoImageProcessing(negative)) {
+                metrics.recordProcessedInTestThread();
+                processSafely(negative);
+            } else {
+                waitForRoomInTheQueueFor(queuedNegative);
+            }
         }
+        metrics.recordQueueDepth(queue.size());
+        dispatchWorkers();
         return recieptFor(negative);
     }
 
+    private void waitForRoomInTheQueueFor(QueuedNegative queuedNegative) {
+        metrics.recordWaitForQueue();
+        try {
+            queue.put(queuedNegative);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            processSafely(queuedNegative.negative);
+        }
+    }
+
+    private boolean needsNoImageProcessing(ScreenshotNegative negative) {
+        return processors.stream().allMatch(processor -> processor.isNoOpFor(negative));
+    }
+
     private ScreenshotReceipt recieptFor(ScreenshotNegative negative) {
         return new ScreenshotReceipt(screenshotPathFor(negative));
     }
 
-    public void run() {
-        LOGGER.debug("Darkroom processing line starting up");
-        while (openForBusiness) {
-            synchronized (queue) {
-                processNegative();
-                try {
-                    if (openForBusiness) {
-                        queue.wait();
-                    } else {
-                        finishProcessingNegatives();
-                    }
-                } catch (InterruptedException ignore) {
-                }
+    private void processNegatives() {
+        try {
+            QueuedNegative next;
+            while ((next = queue.poll()) != null) {
+                metrics.recordStageTime(DarkroomMetrics.QUEUE_STAGE, System.nanoTime() - next.queuedAt);
+                metrics.recordQueueDepth(queue.size());
+                processSafely(next.negative);
             }
+        } finally {
+            activeWorkers.decrementAndGet();
+            synchronized (workersFinished) {
+                workersFinished.notifyAll();
+            }
+            // A negative may have been queued after this worker found the queue empty
+            dispatchWorkers();
         }
-        LOGGER.debug("Darkroom processing line shutting down");
-    }
-
-    private void finishProcessingNegatives() {
-        processNegative();
     }
 
-    private void processNegative() {
-        while (!queue.isEmpty()) {
-            ScreenshotNegative negative = queue.remove(0);
-            if (negative != null) {
-                process(negative);
-            }
+    private void processSafely(ScreenshotNegative negative) {
+        try {
+            process(negative);
+        } catch (RuntimeException e) {
+            metrics.recordFailure();
+            LOGGER.warn("Failed to process screenshot " + negative.getScreenshotPath(), e);
         }
     }
 
     public void process(ScreenshotNegative negative) {
-        ensureThatTheDarkroomIsStillOpen();
-
         Path screenshotPath = screenshotPathFor(negative);
 
         if (!Files.exists(screenshotPath)) {
             saveProcessedScreenshot(negative);
         }
         deleteTemporaryScreenshotFrom(negative);
+        metrics.recordProcessed();
     }
 
     private void deleteTemporaryScreenshotFrom(ScreenshotNegative negative) {
@@ -104,17 +207,34 @@ public class DarkroomProcessingLine implements Runnable {
     private void saveProcessedScreenshot(ScreenshotNegative negative) {
         LOGGER.debug("Processing screenshot image in {}", negative.getTemporaryPath());
         for (PhotoFilter processor : processors) {
+            long startTime = System.nanoTime();
             negative = processor.process(negative);
+            metrics.recordStageTime(processor.getStageName(), System.nanoTime() - startTime);
         }
+        long startTime = System.nanoTime();
         try {
             LOGGER.debug("Saving screenshot to " + negative.getScreenshotPath());
             if (!Files.exists(negative.getScreenshotPath())) {
                 ensureParentDirectoryExistsFor(negative.getScreenshotPath());
-                Files.copy(negative.getTemporaryPath(), negative.getScreenshotPath(), StandardCopyOption.REPLACE_EXISTING);
+                moveIntoPlace(negative.getTemporaryPath(), negative.getScreenshotPath());
             }
         } catch (FileAlreadyExistsException noFurtherActionRequired) {
         } catch (IOException e) {
             LOGGER.warn("Failed to save screenshot", e);
+        } finally {
+            metrics.recordStageTime(DarkroomMetrics.WRITE_STAGE, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Rename the processed negative into place, so that the screenshot file only ever appears complete.
+     * If the negative is staged on a different file system, it is copied instead.
+     */
+    private void moveIntoPlace(Path temporaryPath, Path screenshotPath) throws IOException {
+        try {
+            Files.move(temporaryPath, screenshotPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException | ProviderMismatchException differentFileSystems) {
+            Files.copy(temporaryPath, screenshotPath, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -137,4 +257,14 @@ public class DarkroomProcessingLine implements Runnable {
     private void ensureThatTheDarkroomIsStillOpen() {
         Preconditions.checkArgument(openForBusiness,"The darkroom is closed and cannot accept any more negatives");
     }
-}
\ No newline at end of file
+
+    private static class QueuedNegative {
+        private final ScreenshotNegative negative;
+        private final long queuedAt;
+
+        private QueuedNegative(ScreenshotNegative negative) {
+            this.negative = negative;
+            this.queuedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package net.serenitybdd.core.photography;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+public class PageSourceDigest {
+
+    public static String forPageSource(byte[] pageSource) {
+        return "pagesource-" + DigestUtils.sha256Hex(pageSource) + ".html.txt";
+    }
+}
@@ -1,6 +1,9 @@
 package net.serenitybdd.core.photography;
 
 
+import net.serenitybdd.core.environment.ConfiguredEnvironment;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.screenshots.CompressedPageSource;
 import net.thucydides.core.webdriver.WebDriverFactory;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
@@ -8,27 +11,36 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Records the HTML source of the current page. Page sources are stored under a name derived from their contents,
+ * in the same way as screenshots, so a page that has not changed since it was last recorded is not stored again.
+ * They are gzip-compressed unless serenity.compress.page.sources is set to false.
+ */
 public class PageSourceRecorder {
     private final WebDriver driver;
+    private final boolean compressPageSources;
 
     private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 
     public PageSourceRecorder(WebDriver driver) {
         this.driver = driver;
+        this.compressPageSources = ThucydidesSystemProperty.SERENITY_COMPRESS_PAGE_SOURCES.booleanFrom(ConfiguredEnvironment.getEnvironmentVariables(), true);
     }
 
     public Optional<File> intoDirectory(Path path) {
         byte[] pageSource = getPageSource();
         if (WebDriverFactory.isAlive(driver) && (pageSource.length > 0)) {
             try {
-                Path pageSourceFile = Files.createTempFile(path, "pagesource", ".html.txt");
-                Files.write(pageSourceFile, pageSource);
-                return Optional.of(pageSourceFile.toFile());
+                return Optional.of(storedPageSource(path, pageSource).toFile());
             } catch (IOException couldNotCreatePageSourcce) {
                 LOGGER.warn("Could not save the page source HTML file", couldNotCreatePageSourcce);
             }
@@ -36,6 +48,49 @@ public class PageSourceRecorder {
         return Optional.empty();
     }
 
+    private Path storedPageSource(Path directory, byte[] pageSource) throws IOException {
+        String pageSourceName = PageSourceDigest.forPageSource(pageSource);
+        if (compressPageSources) {
+            pageSourceName = pageSourceName + CompressedPageSource.COMPRESSED_SUFFIX;
+        }
+        Path pageSourceFile = directory.resolve(pageSourceName);
+        if (Files.exists(pageSourceFile)) {
+            return pageSourceFile;
+        }
+        // A report may already have decompressed this page source, removing the compressed copy
+        Path decompressedPageSourceFile = directory.resolve(CompressedPageSource.linkTo(pageSourceName));
+        if (Files.exists(decompressedPageSourceFile)) {
+            return decompressedPageSourceFile;
+        }
+
+        Path temporaryFile = Files.createTempFile(directory, "pagesource", ".tmp");
+        try {
+            try (OutputStream out = outputStreamFor(temporaryFile)) {
+                out.write(pageSource);
+            }
+            moveIntoPlace(temporaryFile, pageSourceFile);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        return pageSourceFile;
+    }
+
+    private OutputStream outputStreamFor(Path pageSourceFile) throws IOException {
+        OutputStream out = Files.newOutputStream(pageSourceFile);
+        return (compressPageSources) ? new GZIPOutputStream(out) : out;
+    }
+
+    /**
+     * Another thread may be storing an identical page source at the same time, in which case either copy will do.
+     */
+    private void moveIntoPlace(Path temporaryFile, Path pageSourceFile) throws IOException {
+        try {
+            Files.move(temporaryFile, pageSourceFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException atomicMoveNotSupported) {
+            Files.move(temporaryFile, pageSourceFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     private byte[] getPageSource() {
         try {
             String ps = driver.getPageSource();
@@ -7,4 +7,17 @@ public interface PhotoFilter {
     Path amendedScreenshotPath(ScreenshotNegative negative);
     ScreenshotNegative process(ScreenshotNegative negative);
 
+    /**
+     * The name used for this filter in the darkroom processing metrics.
+     */
+    default String getStageName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * True if this filter leaves the given negative unchanged, so that it can be saved without any image processing.
+     */
+    default boolean isNoOpFor(ScreenshotNegative negative) {
+        return false;
+    }
 }
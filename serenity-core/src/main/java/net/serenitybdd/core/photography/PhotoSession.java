@@ -9,6 +9,7 @@ import net.thucydides.core.screenshots.BlurLevel;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.webdriver.WebDriverFacade;
 import net.thucydides.core.webdriver.WebDriverFactory;
+import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
@@ -16,10 +17,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 
 import static net.serenitybdd.core.photography.ScreenshotNegative.prepareNegativeIn;
 
@@ -36,6 +39,14 @@ public class PhotoSession {
 
     private static ThreadLocal<ScreenshotPhoto> previousScreenshot = new ThreadLocal<>();
     private static ThreadLocal<Long> previousScreenshotTimestamp = ThreadLocal.withInitial(() -> 0L);
+    private static ThreadLocal<String> previousScreenshotTarget = new ThreadLocal<>();
+
+    /**
+     * A blank screen compresses to a very small PNG file, so larger viewport screenshots do not need to be decoded
+     * to check whether they are blank. Full-page screenshots are never checked pixel by pixel, as a page that is
+     * legitimately a single colour can be much taller than the viewport.
+     */
+    private static final int MAXIMUM_BLANK_SCREEN_SIZE = 64 * 1024;
 
     private static final String BLANK_SCREEN = "c118a2e3019c996cb56584ec6f8cd0b2be4c056ce4ae6b83de3c32c2e364cc61.png";
 
@@ -56,29 +67,47 @@ public class PhotoSession {
             return previousScreenshot.get();
         }
 
-        byte[] screenshotData = null;
+        CapturedScreenshot screenshot = null;
 
         if (WebDriverFactory.isAlive(driver) && unproxied(driver) instanceof TakesScreenshot) {
             try {
-                PageSnapshot snapshot = Shutterbug.shootPage(unproxied(driver), scrollStrategy, 500);
-                screenshotData = asByteArray(snapshot.getImage());
+                screenshot = captureScreenshot();
             } catch (Exception e) {
                 LOGGER.warn("Failed to take screenshot", e);
                 return ScreenshotPhoto.None;
             }
         }
 
-        if (shouldIgnore(screenshotData)) {
+        if (shouldIgnore(screenshot)) {
             return ScreenshotPhoto.None;
         }
 
-        ScreenshotPhoto photo = storedScreenshot(screenshotData);
+        if (isIdenticalToThePreviousScreenshot(screenshot)) {
+            previousScreenshotTimestamp.set(System.currentTimeMillis());
+            return previousScreenshot.get();
+        }
+
+        ScreenshotPhoto photo = storedScreenshot(screenshot);
         previousScreenshot.set(photo);
+        previousScreenshotTarget.set(targetOf(screenshot));
         previousScreenshotTimestamp.set(System.currentTimeMillis());
 
         return photo;
     }
 
+    /**
+     * Viewport screenshots are taken straight from the driver as PNG data, without decoding and re-encoding the image.
+     * Other scroll strategies need Shutterbug to stitch the page together.
+     */
+    CapturedScreenshot captureScreenshot() throws IOException {
+        if (scrollStrategy == ScrollStrategy.VIEWPORT_ONLY) {
+            byte[] screenshotData = ((TakesScreenshot) unproxied(driver)).getScreenshotAs(OutputType.BYTES);
+            return (screenshotData == null) ? null : new CapturedScreenshot(screenshotData, ScreenshotDigest.forScreenshotData(screenshotData), true);
+        }
+        PageSnapshot snapshot = Shutterbug.shootPage(unproxied(driver), scrollStrategy, 500);
+        return encoded(snapshot.getImage());
+    }
+
     private WebDriver unproxied(WebDriver driver) {
         if (driver instanceof WebDriverFacade) {
             return ((WebDriverFacade) driver).getProxiedDriver();
@@ -87,22 +116,70 @@ public class PhotoSession {
         }
     }
 
-    private byte[] asByteArray(BufferedImage image) throws IOException {
-        try(ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            ImageIO.write(image, "png", outputStream);
-            outputStream.flush();
-            return outputStream.toByteArray();
+    /**
+     * Encode the image as a PNG, calculating the digest of the PNG data as it is written.
+     */
+    static CapturedScreenshot encoded(BufferedImage image) throws IOException {
+        MessageDigest digest = ScreenshotDigest.newDigest();
+        try(ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            DigestOutputStream digestingStream = new DigestOutputStream(outputStream, digest)) {
+            ImageIO.write(image, "png", digestingStream);
+            digestingStream.flush();
+            return new CapturedScreenshot(outputStream.toByteArray(), ScreenshotDigest.forDigest(digest), false);
         }
     }
 
-    private boolean shouldIgnore(byte[] screenshotData) {
-        if ((screenshotData == null) || (screenshotData.length == 0)) {
+    private boolean shouldIgnore(CapturedScreenshot screenshot) {
+        if ((screenshot == null) || (screenshot.data == null) || (screenshot.data.length == 0)) {
             return true;
         }
-        if (filenameFor(screenshotData).equals(BLANK_SCREEN)) {
+        if (screenshot.filename.equals(BLANK_SCREEN)) {
             return true;
         }
-        return false;
+        return screenshot.viewport && isABlankViewport(screenshot);
+    }
+
+    /**
+     * The raw viewport PNG data never matches the digest of the known blank screen, so a viewport screenshot is
+     * treated as blank if every pixel is the same colour. It is only decoded if it is small enough to be a blank screen.
+     */
+    private boolean isABlankViewport(CapturedScreenshot screenshot) {
+        if (screenshot.data.length > MAXIMUM_BLANK_SCREEN_SIZE) {
+            return false;
+        }
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot.data));
+            return (image != null) && isASingleColour(image);
+        } catch (IOException unreadableImage) {
+            return false;
+        }
+    }
+
+    private boolean isASingleColour(BufferedImage image) {
+        int firstPixel = image.getRGB(0, 0);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRGB(x, y) != firstPixel) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Screenshots are stored under the digest of their contents, so a screenshot with the same digest, blur level and
+     * output directory as the previous one in this thread would be stored in the same file, and the previous photo can be reused.
+     */
+    private boolean isIdenticalToThePreviousScreenshot(CapturedScreenshot screenshot) {
+        ScreenshotPhoto photo = previousScreenshot.get();
+        return (photo != null)
+                && (photo != ScreenshotPhoto.None)
+                && targetOf(screenshot).equals(previousScreenshotTarget.get());
+    }
+
+    private String targetOf(CapturedScreenshot screenshot) {
+        return outputDirectory.resolve(screenshot.filename) + ":" + blurLevel;
     }
 
 
@@ -112,10 +189,10 @@ public class PhotoSession {
         return (System.currentTimeMillis() - previousPhotoTaken < minimumInterval);
     }
 
-    private ScreenshotPhoto storedScreenshot(byte[] screenshotData) {
+    private ScreenshotPhoto storedScreenshot(CapturedScreenshot screenshot) {
         try {
-            Path screenshotPath = screenshotPathFor(screenshotData);
-            ScreenshotReceipt screenshotReceipt = storeScreenshot(screenshotData, screenshotPath);
+            Path screenshotPath = outputDirectory.resolve(screenshot.filename);
+            ScreenshotReceipt screenshotReceipt = storeScreenshot(screenshot.data, screenshotPath);
             return ScreenshotPhoto.forScreenshotAt(screenshotReceipt.getDestinationPath());
         } catch (IOException e) {
             LOGGER.warn("Failed to save screenshot", e);
@@ -124,11 +201,9 @@ public class PhotoSession {
     }
 
     private ScreenshotReceipt storeScreenshot(byte[] screenshotData, Path screenshotPath) throws IOException {
-        Path screenshotsDirectory = DarkroomFileSystem.get().getPath("/var/screenshots");
-
-        Files.createDirectories(screenshotsDirectory);
+        Path stagingDirectory = ScreenshotStagingArea.configuredIn(environmentVariables).directoryFor(screenshotPath);
 
-        ScreenshotNegative screenshotNegative = prepareNegativeIn(screenshotsDirectory)
+        ScreenshotNegative screenshotNegative = prepareNegativeIn(stagingDirectory)
                 .withScreenshotData(screenshotData)
                 .andBlurringOf(blurLevel)
                 .andTargetPathOf(screenshotPath);
@@ -136,11 +211,18 @@ public class PhotoSession {
         return darkroom.sendNegative(screenshotNegative);
     }
 
-    private String filenameFor(byte[] screenshotData) {
-        return ScreenshotDigest.forScreenshotData(screenshotData);
-    }
-
-    private Path screenshotPathFor(byte[] screenshotData) {
-        return outputDirectory.resolve(filenameFor(screenshotData));
+    /**
+     * The PNG data of a screenshot, with its digest-based file name, and whether it only shows the viewport.
+     */
+    static class CapturedScreenshot {
+        private final byte[] data;
+        private final String filename;
+        private final boolean viewport;
+
+        private CapturedScreenshot(byte[] data, String filename, boolean viewport) {
+            this.data = data;
+            this.filename = filename;
+            this.viewport = viewport;
+        }
     }
 }
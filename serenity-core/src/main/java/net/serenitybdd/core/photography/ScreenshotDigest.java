@@ -1,10 +1,27 @@
 package net.serenitybdd.core.photography;
 
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 
+import java.security.MessageDigest;
+
 public class ScreenshotDigest {
 
     public static String forScreenshotData(byte[] screenshotData) {
         return DigestUtils.sha256Hex(screenshotData) + ".png";
     }
-}
\ No newline at end of file
+
+    /**
+     * A new digest that can be updated as screenshot data is written, e.g. through a DigestOutputStream.
+     */
+    public static MessageDigest newDigest() {
+        return DigestUtils.getSha256Digest();
+    }
+
+    /**
+     * The screenshot file name for a digest that has been updated with the complete screenshot data.
+     */
+    public static String forDigest(MessageDigest digest) {
+        return Hex.encodeHexString(digest.digest()) + ".png";
+    }
+}
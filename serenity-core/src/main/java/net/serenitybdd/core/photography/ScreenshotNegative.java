@@ -56,7 +56,7 @@ public class ScreenshotNegative {
 
         public ScreenshotNegative andTargetPathOf(Path finalScreenshotPath) throws IOException {
             Files.createDirectories(screenshotsDirectory);
-            Path screenshotWorkingFile = Files.createTempFile(screenshotsDirectory, "screenshot-", "");
+            Path screenshotWorkingFile = Files.createTempFile(screenshotsDirectory, ".screenshot-", ".tmp");
             Files.write(screenshotWorkingFile, screenshotData);
             return new ScreenshotNegative(screenshotWorkingFile, finalScreenshotPath, blurLevel);
         }
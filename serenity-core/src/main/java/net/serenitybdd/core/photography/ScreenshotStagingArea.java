@@ -0,0 +1,68 @@
+package net.serenitybdd.core.photography;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Where screenshot negatives are written while they wait to be processed by the darkroom.
+ * The staging area is configured with the serenity.screenshot.staging property.
+ */
+public enum ScreenshotStagingArea {
+
+    /**
+     * Write negatives to a temporary file next to the final screenshot, and rename them into place once processed.
+     * Nothing is kept on the heap, and a screenshot file only appears once it is complete.
+     */
+    TARGET_DIRECTORY("target") {
+        @Override
+        public Path directoryFor(Path screenshotPath) {
+            Path targetDirectory = screenshotPath.toAbsolutePath().getParent();
+            return (targetDirectory != null) ? targetDirectory : TEMPORARY_DIRECTORY.directoryFor(screenshotPath);
+        }
+    },
+
+    /**
+     * Write negatives to the system temporary directory, and copy them to the screenshot directory once processed.
+     */
+    TEMPORARY_DIRECTORY("temp") {
+        @Override
+        public Path directoryFor(Path screenshotPath) {
+            return Paths.get(System.getProperty("java.io.tmpdir"), "serenity-screenshots");
+        }
+    },
+
+    /**
+     * Keep negatives in an in-memory file system, one per test thread.
+     * This was the only option in earlier versions, but keeps every pending screenshot on the heap.
+     */
+    IN_MEMORY("memory") {
+        @Override
+        public Path directoryFor(Path screenshotPath) {
+            return DarkroomFileSystem.get().getPath("/var/screenshots");
+        }
+    };
+
+    private final String configuredName;
+
+    ScreenshotStagingArea(String configuredName) {
+        this.configuredName = configuredName;
+    }
+
+    /**
+     * The directory in which to stage the negative of a screenshot that will eventually be saved to the given path.
+     */
+    public abstract Path directoryFor(Path screenshotPath);
+
+    public static ScreenshotStagingArea configuredIn(EnvironmentVariables environmentVariables) {
+        String configuredValue = ThucydidesSystemProperty.SERENITY_SCREENSHOT_STAGING.from(environmentVariables, TARGET_DIRECTORY.configuredName);
+        for (ScreenshotStagingArea stagingArea : values()) {
+            if (stagingArea.configuredName.equalsIgnoreCase(configuredValue.trim()) || stagingArea.name().equalsIgnoreCase(configuredValue.trim())) {
+                return stagingArea;
+            }
+        }
+        return TARGET_DIRECTORY;
+    }
+}
@@ -34,6 +34,16 @@ public class Blurer implements PhotoFilter {
     }
 
 
+    @Override
+    public String getStageName() {
+        return "blur";
+    }
+
+    @Override
+    public boolean isNoOpFor(ScreenshotNegative negative) {
+        return negative.getBlurLevel() == BlurLevel.NONE;
+    }
+
     private AmendedPathBuilder amendScreenshotPathFor(ScreenshotNegative negative) {
         return new AmendedPathBuilder(negative);
     }
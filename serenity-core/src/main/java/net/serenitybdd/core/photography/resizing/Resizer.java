@@ -35,6 +35,11 @@ public class Resizer implements PhotoFilter {
         return negative.getScreenshotPath();
     }
 
+    @Override
+    public String getStageName() {
+        return "resize";
+    }
+
     public ScreenshotNegative process(ScreenshotNegative negative) {
 
         ScreenshotNegative amendedNegative = negative.withScreenshotPath(amendedScreenshotPath(negative));
@@ -1,16 +1,12 @@
 package net.serenitybdd.core.webdriver.driverproviders;
 
 import net.serenitybdd.core.webdriver.enhancers.BeforeAWebdriverScenario;
-import net.thucydides.core.ThucydidesSystemProperty;
+import net.serenitybdd.core.webdriver.enhancers.EnhancerInstances;
 import net.thucydides.core.model.TestOutcome;
-import net.thucydides.core.reflection.ClassFinder;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.webdriver.SupportedWebDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 
-import java.util.Arrays;
-import java.util.List;
-
 public class AddCustomDriverCapabilities {
 
     private final EnvironmentVariables environmentVariables;
@@ -32,32 +28,9 @@ public class AddCustomDriverCapabilities {
     }
 
     public DesiredCapabilities to(DesiredCapabilities capabilities) {
-
-        List<Class<?>> customCapabilityEnhancers
-                = ClassFinder.loadClasses()
-                             .thatImplement(BeforeAWebdriverScenario.class)
-                             .fromPackage("net.serenitybdd");
-
-        String extensionPackageList = ThucydidesSystemProperty.SERENITY_EXTENSION_PACKAGES.from(environmentVariables);
-        if (extensionPackageList != null) {
-            List<String> extensionPackages = Arrays.asList(extensionPackageList.split(","));
-            extensionPackages.forEach(
-                    extensionPackage ->
-                            customCapabilityEnhancers.addAll(ClassFinder.loadClasses().thatImplement(BeforeAWebdriverScenario.class)
-                                    .fromPackage(extensionPackage))
-            );
-        }
-
-        customCapabilityEnhancers.forEach(
-                enhancerType -> {
-                    try {
-                        ((BeforeAWebdriverScenario)enhancerType.newInstance()).apply(environmentVariables, driver, testOutcome, capabilities);
-                    } catch (InstantiationException | IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                }
+        EnhancerInstances.ofType(BeforeAWebdriverScenario.class, environmentVariables).forEach(
+                enhancer -> enhancer.apply(environmentVariables, driver, testOutcome, capabilities)
         );
-
         return capabilities;
     }
 }
@@ -1,14 +1,10 @@
 package net.serenitybdd.core.webdriver.driverproviders;
 
 import net.serenitybdd.core.webdriver.enhancers.CustomDriverEnhancer;
-import net.thucydides.core.ThucydidesSystemProperty;
-import net.thucydides.core.reflection.ClassFinder;
+import net.serenitybdd.core.webdriver.enhancers.EnhancerInstances;
 import net.thucydides.core.util.EnvironmentVariables;
 import org.openqa.selenium.WebDriver;
 
-import java.util.Arrays;
-import java.util.List;
-
 public class EnhanceDriver {
 
     private final EnvironmentVariables environmentVariables;
@@ -22,33 +18,9 @@ public class EnhanceDriver {
     }
 
     public WebDriver to(WebDriver driver) {
-
-        List<Class<?>> customDriverEnhancers
-                = ClassFinder.loadClasses()
-                             .thatImplement(CustomDriverEnhancer.class)
-                             .fromPackage("net.serenitybdd");
-
-        String extensionPackageList = ThucydidesSystemProperty.SERENITY_EXTENSION_PACKAGES.from(environmentVariables);
-        if (extensionPackageList != null) {
-            List<String> extensionPackages = Arrays.asList(extensionPackageList.split(","));
-            extensionPackages.forEach(
-                    extensionPackage ->
-                            customDriverEnhancers.addAll(ClassFinder.loadClasses()
-                                                                  .thatImplement(CustomDriverEnhancer.class)
-                                                                  .fromPackage(extensionPackage))
-            );
-        }
-
-        customDriverEnhancers.forEach(
-                enhancerType -> {
-                    try {
-                        ((CustomDriverEnhancer)enhancerType.newInstance()).apply(environmentVariables, driver);
-                    } catch (InstantiationException | IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                }
+        EnhancerInstances.ofType(CustomDriverEnhancer.class, environmentVariables).forEach(
+                enhancer -> enhancer.apply(environmentVariables, driver)
         );
-
         return driver;
     }
 }
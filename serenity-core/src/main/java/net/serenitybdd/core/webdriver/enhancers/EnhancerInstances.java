@@ -0,0 +1,59 @@
+package net.serenitybdd.core.webdriver.enhancers;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.reflection.ClassFinder;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The driver enhancers and lifecycle hooks of a given type, found in the net.serenitybdd package and in the packages
+ * listed in the serenity.extension.packages property.
+ * The enhancers are created once for each type and list of extension packages, and reused for every driver and test.
+ */
+public class EnhancerInstances {
+
+    private static final String SERENITY_PACKAGE = "net.serenitybdd";
+
+    private static final Map<String, List<?>> INSTANCES = new ConcurrentHashMap<>();
+
+    private EnhancerInstances() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> ofType(Class<T> enhancerType, EnvironmentVariables environmentVariables) {
+        String extensionPackageList = ThucydidesSystemProperty.SERENITY_EXTENSION_PACKAGES.from(environmentVariables);
+        String key = enhancerType.getName() + ":" + Optional.ofNullable(extensionPackageList).orElse("");
+
+        List<?> instances = INSTANCES.get(key);
+        if (instances == null) {
+            instances = Collections.unmodifiableList(newInstancesOf(enhancerType, extensionPackageList));
+            INSTANCES.putIfAbsent(key, instances);
+        }
+        return (List<T>) instances;
+    }
+
+    private static <T> List<T> newInstancesOf(Class<T> enhancerType, String extensionPackageList) {
+        List<Class<?>> enhancerClasses = ClassFinder.loadClasses()
+                                                    .thatImplement(enhancerType)
+                                                    .fromPackage(SERENITY_PACKAGE);
+        if (extensionPackageList != null) {
+            for (String extensionPackage : extensionPackageList.split(",")) {
+                enhancerClasses.addAll(ClassFinder.loadClasses()
+                                                  .thatImplement(enhancerType)
+                                                  .fromPackage(extensionPackage.trim()));
+            }
+        }
+
+        List<T> enhancers = new ArrayList<>();
+        for (Class<?> enhancerClass : enhancerClasses) {
+            try {
+                enhancers.add(enhancerType.cast(enhancerClass.newInstance()));
+            } catch (InstantiationException | IllegalAccessException e) {
+                e.printStackTrace();
+            }
+        }
+        return enhancers;
+    }
+}
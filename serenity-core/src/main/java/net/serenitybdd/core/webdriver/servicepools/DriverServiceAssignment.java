@@ -0,0 +1,29 @@
+package net.serenitybdd.core.webdriver.servicepools;
+
+import net.thucydides.core.util.EnvironmentVariables;
+
+import static net.thucydides.core.ThucydidesSystemProperty.WEBDRIVER_DRIVER_SERVICE_ASSIGNMENT;
+
+/**
+ * How new sessions are shared out between the driver services in a driver service pool.
+ */
+public enum DriverServiceAssignment {
+    /**
+     * Use the driver service with the fewest active sessions.
+     */
+    LEAST_LOADED,
+    /**
+     * Each test thread always uses the same driver service.
+     */
+    THREAD_AFFINE;
+
+    public static DriverServiceAssignment definedIn(EnvironmentVariables environmentVariables) {
+        String assignment = WEBDRIVER_DRIVER_SERVICE_ASSIGNMENT.from(environmentVariables, "least-loaded");
+        try {
+            return valueOf(assignment.trim().replace('-', '_').toUpperCase());
+        } catch (IllegalArgumentException unknownAssignment) {
+            throw new IllegalArgumentException("Unknown driver service assignment: " + assignment
+                    + " (expected least-loaded or thread-affine)", unknownAssignment);
+        }
+    }
+}
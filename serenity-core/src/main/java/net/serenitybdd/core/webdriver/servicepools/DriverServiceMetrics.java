@@ -0,0 +1,62 @@
+package net.serenitybdd.core.webdriver.servicepools;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Session counts and session creation times for the driver services in a driver service pool.
+ * The values are read from the services each time they are requested.
+ */
+public class DriverServiceMetrics {
+
+    private final List<? extends DriverServiceShard<?>> shards;
+
+    DriverServiceMetrics(List<? extends DriverServiceShard<?>> shards) {
+        this.shards = shards;
+    }
+
+    public int getServiceCount() {
+        return shards.size();
+    }
+
+    /**
+     * The number of sessions currently open on each driver service, in the order in which the services were created.
+     */
+    public List<Integer> getActiveSessionsPerService() {
+        return shards.stream().map(DriverServiceShard::getActiveSessions).collect(Collectors.toList());
+    }
+
+    public int getActiveSessions() {
+        return shards.stream().mapToInt(DriverServiceShard::getActiveSessions).sum();
+    }
+
+    public long getSessionsCreated() {
+        return shards.stream().mapToLong(DriverServiceShard::getSessionsCreated).sum();
+    }
+
+    public double getAverageSessionCreationTimeInMilliseconds() {
+        long sessionsCreated = getSessionsCreated();
+        if (sessionsCreated == 0) {
+            return 0.0;
+        }
+        long totalTime = shards.stream().mapToLong(DriverServiceShard::getSessionCreationTimeInNanos).sum();
+        return (double) TimeUnit.NANOSECONDS.toMicros(totalTime) / 1000.0 / sessionsCreated;
+    }
+
+    /**
+     * The number of times a driver service was found to have stopped, and was restarted.
+     */
+    public long getRestarts() {
+        return shards.stream().mapToLong(DriverServiceShard::getRestarts).sum();
+    }
+
+    @Override
+    public String toString() {
+        return "services=" + getServiceCount()
+                + ", activeSessionsPerService=" + getActiveSessionsPerService()
+                + ", sessionsCreated=" + getSessionsCreated()
+                + ", averageSessionCreationTimeInMillis=" + String.format("%.1f", getAverageSessionCreationTimeInMilliseconds())
+                + ", restarts=" + getRestarts();
+    }
+}
@@ -5,7 +5,6 @@ import net.thucydides.core.util.EnvironmentVariables;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
-import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.service.DriverService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,9 +13,16 @@ import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static net.thucydides.core.ThucydidesSystemProperty.WEBDRIVER_DRIVER_SERVICE_POOL_SIZE;
+
+/**
+ * Creates drivers that talk to a shared driver service process (e.g. chromedriver) rather than starting a new
+ * process for every driver. Several driver services can be started for each type of browser
+ * (see webdriver.driver.service.pool.size), in which case new sessions are shared out between them.
+ */
 public abstract class DriverServicePool<T extends DriverService> {
 
-    private static final ConcurrentMap<String, DriverService> DRIVER_SERVICES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, DriverServiceShards<?>> DRIVER_SERVICES = new ConcurrentHashMap<>();
 
     protected final EnvironmentVariables environmentVariables;
 
@@ -41,48 +47,72 @@ public abstract class DriverServicePool<T extends DriverService> {
         this.environmentVariables = environmentVariables;
     }
 
+    /**
+     * The first of the driver services in the pool.
+     */
     protected T getDriverService() {
-        return driverServiceWithName(serviceName());
+        return driverServices().first().getDriverService();
     }
 
-    private T driverServiceWithName(String serviceName) {
-
-        if (DRIVER_SERVICES.get(serviceName) != null) {
-            return (T) DRIVER_SERVICES.get(serviceName);
-        }
-
-        DRIVER_SERVICES.putIfAbsent(serviceName, newDriverService());
-
-        return (T) DRIVER_SERVICES.get(serviceName);
+    private DriverServiceShards<T> driverServices() {
+        return (DriverServiceShards<T>) DRIVER_SERVICES.computeIfAbsent(serviceName(),
+                name -> DriverServiceShards.of(WEBDRIVER_DRIVER_SERVICE_POOL_SIZE.integerFrom(environmentVariables, 1),
+                                               DriverServiceAssignment.definedIn(environmentVariables),
+                                               this::newDriverService));
     }
 
     public synchronized void start() throws IOException {
-        if (!getDriverService().isRunning()) {
-            getDriverService().start();
+        for (DriverServiceShard<T> driverService : driverServices().all()) {
+            driverService.ensureRunning();
         }
     }
 
     public synchronized void shutdown() {
-        if (getDriverService().isRunning()) {
-            getDriverService().stop();
+        for (DriverServiceShard<T> driverService : driverServices().all()) {
+            driverService.stop();
         }
     }
 
     public WebDriver newDriver(Capabilities capabilities) {
+        DriverServiceShard<T> driverService = driverServices().forNewSession();
         try {
-            logger.debug("Creating new driver instance with capabilities: {}", capabilities);
-            return new RemoteWebDriver(getDriverService().getUrl(), capabilities);
-        } catch (WebDriverException couldNotReachDriverService) {
-            logger.warn("Remote driver creation failed ({}), falling back on default driver creation", couldNotReachDriverService.getMessage().split("\n")[0]);
+            logger.debug("Creating new driver instance on driver service {} with capabilities: {}", driverService.getNumber(), capabilities);
+            return newSessionOn(driverService, capabilities);
+        } catch (WebDriverException | IOException couldNotReachDriverService) {
+            logger.warn("Remote driver creation failed ({}), falling back on default driver creation", firstLineOf(couldNotReachDriverService));
             return newDriverInstance(capabilities);
         }
     }
 
+    /**
+     * If the session cannot be created because the driver service has died, restart the service and try again once.
+     */
+    private WebDriver newSessionOn(DriverServiceShard<T> driverService, Capabilities capabilities) throws IOException {
+        driverService.ensureRunning();
+        try {
+            return driverService.newSession(capabilities);
+        } catch (WebDriverException couldNotReachDriverService) {
+            if (driverService.isRunning()) {
+                throw couldNotReachDriverService;
+            }
+            driverService.ensureRunning();
+            return driverService.newSession(capabilities);
+        }
+    }
+
+    private String firstLineOf(Exception exception) {
+        return (exception.getMessage() == null) ? exception.getClass().getSimpleName() : exception.getMessage().split("\n")[0];
+    }
+
     public boolean isRunning() {
-        return getDriverService().isRunning();
+        return driverServices().all().stream().allMatch(DriverServiceShard::isRunning);
     }
 
     public void ensureServiceIsRunning() throws IOException {
         start();
     }
-}
\ No newline at end of file
+
+    public DriverServiceMetrics getMetrics() {
+        return driverServices().getMetrics();
+    }
+}
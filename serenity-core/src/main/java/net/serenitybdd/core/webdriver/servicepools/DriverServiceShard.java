@@ -0,0 +1,105 @@
+package net.serenitybdd.core.webdriver.servicepools;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One of the driver service processes in a driver service pool, along with the sessions it is currently serving.
+ */
+class DriverServiceShard<T extends DriverService> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverServiceShard.class);
+
+    private final int number;
+    private final T driverService;
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder sessionsCreated = new LongAdder();
+    private final LongAdder sessionCreationTime = new LongAdder();
+    private final LongAdder restarts = new LongAdder();
+
+    private boolean started;
+
+    DriverServiceShard(int number, T driverService) {
+        this.number = number;
+        this.driverService = driverService;
+    }
+
+    int getNumber() {
+        return number;
+    }
+
+    T getDriverService() {
+        return driverService;
+    }
+
+    boolean isRunning() {
+        return driverService.isRunning();
+    }
+
+    /**
+     * Start the driver service if it is not running. A service that was started earlier and is no longer running
+     * has crashed or been killed, and is restarted.
+     */
+    synchronized void ensureRunning() throws IOException {
+        if (driverService.isRunning()) {
+            return;
+        }
+        if (started) {
+            LOGGER.warn("Driver service {} is no longer running - restarting it", number);
+            restarts.increment();
+            // A DriverService will only start a new process once the old one has been stopped
+            driverService.stop();
+        }
+        driverService.start();
+        started = true;
+    }
+
+    synchronized void stop() {
+        if (driverService.isRunning()) {
+            driverService.stop();
+        }
+        started = false;
+    }
+
+    WebDriver newSession(Capabilities capabilities) {
+        long startTime = System.nanoTime();
+        activeSessions.incrementAndGet();
+        try {
+            WebDriver driver = new PooledRemoteWebDriver(driverService.getUrl(), capabilities, this::sessionClosed);
+            sessionsCreated.increment();
+            sessionCreationTime.add(System.nanoTime() - startTime);
+            return driver;
+        } catch (RuntimeException sessionCouldNotBeCreated) {
+            activeSessions.decrementAndGet();
+            throw sessionCouldNotBeCreated;
+        }
+    }
+
+    private void sessionClosed() {
+        activeSessions.decrementAndGet();
+    }
+
+    int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    long getSessionsCreated() {
+        return sessionsCreated.sum();
+    }
+
+    long getSessionCreationTimeInNanos() {
+        return sessionCreationTime.sum();
+    }
+
+    long getRestarts() {
+        return restarts.sum();
+    }
+}
@@ -0,0 +1,61 @@
+package net.serenitybdd.core.webdriver.servicepools;
+
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The driver service processes started for one type of browser. New sessions are assigned to one of the services,
+ * either the least loaded one or, for thread-affine assignment, the one that the current thread always uses.
+ */
+class DriverServiceShards<T extends DriverService> {
+
+    private final List<DriverServiceShard<T>> shards;
+    private final DriverServiceAssignment assignment;
+
+    private DriverServiceShards(List<DriverServiceShard<T>> shards, DriverServiceAssignment assignment) {
+        this.shards = Collections.unmodifiableList(shards);
+        this.assignment = assignment;
+    }
+
+    static <T extends DriverService> DriverServiceShards<T> of(int poolSize,
+                                                              DriverServiceAssignment assignment,
+                                                              Supplier<T> newDriverService) {
+        List<DriverServiceShard<T>> shards = new ArrayList<>();
+        for (int number = 0; number < Math.max(1, poolSize); number++) {
+            shards.add(new DriverServiceShard<>(number, newDriverService.get()));
+        }
+        return new DriverServiceShards<>(shards, assignment);
+    }
+
+    List<DriverServiceShard<T>> all() {
+        return shards;
+    }
+
+    DriverServiceShard<T> first() {
+        return shards.get(0);
+    }
+
+    DriverServiceShard<T> forNewSession() {
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        switch (assignment) {
+            case THREAD_AFFINE:
+                return shards.get((int) (Thread.currentThread().getId() % shards.size()));
+            default:
+                return shards.stream()
+                        .min(Comparator.comparing(DriverServiceShard<T>::getActiveSessions)
+                                       .thenComparing(DriverServiceShard::getNumber))
+                        .get();
+        }
+    }
+
+    DriverServiceMetrics getMetrics() {
+        return new DriverServiceMetrics(shards);
+    }
+}
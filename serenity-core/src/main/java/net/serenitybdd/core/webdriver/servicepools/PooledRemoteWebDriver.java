@@ -0,0 +1,33 @@
+package net.serenitybdd.core.webdriver.servicepools;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A remote driver connected to one of the services in a driver service pool,
+ * which tells the pool when its session ends so that the pool can keep track of how busy each service is.
+ */
+class PooledRemoteWebDriver extends RemoteWebDriver {
+
+    private final Runnable onSessionClosed;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    PooledRemoteWebDriver(URL driverServiceUrl, Capabilities capabilities, Runnable onSessionClosed) {
+        super(driverServiceUrl, capabilities);
+        this.onSessionClosed = onSessionClosed;
+    }
+
+    @Override
+    public void quit() {
+        try {
+            super.quit();
+        } finally {
+            if (closed.compareAndSet(false, true)) {
+                onSessionClosed.run();
+            }
+        }
+    }
+}
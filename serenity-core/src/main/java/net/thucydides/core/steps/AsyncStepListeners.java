@@ -0,0 +1,242 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.model.DataTable;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.json.TestOutcomeSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers step events to custom (non-core) listeners on a background thread, so that slow listeners do not hold up
+ * the tests. Each event bus has its own bounded queue of events, which are delivered in the order in which they
+ * were sent; if the queue is full, the test thread waits for room. The queues of all the event buses are served by
+ * a small shared pool of daemon threads.
+ * <p>
+ * Delivery is fire-and-forget: the listeners are notified after the test thread has moved on, so they never see the
+ * live state of the test. A test outcome passed with an event is delivered as a snapshot taken when the event was
+ * sent, and the example data as an unmodifiable copy. Data tables are still growing while the examples run, so the
+ * events that carry them are delivered in the test thread, once the earlier events have been delivered.
+ * While a listener is notified in the background, StepEventBus.getEventBus() returns a silent event bus, so the
+ * listener cannot send events to, or read the state of, the tests running in other threads.
+ */
+public class AsyncStepListeners {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncStepListeners.class);
+
+    private static final LongAdder DELIVERED_EVENTS = new LongAdder();
+    private static final LongAdder TOTAL_LAG = new LongAdder();
+    private static final AtomicLong MAX_LAG = new AtomicLong();
+
+    private static final class SharedDeliveryPool {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "serenity-listener-" + THREAD_NUMBER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private final BlockingQueue<QueuedEvent> events;
+    private final AtomicBoolean delivering = new AtomicBoolean(false);
+    private final AtomicLong queuedEventCount = new AtomicLong();
+    private final Lock deliveryLock = new ReentrantLock();
+    private final Condition eventDelivered = deliveryLock.newCondition();
+    private long deliveredEventCount;
+
+    AsyncStepListeners(int queueSize) {
+        this.events = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * A listener that queues each event for delivery to the given listener on a background thread.
+     */
+    StepListener asynchronous(StepListener listener) {
+        InvocationHandler queueEvent = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(listener, args);
+            }
+            Optional<Object[]> snapshotOfArgs = carriesADataTable(method) ? Optional.empty() : snapshotOf(args);
+            if (snapshotOfArgs.isPresent()) {
+                submit(() -> deliver(listener, method, snapshotOfArgs.get()));
+            } else {
+                awaitDelivery(Duration.ofSeconds(60));
+                deliver(listener, method, args);
+            }
+            return null;
+        };
+        return (StepListener) Proxy.newProxyInstance(StepListener.class.getClassLoader(),
+                                                     new Class<?>[]{StepListener.class},
+                                                     queueEvent);
+    }
+
+    private static boolean carriesADataTable(Method method) {
+        return Arrays.asList(method.getParameterTypes()).contains(DataTable.class);
+    }
+
+    /**
+     * The arguments of an event as they are when the event is sent, or nothing if they could not be copied,
+     * in which case the event is delivered in the test thread.
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<Object[]> snapshotOf(Object[] args) {
+        if (args == null) {
+            return Optional.of(new Object[0]);
+        }
+        Object[] snapshot = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof TestOutcome) {
+                Optional<TestOutcome> testOutcome = TestOutcomeSnapshot.of((TestOutcome) args[i]);
+                if (!testOutcome.isPresent()) {
+                    return Optional.empty();
+                }
+                snapshot[i] = testOutcome.get();
+            } else if (args[i] instanceof Map) {
+                snapshot[i] = Collections.unmodifiableMap(new HashMap<>((Map<String, String>) args[i]));
+            } else {
+                snapshot[i] = args[i];
+            }
+        }
+        return Optional.of(snapshot);
+    }
+
+    private void submit(Runnable event) {
+        try {
+            events.put(new QueuedEvent(event, System.nanoTime()));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            // Deliver the event straight away rather than lose it
+            event.run();
+            return;
+        }
+        queuedEventCount.incrementAndGet();
+        scheduleDelivery();
+    }
+
+    private void scheduleDelivery() {
+        if (delivering.compareAndSet(false, true)) {
+            SharedDeliveryPool.INSTANCE.execute(this::deliverQueuedEvents);
+        }
+    }
+
+    private void deliverQueuedEvents() {
+        try {
+            StepEventBus.withSilentEventBus(() -> {
+                QueuedEvent event;
+                while ((event = events.poll()) != null) {
+                    recordLag(System.nanoTime() - event.queuedAt);
+                    try {
+                        event.event.run();
+                    } finally {
+                        recordDelivery();
+                    }
+                }
+            });
+        } finally {
+            delivering.set(false);
+            if (!events.isEmpty()) {
+                scheduleDelivery();
+            }
+        }
+    }
+
+    private static void deliver(StepListener listener, Method method, Object[] args) {
+        try {
+            method.invoke(listener, args);
+        } catch (InvocationTargetException listenerFailed) {
+            LOGGER.warn("Listener {} failed to process {}", listener, method.getName(), listenerFailed.getCause());
+        } catch (IllegalAccessException | RuntimeException | AbstractMethodError couldNotDeliver) {
+            LOGGER.warn("Could not notify listener {} of {}", listener, method.getName(), couldNotDeliver);
+        }
+    }
+
+    private void recordDelivery() {
+        deliveryLock.lock();
+        try {
+            deliveredEventCount++;
+            eventDelivered.signalAll();
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    /**
+     * Wait until all the events queued so far have been delivered, or until the timeout expires.
+     */
+    public boolean awaitDelivery(Duration timeout) {
+        long awaitedEventCount = queuedEventCount.get();
+        long remainingNanos = timeout.toNanos();
+        deliveryLock.lock();
+        try {
+            while (deliveredEventCount < awaitedEventCount) {
+                if (remainingNanos <= 0) {
+                    LOGGER.warn("Timed out waiting for {} step events to be delivered to the custom listeners", events.size());
+                    return false;
+                }
+                remainingNanos = eventDelivered.awaitNanos(remainingNanos);
+            }
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    public int getQueuedEventCount() {
+        return events.size();
+    }
+
+    private static void recordLag(long lagInNanos) {
+        DELIVERED_EVENTS.increment();
+        TOTAL_LAG.add(lagInNanos);
+        MAX_LAG.accumulateAndGet(lagInNanos, Math::max);
+    }
+
+    public static long getDeliveredEventCount() {
+        return DELIVERED_EVENTS.sum();
+    }
+
+    /**
+     * The average time events spent waiting in the queue before being delivered, across all event buses.
+     */
+    public static double getAverageQueueLagInMilliseconds() {
+        long delivered = DELIVERED_EVENTS.sum();
+        return (delivered == 0) ? 0.0 : TimeUnit.NANOSECONDS.toMicros(TOTAL_LAG.sum()) / 1000.0 / delivered;
+    }
+
+    public static long getMaxQueueLagInMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(MAX_LAG.get());
+    }
+
+    private static class QueuedEvent {
+        private final Runnable event;
+        private final long queuedAt;
+
+        private QueuedEvent(Runnable event, long queuedAt) {
+            this.event = event;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package net.thucydides.core.steps;
+
+/**
+ * Keeps track of whether the current thread is running inside a silent task.
+ * Steps executed inside a silent task are not reported. Silent tasks can be nested, so this
+ * records the nesting depth for each thread rather than a simple flag.
+ */
+public class SilentTaskTracker {
+
+    private static final ThreadLocal<int[]> SILENT_TASK_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private SilentTaskTracker() {}
+
+    /**
+     * Record that a silent task has started on this thread.
+     * Every call must be matched by a call to {@link #finishedSilentTask()}, typically in a finally block.
+     */
+    public static void startingSilentTask() {
+        SILENT_TASK_DEPTH.get()[0]++;
+    }
+
+    public static void finishedSilentTask() {
+        int[] depth = SILENT_TASK_DEPTH.get();
+        if (depth[0] > 0) {
+            depth[0]--;
+        }
+    }
+
+    public static boolean isNestedInSilentTask() {
+        return SILENT_TASK_DEPTH.get()[0] > 0;
+    }
+}
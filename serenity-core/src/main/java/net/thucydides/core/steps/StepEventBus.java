@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -69,6 +70,19 @@ public class StepEventBus {
         STICKY_EVENT_BUSES.remove(key);
     }
 
+    /**
+     * Run an action outside a test thread with a silent event bus as the current event bus, so that it cannot send
+     * events to, or read the state of, the event bus of a test.
+     */
+    static void withSilentEventBus(Runnable action) {
+        stepEventBusThreadLocal.set(new SilentEventBus(ConfiguredEnvironment.getEnvironmentVariables()));
+        try {
+            action.run();
+        } finally {
+            stepEventBusThreadLocal.remove();
+        }
+    }
+
     private List<StepListener> registeredListeners = new ArrayList<>();
     /**
      * A reference to the base step listener, if registered.
@@ -82,6 +96,14 @@ public class StepEventBus {
 
     private Set<StepListener> customListeners;
 
+    /**
+     * Immutable snapshots of the listeners, rebuilt whenever a listener is registered or dropped.
+     */
+    private volatile List<StepListener> allListeners;
+    private volatile List<StepListener> listenersToNotify;
+
+    private AsyncStepListeners asyncStepListeners;
+
     private boolean stepFailed;
     private boolean suspendedTest;
     private boolean assumptionViolated;
@@ -120,6 +142,7 @@ public class StepEventBus {
     public StepEventBus registerListener(final StepListener listener) {
         if (!registeredListeners.contains(listener)) {
             registeredListeners.add(listener);
+            listenersChanged();
             if (BaseStepListener.class.isAssignableFrom(listener.getClass())) {
                 baseStepListener = (BaseStepListener) listener;
                 baseStepListener.setEventBus(this);
@@ -142,7 +165,7 @@ public class StepEventBus {
 
     public void testStarted(final String testName) {
         clear();
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testStarted(testName);
         }
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testStarted());
@@ -150,7 +173,7 @@ public class StepEventBus {
 
     public void testStarted(final String testName, final String id) {
         clear();
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testStarted(testName, id);
         }
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testStarted());
@@ -189,9 +212,61 @@ public class StepEventBus {
     }
 
     protected List<StepListener> getAllListeners() {
-        List<StepListener> allListeners = new ArrayList(registeredListeners);
-        allListeners.addAll(getCustomListeners());
-        return NewList.copyOf(allListeners);
+        List<StepListener> listeners = allListeners;
+        if (listeners == null) {
+            List<StepListener> currentListeners = new ArrayList<>(registeredListeners);
+            currentListeners.addAll(getCustomListeners());
+            listeners = NewList.copyOf(currentListeners);
+            allListeners = listeners;
+        }
+        return listeners;
+    }
+
+    /**
+     * The listeners that events are sent to. If asynchronous listeners are enabled, the custom listeners receive
+     * their events through a background queue (see AsyncStepListeners), and the core listeners (including the
+     * BaseStepListener) are still notified in the test thread.
+     */
+    List<StepListener> listenersToNotify() {
+        List<StepListener> listeners = listenersToNotify;
+        if (listeners == null) {
+            if (asyncListenersEnabled()) {
+                Set<StepListener> customListeners = getCustomListeners();
+                listeners = NewList.copyOf(getAllListeners().stream()
+                        .map(listener -> customListeners.contains(listener) ? asyncStepListeners().asynchronous(listener) : listener)
+                        .collect(Collectors.toList()));
+            } else {
+                listeners = getAllListeners();
+            }
+            listenersToNotify = listeners;
+        }
+        return listeners;
+    }
+
+    private void listenersChanged() {
+        allListeners = null;
+        listenersToNotify = null;
+    }
+
+    private boolean asyncListenersEnabled() {
+        return ThucydidesSystemProperty.SERENITY_ASYNC_LISTENERS.booleanFrom(environmentVariables, false);
+    }
+
+    private synchronized AsyncStepListeners asyncStepListeners() {
+        if (asyncStepListeners == null) {
+            asyncStepListeners = new AsyncStepListeners(
+                    ThucydidesSystemProperty.SERENITY_ASYNC_LISTENER_QUEUE_SIZE.integerFrom(environmentVariables, 1024));
+        }
+        return asyncStepListeners;
+    }
+
+    /**
+     * Wait for any events queued for the asynchronous listeners to be delivered.
+     */
+    private void awaitAsyncListeners() {
+        if (asyncStepListeners != null) {
+            asyncStepListeners.awaitDelivery(Duration.ofSeconds(60));
+        }
     }
 
     private Set<StepListener> getCustomListeners() {
@@ -227,7 +302,7 @@ public class StepEventBus {
         LOGGER.debug("Test suite started for {}", testClass);
         clear();
         updateClassUnderTest(testClass);
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testSuiteStarted(testClass);
         }
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testSuiteStarted());
@@ -249,7 +324,7 @@ public class StepEventBus {
     public void testSuiteStarted(final Story story) {
         LOGGER.debug("Test suite started for story {}", story);
         updateStoryUnderTest(story);
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testSuiteStarted(story);
         }
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testSuiteStarted());
@@ -306,7 +381,7 @@ public class StepEventBus {
         TestOutcome outcome = getBaseStepListener().getCurrentTestOutcome();
         outcome = checkForEmptyScenarioIn(outcome);
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testFinished(outcome, inDataDrivenTest);
         }
 
@@ -333,7 +408,7 @@ public class StepEventBus {
     }
 
     public void testFinished(TestOutcome result) {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testFinished(result);
         }
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testFinished());
@@ -341,7 +416,7 @@ public class StepEventBus {
     }
 
     public void testRetried() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testRetried();
         }
         clear();
@@ -382,7 +457,7 @@ public class StepEventBus {
 
         pushStep(stepDescription.getName());
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.stepStarted(stepDescription);
         }
 
@@ -398,7 +473,7 @@ public class StepEventBus {
 
         pushStep(executedStepDescription.getName());
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.skippedStepStarted(executedStepDescription);
         }
     }
@@ -406,7 +481,7 @@ public class StepEventBus {
     public void stepFinished() {
         stepDone();
         getResultTally().logExecutedTest();
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.stepFinished();
         }
     }
@@ -422,7 +497,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logFailure(failure);
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.stepFailed(failure);
         }
         stepFailed = true;
@@ -432,7 +507,7 @@ public class StepEventBus {
 
         getResultTally().logFailure(failure);
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.stepFailed(failure);
         }
         stepFailed = true;
@@ -443,7 +518,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logIgnoredTest();
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.stepIgnored();
         }
     }
@@ -457,7 +532,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logIgnoredTest();
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             if (message != null) {
                 stepListener.stepPending(message);
             } else {
@@ -472,7 +547,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logIgnoredTest();
 
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.assumptionViolated(message);
         }
         assumptionViolated = true;
@@ -481,14 +556,17 @@ public class StepEventBus {
 
     public void dropListener(final StepListener stepListener) {
         registeredListeners.remove(stepListener);
+        listenersChanged();
     }
 
     private void dropClosableListeners() {
         registeredListeners = registeredListeners.stream().filter( stepListener -> (!(stepListener instanceof Droppable))).collect(Collectors.toList());
+        listenersChanged();
     }
 
     public void dropAllListeners() {
         registeredListeners.clear();
+        listenersChanged();
     }
 
     private boolean driverReenabled = false;
@@ -529,7 +607,7 @@ public class StepEventBus {
      */
     public void testFailed(final Throwable cause) {
         TestOutcome outcome = getBaseStepListener().getCurrentTestOutcome();
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             try {
                 stepListener.testFailed(outcome, cause);
             } catch (AbstractMethodError ame) {
@@ -543,7 +621,7 @@ public class StepEventBus {
      * The test will stil be executed to record the steps, but any webdriver calls will be skipped.
      */
     public void testPending() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testPending();
         }
         suspendTest();
@@ -554,7 +632,7 @@ public class StepEventBus {
      * The test will stil be executed to record the steps, but any webdriver calls will be skipped.
      */
     public void testIsManual() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testIsManual();
         }
         suspendTest();
@@ -594,14 +672,14 @@ public class StepEventBus {
     }
 
     public void testIgnored() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testIgnored();
         }
         suspendTest();
     }
 
     public void testSkipped() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testSkipped();
         }
         suspendTest();
@@ -612,23 +690,25 @@ public class StepEventBus {
     }
 
     public void notifyScreenChange() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.notifyScreenChange();
         }
     }
 
     public void testSuiteFinished() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testSuiteFinished();
         }
+        awaitAsyncListeners();
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testSuiteFinished());
         storyUnderTest = null;
     }
 
     public void testRunFinished() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.testRunFinished();
         }
+        awaitAsyncListeners();
     }
 
     public void updateCurrentStepTitle(String stepTitle) {
@@ -672,31 +752,31 @@ public class StepEventBus {
     }
 
     public void useExamplesFrom(DataTable table) {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.useExamplesFrom(table);
         }
     }
 
     public void addNewExamplesFrom(DataTable newTable) {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.addNewExamplesFrom(newTable);
         }
     }
 
     public void exampleStarted(Map<String, String> data) {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.exampleStarted(data);
         }
     }
 
     public void exampleStarted(Map<String, String> data, String exampleName) {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.exampleStarted(data, exampleName);
         }
     }
 
     public void exampleFinished() {
-        for (StepListener stepListener : getAllListeners()) {
+        for (StepListener stepListener : listenersToNotify()) {
             stepListener.exampleFinished();
         }
     }
@@ -32,8 +32,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static java.util.Arrays.asList;
 import static net.thucydides.core.ThucydidesSystemProperty.MANUAL_TASK_INSTRUMENTATION;
 import static net.thucydides.core.steps.ErrorConvertor.forError;
 
@@ -53,6 +53,17 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
 
     private List<StepInterceptionListener> listeners = new ArrayList<>();
 
+    /**
+     * The parts of the interception decision that only depend on the method and the class of the step library,
+     * worked out once per method rather than on every call.
+     */
+    private static final ClassValue<Map<Method, InterceptedMethod>> INTERCEPTED_METHODS = new ClassValue<Map<Method, InterceptedMethod>>() {
+        @Override
+        protected Map<Method, InterceptedMethod> computeValue(Class<?> callingClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     CleanupMethodLocator cleanupMethodLocator;
     StepInterceptor(final Class<?> testStepClass) {
         this.testStepClass = testStepClass;
@@ -78,7 +89,7 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
         return result;
     }
 
-    private final List<String> OBJECT_METHODS
+    private static final List<String> OBJECT_METHODS
             = Arrays.asList("toString",
             "equals",
             "hashcode",
@@ -90,66 +101,43 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
             "getMetaClass");
 
     private boolean baseClassMethod(final Method method, Object obj) {
-        Class callingClass = obj.getClass();
-        boolean isACoreLanguageMethod = (OBJECT_METHODS.contains(method.getName()));
-        boolean methodDoesNotComeFromThisClassOrARelatedParentClass = !declaredInSameDomain(method, callingClass);
-        boolean isSilentMethod = isSilent(callingClass, method, obj);
-        boolean isHiddenMethod = isHidden(callingClass);
-        return (isACoreLanguageMethod || methodDoesNotComeFromThisClassOrARelatedParentClass || isSilentMethod || isHiddenMethod);
+        InterceptedMethod interceptedMethod = interceptedMethodFor(method, obj.getClass());
+        return interceptedMethod.alwaysRunsDirectly || isSilent(interceptedMethod, obj);
     }
 
-    private boolean isSilent(Class callingClass, Method method, Object obj) {
-        if (IsSilent.class.isAssignableFrom(callingClass)) { return true; }
-
-        if ((CanBeSilent.class.isAssignableFrom(callingClass) && method.getName().equals("isSilent"))) {
-            return true;
-        }
+    private InterceptedMethod interceptedMethodFor(Method method, Class<?> callingClass) {
+        return INTERCEPTED_METHODS.get(callingClass).computeIfAbsent(method, key -> new InterceptedMethod(key, callingClass));
+    }
 
-        if (CanBeSilent.class.isAssignableFrom(callingClass)  && ((CanBeSilent) obj).isSilent()) { return true; }
+    private boolean isSilent(InterceptedMethod interceptedMethod, Object obj) {
+        if (interceptedMethod.canBeSilent && ((CanBeSilent) obj).isSilent()) { return true; }
 
-        if (isNestedInSilentTask()) {
+        if (SilentTaskTracker.isNestedInSilentTask()) {
             return true;
         }
 
-        if (isNotAStepAnnotatedMethodWhenManualInstrumentationIsActive(method)) {
+        if (!interceptedMethod.isStepAnnotated && manualTaskInstrumentation()) {
             return true;
         }
 
         return false;
     }
 
-    private boolean isHidden(Class<?> callingClass) {
-        return IsHidden.class.isAssignableFrom(callingClass);
-    }
-
-    private boolean isNotAStepAnnotatedMethodWhenManualInstrumentationIsActive(Method method) {
-        if (manualTaskInstrumentation()) {
-            return method.getAnnotation(Step.class) == null;
-        }
-        return false;
-    }
-
     private boolean manualTaskInstrumentation() {
         return (MANUAL_TASK_INSTRUMENTATION.booleanFrom(environmentVariables, false));
     }
 
-    private boolean isNestedInSilentTask() {
-        return asList(new Exception().getStackTrace())
-                .stream()
-                .anyMatch(element -> element.getMethodName().equals("performSilently"));
-    }
-
-    private boolean declaredInSameDomain(Method method, final Class callingClass) {
+    private static boolean declaredInSameDomain(Method method, final Class callingClass) {
         return domainPackageOf(getRoot(method)).equals(domainPackageOf(callingClass));
     }
 
-    private String domainPackageOf(Class callingClass) {
+    private static String domainPackageOf(Class callingClass) {
         Package classPackage = callingClass.getPackage();
         String classPackageName = (classPackage != null) ? classPackage.getName() : "";
         return packageDomainName(classPackageName);
     }
 
-    private String packageDomainName(String methodPackage) {
+    private static String packageDomainName(String methodPackage) {
         List<String> packages = Splitter.on(".").omitEmptyStrings().splitToList(methodPackage);
 
         if (packages.size() == 0) {
@@ -161,13 +149,13 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
         }
     }
 
-    private String domainPackageOf(Method method) {
+    private static String domainPackageOf(Method method) {
         Package methodPackage = method.getDeclaringClass().getPackage();
         String methodPackageName = (methodPackage != null) ? methodPackage.getName() : "";
         return packageDomainName(methodPackageName);
     }
 
-    private Method getRoot(Method method) {
+    private static Method getRoot(Method method) {
         try {
             method.getClass().getDeclaredField("root").setAccessible(true);
             return (Method) method.getClass().getDeclaredField("root").get(method);
@@ -179,7 +167,7 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
     private Object testStepResult(final Object obj, final Method method,
             final Object[] args, final Method zuperMethod) throws Throwable {
 
-        if (!isATestStep(method)) {
+        if (!interceptedMethodFor(method, obj.getClass()).isATestStep) {
             return runNormalMethod(obj, method, args, zuperMethod);
         }
 
@@ -403,7 +391,7 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
     }
 
     private boolean shouldRunInDryRunMode(final Method methodOrStep, final Class callingClass) {
-        return ((aPreviousStepHasFailed() || testIsPending() || isDryRun()) && declaredInSameDomain(methodOrStep, callingClass));
+        return ((aPreviousStepHasFailed() || testIsPending() || isDryRun()) && interceptedMethodFor(methodOrStep, callingClass).declaredInSameDomain);
     }
 
     public void reportMethodError(Throwable generalException, Object obj, Method method, Object[] args) throws Throwable {
@@ -413,7 +401,7 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
         notifyOfStepFailure(obj, method, args, assertionError);
     }
 
-    private boolean isAnnotatedWithAValidStepAnnotation(final Method method) {
+    private static boolean isAnnotatedWithAValidStepAnnotation(final Method method) {
         Annotation[] annotations = method.getAnnotations();
         for (Annotation annotation : annotations) {
             if (isAThucydidesStep(annotation) || (AnnotatedStepDescription.isACompatibleStep(annotation))) {
@@ -423,11 +411,11 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
         return false;
     }
 
-    private boolean isAThucydidesStep(Annotation annotation) {
+    private static boolean isAThucydidesStep(Annotation annotation) {
         return (annotation instanceof Step) || (annotation instanceof StepGroup);
     }
 
-    private boolean isATestStep(final Method method) {
+    private static boolean isATestStep(final Method method) {
         return isAnnotatedWithAValidStepAnnotation(method) || ScreenplayInspector.isAScreenplayPerformAsMethod(method);
     }
 
@@ -438,8 +426,9 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
     private Object runTestStep(final Object obj, final Method method,
             final Object[] args, final Method zuperMethod) throws Throwable {
 
-        String callingClass = testContext();
-        LOGGER.debug("STARTING STEP: {} - {}", callingClass, StepName.fromStepAnnotationIn(method).orElse(method.getName()));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("STARTING STEP: {} - {}", testContext(), StepName.fromStepAnnotationIn(method).orElse(method.getName()));
+        }
         Object result = null;
         try {
             result = executeTestStepMethod(obj, method, args, zuperMethod, result);
@@ -586,4 +575,25 @@ public class StepInterceptor implements MethodErrorReporter,Interceptor {
         String[] classNameElements = StringUtils.split(className, ".");
         return classNameElements[classNameElements.length - 1];
     }
+
+    private static final class InterceptedMethod {
+        private final boolean alwaysRunsDirectly;
+        private final boolean declaredInSameDomain;
+        private final boolean canBeSilent;
+        private final boolean isStepAnnotated;
+        private final boolean isATestStep;
+
+        private InterceptedMethod(Method method, Class<?> callingClass) {
+            this.declaredInSameDomain = declaredInSameDomain(method, callingClass);
+            this.canBeSilent = CanBeSilent.class.isAssignableFrom(callingClass);
+            this.isStepAnnotated = method.getAnnotation(Step.class) != null;
+            this.isATestStep = isATestStep(method);
+
+            boolean isACoreLanguageMethod = OBJECT_METHODS.contains(method.getName());
+            boolean isAlwaysSilent = IsSilent.class.isAssignableFrom(callingClass)
+                    || (canBeSilent && method.getName().equals("isSilent"));
+            boolean isHidden = IsHidden.class.isAssignableFrom(callingClass);
+            this.alwaysRunsDirectly = isACoreLanguageMethod || !declaredInSameDomain || isAlwaysSilent || isHidden;
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package net.thucydides.core.webdriver;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps track of whether a driver is still alive from the outcome of the commands sent to it, so that
+ * Serenity does not need to ping the browser before every screenshot. A command that gets any answer from the
+ * browser shows that it is alive; a lost session, window or connection shows that it is not. What we know is
+ * only trusted for a short time, after which the browser is pinged again.
+ */
+public class DriverLiveness {
+
+    private static final LongAdder SAVED_ROUND_TRIPS = new LongAdder();
+    private static final LongAdder PINGS = new LongAdder();
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final long timeToLiveInNanos;
+    private final LongSupplier nanoTime;
+
+    private volatile boolean alive;
+    private volatile long lastCheckedAt = NEVER;
+
+    public DriverLiveness(Duration timeToLive) {
+        this(timeToLive, System::nanoTime);
+    }
+
+    DriverLiveness(Duration timeToLive, LongSupplier nanoTime) {
+        this.timeToLiveInNanos = timeToLive.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public void recordSuccess() {
+        record(true);
+    }
+
+    /**
+     * Record a command that failed. Only failures that show that the browser has gone are taken into account:
+     * other errors (such as an element that could not be found) still come from a browser that is responding.
+     */
+    public void recordFailure(RuntimeException failure) {
+        record(!browserHasGone(failure));
+    }
+
+    /**
+     * Record the result of sending a command to the browser just to see if it is still alive.
+     */
+    public void recordPing(boolean isAlive) {
+        PINGS.increment();
+        record(isAlive);
+    }
+
+    /**
+     * Forget what we know, e.g. because the driver has been closed and a new one will be used.
+     */
+    public void reset() {
+        lastCheckedAt = NEVER;
+    }
+
+    private void record(boolean isAlive) {
+        alive = isAlive;
+        lastCheckedAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Whether the driver was alive when it was last used, if this was recent enough to be relied upon.
+     */
+    public Optional<Boolean> recentState() {
+        long checkedAt = lastCheckedAt;
+        if (checkedAt == NEVER || nanoTime.getAsLong() - checkedAt > timeToLiveInNanos) {
+            return Optional.empty();
+        }
+        SAVED_ROUND_TRIPS.increment();
+        return Optional.of(alive);
+    }
+
+    /**
+     * The number of liveness checks answered without sending a command to the browser.
+     */
+    public static long getSavedRoundTripCount() {
+        return SAVED_ROUND_TRIPS.sum();
+    }
+
+    /**
+     * The number of liveness checks that had to send a command to the browser.
+     */
+    public static long getPingCount() {
+        return PINGS.sum();
+    }
+
+    private static boolean browserHasGone(RuntimeException failure) {
+        return failure instanceof NoSuchSessionException
+                || failure instanceof NoSuchWindowException
+                || failure instanceof UnreachableBrowserException;
+    }
+}
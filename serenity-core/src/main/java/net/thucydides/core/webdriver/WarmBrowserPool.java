@@ -0,0 +1,221 @@
+package net.thucydides.core.webdriver;
+
+import net.serenitybdd.core.environment.ConfiguredEnvironment;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static net.thucydides.core.ThucydidesSystemProperty.*;
+
+/**
+ * Browsers that have been closed by a test and are kept open so that a later test can use them, rather than
+ * waiting for a new browser to start. Browsers are pooled by browser type and driver options, and are reset
+ * before they are returned to the pool. A browser is checked before it is handed out again, and browsers that
+ * have been idle for too long are closed.
+ */
+public class WarmBrowserPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmBrowserPool.class);
+
+    private static final String CLEAR_WEB_STORAGE = "window.localStorage.clear(); window.sessionStorage.clear();";
+
+    private final int maxIdleBrowsersPerType;
+    private final Duration idleTimeout;
+    private final Clock clock;
+
+    private final Map<String, Deque<IdleBrowser>> idleBrowsers = new HashMap<>();
+
+    private final LongAdder leased = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    WarmBrowserPool(int maxIdleBrowsersPerType, Duration idleTimeout, Clock clock) {
+        this.maxIdleBrowsersPerType = maxIdleBrowsersPerType;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+    }
+
+    private static class SharedPool {
+        private static final WarmBrowserPool INSTANCE = createSharedPool(ConfiguredEnvironment.getEnvironmentVariables());
+
+        private static WarmBrowserPool createSharedPool(EnvironmentVariables environmentVariables) {
+            WarmBrowserPool pool = new WarmBrowserPool(
+                    SERENITY_BROWSER_POOL_MAX_SIZE.integerFrom(environmentVariables, 4),
+                    Duration.ofSeconds(SERENITY_BROWSER_POOL_IDLE_TIMEOUT.integerFrom(environmentVariables, 300)),
+                    Clock.systemUTC());
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown));
+            return pool;
+        }
+    }
+
+    public static WarmBrowserPool shared() {
+        return SharedPool.INSTANCE;
+    }
+
+    public static boolean isEnabledIn(EnvironmentVariables environmentVariables) {
+        return SERENITY_BROWSER_POOL.booleanFrom(environmentVariables, false);
+    }
+
+    /**
+     * An idle browser of the requested type, if there is one that still responds.
+     */
+    public Optional<WebDriver> lease(String browserType) {
+        closeExpiredBrowsers();
+        while (true) {
+            IdleBrowser idleBrowser;
+            synchronized (this) {
+                Deque<IdleBrowser> browsers = idleBrowsers.get(browserType);
+                // The most recently used browser is the least likely to have been closed by the remote end
+                idleBrowser = (browsers == null) ? null : browsers.pollLast();
+            }
+            if (idleBrowser == null) {
+                return Optional.empty();
+            }
+            if (isResponding(idleBrowser.driver)) {
+                leased.increment();
+                return Optional.of(idleBrowser.driver);
+            }
+            LOGGER.debug("Discarding a pooled {} browser that no longer responds", browserType);
+            quitQuietly(idleBrowser.driver);
+        }
+    }
+
+    /**
+     * Reset a browser that a test has finished with, and keep it for a later test. The browser is closed instead
+     * if it cannot be reset or if there are already enough idle browsers of this type.
+     */
+    public void release(String browserType, WebDriver driver) {
+        if (!reset(driver)) {
+            quitQuietly(driver);
+            return;
+        }
+        boolean pooled = false;
+        synchronized (this) {
+            Deque<IdleBrowser> browsers = idleBrowsers.computeIfAbsent(browserType, type -> new ArrayDeque<>());
+            if (browsers.size() < maxIdleBrowsersPerType) {
+                browsers.addLast(new IdleBrowser(driver, clock.instant()));
+                pooled = true;
+            }
+        }
+        if (pooled) {
+            returned.increment();
+        } else {
+            quitQuietly(driver);
+        }
+        closeExpiredBrowsers();
+    }
+
+    void closeExpiredBrowsers() {
+        Instant expiryTime = clock.instant().minus(idleTimeout);
+        List<WebDriver> expiredBrowsers = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<IdleBrowser> browsers : idleBrowsers.values()) {
+                // Browsers are added to the end of the queue, so the oldest ones are at the front
+                while (!browsers.isEmpty() && browsers.peekFirst().idleSince.isBefore(expiryTime)) {
+                    expiredBrowsers.add(browsers.pollFirst().driver);
+                }
+            }
+        }
+        expiredBrowsers.forEach(this::quitQuietly);
+    }
+
+    public void shutdown() {
+        List<WebDriver> browsersToClose = new ArrayList<>();
+        synchronized (this) {
+            idleBrowsers.values().forEach(browsers -> browsers.forEach(idleBrowser -> browsersToClose.add(idleBrowser.driver)));
+            idleBrowsers.clear();
+        }
+        browsersToClose.forEach(this::quitQuietly);
+    }
+
+    public synchronized int getIdleBrowserCount() {
+        return idleBrowsers.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    public long getLeaseCount() {
+        return leased.sum();
+    }
+
+    public long getReturnCount() {
+        return returned.sum();
+    }
+
+    /**
+     * The number of browsers that the pool closed rather than reusing them, for example because they could not
+     * be reset, stopped responding, had been idle for too long or were still in the pool at shutdown.
+     */
+    public long getDiscardCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * Close any windows other than the first one, clear the cookies and web storage for the current site,
+     * and go back to a blank page. Cookies from other domains are not visible to WebDriver and are left as they are.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> windows = new ArrayList<>(driver.getWindowHandles());
+            if (windows.isEmpty()) {
+                return false;
+            }
+            for (String extraWindow : windows.subList(1, windows.size())) {
+                driver.switchTo().window(extraWindow);
+                driver.close();
+            }
+            driver.switchTo().window(windows.get(0));
+            clearWebStorage(driver);
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException couldNotResetBrowser) {
+            LOGGER.debug("Could not reset the browser for reuse: {}", couldNotResetBrowser.getMessage());
+            return false;
+        }
+    }
+
+    private void clearWebStorage(WebDriver driver) {
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_WEB_STORAGE);
+            } catch (WebDriverException noWebStorageOnThisPage) {
+                LOGGER.trace("Could not clear web storage: {}", noWebStorageOnThisPage.getMessage());
+            }
+        }
+    }
+
+    private boolean isResponding(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (RuntimeException browserHasGone) {
+            return false;
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        discarded.increment();
+        try {
+            driver.quit();
+        } catch (RuntimeException alreadyClosed) {
+            LOGGER.debug("Error while closing a pooled browser: {}", alreadyClosed.getMessage());
+        }
+    }
+
+    private static class IdleBrowser {
+        private final WebDriver driver;
+        private final Instant idleSince;
+
+        private IdleBrowser(WebDriver driver, Instant idleSince) {
+            this.driver = driver;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * A proxy class for webdriver instances, designed to prevent the browser being opened unnecessarily.
@@ -39,6 +40,8 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
      */
     Duration implicitTimeout;
 
+    private DriverLiveness liveness;
+
     public WebDriverFacade(final Class<? extends WebDriver> driverClass,
                            final WebDriverFactory webDriverFactory) {
         this(driverClass, webDriverFactory, ConfiguredEnvironment.getEnvironmentVariables());
@@ -82,7 +85,39 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
 
 
     public WebDriverFacade withTimeoutOf(Duration implicitTimeout) {
-        return new WebDriverFacade(driverClass, webDriverFactory, proxiedWebDriver, implicitTimeout);
+        WebDriverFacade facade = new WebDriverFacade(driverClass, webDriverFactory, proxiedWebDriver, implicitTimeout);
+        facade.liveness = getLiveness();
+        return facade;
+    }
+
+    DriverLiveness getLiveness() {
+        if (liveness == null) {
+            int timeToLive = (environmentVariables == null) ? 2000
+                    : ThucydidesSystemProperty.SERENITY_DRIVER_LIVENESS_TTL.integerFrom(environmentVariables, 2000);
+            liveness = new DriverLiveness(Duration.ofMillis(timeToLive));
+        }
+        return liveness;
+    }
+
+    /**
+     * Run a command on the proxied driver, recording whether the browser responded.
+     */
+    private <T> T track(Supplier<T> command) {
+        try {
+            T result = command.get();
+            getLiveness().recordSuccess();
+            return result;
+        } catch (RuntimeException failure) {
+            getLiveness().recordFailure(failure);
+            throw failure;
+        }
+    }
+
+    private void trackCommand(Runnable command) {
+        track(() -> {
+            command.run();
+            return null;
+        });
     }
 
     public Class<? extends WebDriver>  getDriverClass() {
@@ -116,6 +151,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             forcedQuit();
         }
         proxiedWebDriver = null;
+        getLiveness().reset();
 
     }
 
@@ -137,6 +173,12 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             if (StepEventBus.getEventBus().isDryRun()) {
                 return new WebDriverStub();
             } else {
+                if (usesBrowserPool()) {
+                    Optional<WebDriver> pooledBrowser = WarmBrowserPool.shared().lease(browserPoolKey());
+                    if (pooledBrowser.isPresent()) {
+                        return pooledBrowser.get();
+                    }
+                }
                 webDriverFactory.setupFixtureServices();
                 return webDriverFactory.newWebdriverInstance(driverClass, options, environmentVariables);
             }
@@ -148,7 +190,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
     public <X> X getScreenshotAs(final OutputType<X> target) {
         if (proxyInstanciated() && driverCanTakeScreenshots()) {
             try {
-                return ((TakesScreenshot) getProxiedDriver()).getScreenshotAs(target);
+                return track(() -> ((TakesScreenshot) getProxiedDriver()).getScreenshotAs(target));
             } catch (OutOfMemoryError outOfMemoryError) {
                 // Out of memory errors can happen with extremely big screens, and currently Selenium does
                 // not handle them correctly/at all.
@@ -169,7 +211,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             return;
         }
 //        openIgnoringHtmlUnitScriptErrors(url);
-        getProxiedDriver().get(url);
+        trackCommand(() -> getProxiedDriver().get(url));
         setTimeouts();
     }
 
@@ -183,7 +225,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             return StringUtils.EMPTY;
         }
 
-        return getProxiedDriver().getCurrentUrl();
+        return track(() -> getProxiedDriver().getCurrentUrl());
     }
 
     public String getTitle() {
@@ -191,7 +233,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             return StringUtils.EMPTY;
         }
 
-        return getProxiedDriver().getTitle();
+        return track(() -> getProxiedDriver().getTitle());
     }
 
     @Override
@@ -202,7 +244,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
         List<WebElement> elements;
         try {
             webDriverFactory.setTimeouts(getProxiedDriver(), getCurrentImplicitTimeout());
-            elements = getProxiedDriver().findElements(by);
+            elements = track(() -> getProxiedDriver().findElements(by));
         } finally {
             webDriverFactory.resetTimeouts(getProxiedDriver());
         }
@@ -219,7 +261,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
 
         try {
             webDriverFactory.setTimeouts(getProxiedDriver(), getCurrentImplicitTimeout());
-            element = getProxiedDriver().findElement(by);
+            element = track(() -> getProxiedDriver().findElement(by));
         } finally {
             webDriverFactory.resetTimeouts(getProxiedDriver());
         }
@@ -231,7 +273,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             return StringUtils.EMPTY;
         }
         try {
-            return getProxiedDriver().getPageSource();
+            return track(() -> getProxiedDriver().getPageSource());
         } catch (WebDriverException pageSourceNotSupported) {
             return StringUtils.EMPTY;
         } catch (RuntimeException pageSourceFailedForSomeReason) {
@@ -277,17 +319,35 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
     public void quit() {
         if (proxyInstanciated()) {
             try {
-                getDriverInstance().quit();
-                webDriverFactory.shutdownFixtureServices();
+                if (usesBrowserPool() && !isDisabled()) {
+                    WarmBrowserPool.shared().release(browserPoolKey(), getDriverInstance());
+                } else {
+                    getDriverInstance().quit();
+                    webDriverFactory.shutdownFixtureServices();
+                }
                 webDriverFactory.releaseTimoutFor(getDriverInstance());
 
             } catch (WebDriverException e) {
                 LOGGER.warn("Error while quitting the driver (" + e.getMessage() + ")", e);
             }
             proxiedWebDriver = null;
+            getLiveness().reset();
         }
     }
 
+    /**
+     * Browsers are only pooled when no fixture services are configured, as these are set up for each new browser.
+     */
+    private boolean usesBrowserPool() {
+        return environmentVariables != null
+                && WarmBrowserPool.isEnabledIn(environmentVariables)
+                && !webDriverFactory.usesFixtureServices();
+    }
+
+    private String browserPoolKey() {
+        return driverClass.getName() + ":" + options;
+    }
+
     protected boolean proxyInstanciated() {
         return (getDriverInstance() != null);
     }
@@ -297,7 +357,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             return new HashSet<>();
         }
 
-        return getProxiedDriver().getWindowHandles();
+        return track(() -> getProxiedDriver().getWindowHandles());
     }
 
     public String getWindowHandle() {
@@ -305,7 +365,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             return StringUtils.EMPTY;
         }
 
-        return getProxiedDriver().getWindowHandle();
+        return track(() -> getProxiedDriver().getWindowHandle());
     }
 
     public TargetLocator switchTo() {
@@ -370,14 +430,14 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
         if (!isEnabled()) {
             return null;
         }
-        return ((JavascriptExecutor) getProxiedDriver()).executeScript(script, parameters);
+        return track(() -> ((JavascriptExecutor) getProxiedDriver()).executeScript(script, parameters));
     }
 
     public Object executeAsyncScript(String script, Object... parameters) {
         if (!isEnabled()) {
             return null;
         }
-        return ((JavascriptExecutor) getProxiedDriver()).executeAsyncScript(script, parameters);
+        return track(() -> ((JavascriptExecutor) getProxiedDriver()).executeAsyncScript(script, parameters));
     }
 
     @Override
@@ -271,6 +271,10 @@ public class WebDriverFactory {
         }
     }
 
+    public boolean usesFixtureServices() {
+        return !fixtureProviderService.getFixtureServices().isEmpty();
+    }
+
     private boolean isNotAMocked(WebDriver driver) {
         return (!(driver.getClass().getName().contains("Mock") || driver.toString().contains("Mock for")));
     }
@@ -309,7 +313,25 @@ public class WebDriverFactory {
 
     }
 
+    /**
+     * Check that a driver is still usable. For a WebDriverFacade, the outcome of the most recent commands is used if
+     * it is recent enough, and the browser is only pinged when it is not.
+     */
     public static boolean isAlive(final WebDriver driver) {
+        Optional<DriverLiveness> liveness = Optional.empty();
+        if (driver instanceof WebDriverFacade && ((WebDriverFacade) driver).getDriverInstance() != null) {
+            liveness = Optional.of(((WebDriverFacade) driver).getLiveness());
+            Optional<Boolean> recentState = liveness.get().recentState();
+            if (recentState.isPresent()) {
+                return recentState.get();
+            }
+        }
+        boolean alive = ping(driver);
+        liveness.ifPresent(driverLiveness -> driverLiveness.recordPing(alive));
+        return alive;
+    }
+
+    private static boolean ping(final WebDriver driver) {
         try {
             WebDriver local = driver;
             if(driver instanceof WebDriverFacade){
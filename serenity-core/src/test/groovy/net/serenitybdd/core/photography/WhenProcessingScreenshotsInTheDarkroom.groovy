@@ -0,0 +1,134 @@
+package net.serenitybdd.core.photography
+
+import net.serenitybdd.core.photography.bluring.Blurer
+import net.thucydides.core.screenshots.BlurLevel
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class WhenProcessingScreenshotsInTheDarkroom extends Specification {
+
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    Path workingDirectory
+    Path screenshotDirectory
+
+    def setup() {
+        workingDirectory = folder.newFolder("working").toPath()
+        screenshotDirectory = folder.newFolder("screenshots").toPath()
+    }
+
+    def negativeCalled(String name) {
+        ScreenshotNegative.prepareNegativeIn(workingDirectory)
+                .withScreenshotData(name.bytes)
+                .andBlurringOf(BlurLevel.NONE)
+                .andTargetPathOf(screenshotDirectory.resolve(name + ".png"))
+    }
+
+    def "should save every screenshot when several workers share a small queue"() {
+        given:
+            def metrics = new DarkroomMetrics()
+            def processingLine = new DarkroomProcessingLine([new Blurer()], 4, 2, metrics)
+            processingLine.start()
+        when:
+            def receipts = (1..50).collect { processingLine.addToProcessingQueue(negativeCalled("screenshot-$it")) }
+            processingLine.terminate()
+        then:
+            receipts.every { Files.exists(it.destinationPath) }
+            metrics.submittedCount == 50
+            metrics.processedCount == 50
+            metrics.maxQueueDepth <= 2
+        and: "the temporary files are cleaned up"
+            Files.list(workingDirectory).count() == 0
+    }
+
+    def "should process the screenshots of every processing line on the same shared worker threads"() {
+        given:
+            def processingThreads = Collections.synchronizedSet(new HashSet<String>())
+            def recordingFilter = new PhotoFilter() {
+                @Override
+                Path amendedScreenshotPath(ScreenshotNegative negative) {
+                    return negative.screenshotPath
+                }
+
+                @Override
+                ScreenshotNegative process(ScreenshotNegative negative) {
+                    processingThreads.add(Thread.currentThread().name)
+                    return negative
+                }
+            }
+            def processingLines = (1..8).collect { new DarkroomProcessingLine([recordingFilter], 4, 10, new DarkroomMetrics()) }
+            processingLines.each { it.start() }
+        when:
+            processingLines.eachWithIndex { line, lineNumber ->
+                (1..5).each { line.addToProcessingQueue(negativeCalled("line-$lineNumber-screenshot-$it")) }
+            }
+            processingLines.each { it.terminate() }
+        then:
+            Files.list(screenshotDirectory).count() == 40
+            processingThreads.every { it.startsWith("Darkroom Processing Line") }
+            processingThreads.size() <= DarkroomProcessingLine.sharedWorkerCount()
+    }
+
+    def "should save screenshots that need no processing in the test thread when the queue is full"() {
+        given:
+            def metrics = new DarkroomMetrics()
+            def processingLine = new DarkroomProcessingLine([new Blurer()], 1, 1, metrics)
+        when: "no workers are running, so the queue fills up"
+            processingLine.addToProcessingQueue(negativeCalled("first"))
+            processingLine.addToProcessingQueue(negativeCalled("second"))
+        then:
+            metrics.processedInTestThreadCount == 1
+            Files.exists(screenshotDirectory.resolve("second.png"))
+    }
+
+    def "should not accept screenshots once the processing line has been closed"() {
+        given:
+            def processingLine = new DarkroomProcessingLine([new Blurer()], 1, 10, new DarkroomMetrics())
+            processingLine.start()
+            processingLine.terminate()
+        when:
+            processingLine.addToProcessingQueue(negativeCalled("too-late"))
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def "should stage screenshots next to the final screenshot and rename them into place"() {
+        given:
+            def screenshotPath = screenshotDirectory.resolve("staged.png")
+            def stagingDirectory = ScreenshotStagingArea.TARGET_DIRECTORY.directoryFor(screenshotPath)
+            def negative = ScreenshotNegative.prepareNegativeIn(stagingDirectory)
+                                             .withScreenshotData("staged".bytes)
+                                             .andTargetPathOf(screenshotPath)
+            def processingLine = new DarkroomProcessingLine([new Blurer()], 1, 10, new DarkroomMetrics())
+        when:
+            processingLine.process(negative)
+        then:
+            stagingDirectory == screenshotDirectory.toAbsolutePath()
+            new String(Files.readAllBytes(screenshotPath)) == "staged"
+            Files.list(screenshotDirectory).count() == 1
+    }
+
+    def "should use the configured staging area"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+        when:
+            if (configuredValue) {
+                environmentVariables.setProperty("serenity.screenshot.staging", configuredValue)
+            }
+        then:
+            ScreenshotStagingArea.configuredIn(environmentVariables) == expectedStagingArea
+        where:
+            configuredValue | expectedStagingArea
+            null            | ScreenshotStagingArea.TARGET_DIRECTORY
+            "target"        | ScreenshotStagingArea.TARGET_DIRECTORY
+            "temp"          | ScreenshotStagingArea.TEMPORARY_DIRECTORY
+            "MEMORY"        | ScreenshotStagingArea.IN_MEMORY
+            "unknown"       | ScreenshotStagingArea.TARGET_DIRECTORY
+    }
+}
@@ -0,0 +1,112 @@
+package net.serenitybdd.core.photography
+
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.model.TestResult
+import net.thucydides.core.model.TestStep
+import net.thucydides.core.screenshots.CompressedPageSource
+import net.thucydides.core.screenshots.ScreenshotAndHtmlSource
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.openqa.selenium.WebDriver
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.zip.GZIPInputStream
+
+class WhenRecordingPageSources extends Specification {
+
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    def pageSource = "<html><body><h1>Hello</h1></body></html>"
+
+    def "should store the page source compressed"() {
+        given:
+            def driver = Mock(WebDriver)
+            driver.getPageSource() >> pageSource
+            def directory = folder.newFolder().toPath()
+        when:
+            def recordedSource = new PageSourceRecorder(driver).intoDirectory(directory).get()
+        then:
+            recordedSource.name.endsWith(".html.txt.gz")
+            new GZIPInputStream(new FileInputStream(recordedSource)).text == pageSource
+    }
+
+    def "should only store identical page sources once"() {
+        given:
+            def driver = Mock(WebDriver)
+            driver.getPageSource() >> pageSource
+            def directory = folder.newFolder().toPath()
+            def recorder = new PageSourceRecorder(driver)
+        when:
+            def firstSource = recorder.intoDirectory(directory).get()
+            def secondSource = recorder.intoDirectory(directory).get()
+        then:
+            firstSource == secondSource
+            Files.list(directory).count() == 1
+    }
+
+    def "should store different page sources separately"() {
+        given:
+            def driver = Mock(WebDriver)
+            driver.getPageSource() >>> [pageSource, "<html><body><h1>Goodbye</h1></body></html>"]
+            def directory = folder.newFolder().toPath()
+            def recorder = new PageSourceRecorder(driver)
+        when:
+            def firstSource = recorder.intoDirectory(directory).get()
+            def secondSource = recorder.intoDirectory(directory).get()
+        then:
+            firstSource != secondSource
+    }
+
+    def "should decompress page sources into the report directory for the reports to link to"() {
+        given:
+            def driver = Mock(WebDriver)
+            driver.getPageSource() >> pageSource
+            def directory = folder.newFolder().toPath()
+            def recordedSource = new PageSourceRecorder(driver).intoDirectory(directory).get()
+        when:
+            CompressedPageSource.decompressInto(directory, recordedSource.name)
+        then:
+            directory.resolve(CompressedPageSource.linkTo(recordedSource.name)).text == pageSource
+        and: "the compressed copy is removed"
+            !Files.exists(recordedSource.toPath())
+    }
+
+    def "should reuse a page source that a report has already decompressed"() {
+        given:
+            def driver = Mock(WebDriver)
+            driver.getPageSource() >> pageSource
+            def directory = folder.newFolder().toPath()
+            def recorder = new PageSourceRecorder(driver)
+            def recordedSource = recorder.intoDirectory(directory).get()
+            CompressedPageSource.decompressInto(directory, recordedSource.name)
+        when:
+            def identicalSource = recorder.intoDirectory(directory).get()
+        then:
+            identicalSource.name == CompressedPageSource.linkTo(recordedSource.name)
+            directory.toFile().list().toList() == [identicalSource.name]
+    }
+
+    def "should only decompress the page source that the test report links to"() {
+        given:
+            def driver = Mock(WebDriver)
+            driver.getPageSource() >>> [pageSource, "<html><body><h1>Goodbye</h1></body></html>"]
+            def directory = folder.newFolder().toPath()
+            def recorder = new PageSourceRecorder(driver)
+            def firstSource = recorder.intoDirectory(directory).get()
+            def secondSource = recorder.intoDirectory(directory).get()
+        and:
+            def testOutcome = new TestOutcome("a test")
+            [firstSource, secondSource].each { source ->
+                def step = TestStep.forStepCalled("a step").withResult(TestResult.SUCCESS)
+                step.addScreenshot(new ScreenshotAndHtmlSource(new File("screenshot.png"), source))
+                testOutcome.recordStep(step)
+            }
+        when:
+            CompressedPageSource.decompressLinkedPageSourceFor(testOutcome, directory)
+        then:
+            Files.exists(directory.resolve(CompressedPageSource.linkTo(firstSource.name)))
+            !Files.exists(directory.resolve(CompressedPageSource.linkTo(secondSource.name)))
+    }
+}
@@ -0,0 +1,127 @@
+package net.serenitybdd.core.photography
+
+import com.assertthat.selenium_shutterbug.utils.web.ScrollStrategy
+import net.thucydides.core.screenshots.BlurLevel
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.openqa.selenium.OutputType
+import org.openqa.selenium.TakesScreenshot
+import org.openqa.selenium.WebDriver
+import spock.lang.Specification
+
+import javax.imageio.ImageIO
+import java.awt.Color
+import java.awt.image.BufferedImage
+
+class WhenTakingViewportScreenshots extends Specification {
+
+    interface ScreenshotTakingDriver extends WebDriver, TakesScreenshot {}
+
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    Darkroom darkroom
+
+    def setup() {
+        darkroom = new Darkroom()
+        // A photo taken within the minimum screenshot interval is reused, so don't pick up the previous test's photo
+        sleep(100)
+    }
+
+    def cleanup() {
+        darkroom.terminate()
+    }
+
+    def pageWithABoxAt(int x, int y) {
+        def image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB)
+        def graphics = image.createGraphics()
+        graphics.color = Color.WHITE
+        graphics.fillRect(0, 0, 800, 600)
+        graphics.color = Color.BLACK
+        graphics.fillRect(x, y, 300, 200)
+        graphics.dispose()
+        return image
+    }
+
+    def blankPage() {
+        def image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB)
+        def graphics = image.createGraphics()
+        graphics.color = Color.WHITE
+        graphics.fillRect(0, 0, 800, 600)
+        graphics.dispose()
+        return image
+    }
+
+    def pngDataFor(BufferedImage image) {
+        def outputStream = new ByteArrayOutputStream()
+        ImageIO.write(image, "png", outputStream)
+        return outputStream.toByteArray()
+    }
+
+    def driverShowing(BufferedImage... pages) {
+        def driver = Mock(ScreenshotTakingDriver)
+        driver.getCurrentUrl() >> "http://localhost"
+        driver.getScreenshotAs(OutputType.BYTES) >>> pages.collect { pngDataFor(it) }
+        return driver
+    }
+
+    def photoSessionFor(WebDriver driver) {
+        new PhotoSession(driver, darkroom, folder.newFolder().toPath(), BlurLevel.NONE, ScrollStrategy.VIEWPORT_ONLY)
+    }
+
+    def "should not keep blank viewport screenshots"() {
+        given:
+            def session = photoSessionFor(driverShowing(blankPage()))
+        when:
+            def photo = session.takeScreenshot()
+        then:
+            photo == ScreenshotPhoto.None
+    }
+
+    def "should keep full-page screenshots of a page that is a single colour"() {
+        given:
+            def fullPageScreenshot = PhotoSession.encoded(blankPage())
+            def session = new PhotoSession(driverShowing(blankPage()), darkroom, folder.newFolder().toPath(), BlurLevel.NONE, ScrollStrategy.WHOLE_PAGE) {
+                @Override
+                PhotoSession.CapturedScreenshot captureScreenshot() {
+                    return fullPageScreenshot
+                }
+            }
+        when:
+            def photo = session.takeScreenshot()
+        then:
+            photo != ScreenshotPhoto.None
+    }
+
+    def "should keep viewport screenshots that are not blank"() {
+        given:
+            def session = photoSessionFor(driverShowing(pageWithABoxAt(100, 100)))
+        when:
+            def photo = session.takeScreenshot()
+        then:
+            photo != ScreenshotPhoto.None
+    }
+
+    def "should reuse the previous photo when the screenshot is identical"() {
+        given:
+            def session = photoSessionFor(driverShowing(pageWithABoxAt(100, 100), pageWithABoxAt(100, 100)))
+        when:
+            def firstPhoto = session.takeScreenshot()
+            sleep(100)
+            def secondPhoto = session.takeScreenshot()
+        then:
+            secondPhoto.is(firstPhoto)
+    }
+
+    def "should keep screenshots that differ only slightly from the previous one"() {
+        given:
+            def session = photoSessionFor(driverShowing(pageWithABoxAt(100, 100), pageWithABoxAt(101, 100)))
+        when:
+            def firstPhoto = session.takeScreenshot()
+            sleep(100)
+            def secondPhoto = session.takeScreenshot()
+        then:
+            secondPhoto != ScreenshotPhoto.None
+            secondPhoto.pathToScreenshot != firstPhoto.pathToScreenshot
+    }
+}
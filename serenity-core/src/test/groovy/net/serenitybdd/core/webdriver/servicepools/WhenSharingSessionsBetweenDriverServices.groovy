@@ -0,0 +1,70 @@
+package net.serenitybdd.core.webdriver.servicepools
+
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.openqa.selenium.remote.service.DriverService
+import spock.lang.Specification
+
+class WhenSharingSessionsBetweenDriverServices extends Specification {
+
+    def "should start one driver service by default"() {
+        when:
+            def driverServices = DriverServiceShards.of(1, DriverServiceAssignment.LEAST_LOADED, { Mock(DriverService) })
+        then:
+            driverServices.all().size() == 1
+    }
+
+    def "should assign new sessions to the least loaded driver service"() {
+        given:
+            def driverServices = DriverServiceShards.of(3, DriverServiceAssignment.LEAST_LOADED, { Mock(DriverService) })
+            driverServices.all()[0].@activeSessions.set(2)
+            driverServices.all()[1].@activeSessions.set(1)
+            driverServices.all()[2].@activeSessions.set(4)
+        expect:
+            driverServices.forNewSession().number == 1
+    }
+
+    def "should always assign sessions from the same thread to the same driver service when using thread-affine assignment"() {
+        given:
+            def driverServices = DriverServiceShards.of(3, DriverServiceAssignment.THREAD_AFFINE, { Mock(DriverService) })
+            def firstService = driverServices.forNewSession()
+        when:
+            firstService.@activeSessions.set(10)
+        then:
+            driverServices.forNewSession() == firstService
+    }
+
+    def "should restart a driver service that has stopped running"() {
+        given:
+            def driverService = Mock(DriverService)
+            def shard = new DriverServiceShard(0, driverService)
+        when:
+            shard.ensureRunning()
+            shard.ensureRunning()
+        then:
+            driverService.isRunning() >>> [false, false]
+            1 * driverService.stop()
+            2 * driverService.start()
+            shard.restarts == 1
+    }
+
+    def "should report the number of active sessions for each driver service"() {
+        given:
+            def driverServices = DriverServiceShards.of(2, DriverServiceAssignment.LEAST_LOADED, { Mock(DriverService) })
+            driverServices.all()[1].@activeSessions.set(3)
+        when:
+            def metrics = driverServices.metrics
+        then:
+            metrics.activeSessionsPerService == [0, 3]
+            metrics.activeSessions == 3
+            metrics.sessionsCreated == 0
+    }
+
+    def "should read the driver service assignment from the configuration"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("webdriver.driver.service.assignment", "thread-affine")
+        expect:
+            DriverServiceAssignment.definedIn(environmentVariables) == DriverServiceAssignment.THREAD_AFFINE
+            DriverServiceAssignment.definedIn(new MockEnvironmentVariables()) == DriverServiceAssignment.LEAST_LOADED
+    }
+}
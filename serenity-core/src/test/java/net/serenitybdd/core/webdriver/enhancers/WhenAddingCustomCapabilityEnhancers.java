@@ -9,6 +9,8 @@ import net.thucydides.core.webdriver.SupportedWebDriver;
 import org.junit.Test;
 import org.openqa.selenium.remote.DesiredCapabilities;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class WhenAddingCustomCapabilityEnhancers {
@@ -26,4 +28,13 @@ public class WhenAddingCustomCapabilityEnhancers {
 
         assertThat(capabilities.getCapability("name")).isEqualTo( "Sample story - Sample test");
     }
+
+    @Test
+    public void customEnhancersAreOnlyCreatedOnce() {
+
+        List<BeforeAWebdriverScenario> enhancers = EnhancerInstances.ofType(BeforeAWebdriverScenario.class, environmentVariables);
+
+        assertThat(enhancers).hasAtLeastOneElementOfType(SampleNamerCapabilityEnhancer.class);
+        assertThat(EnhancerInstances.ofType(BeforeAWebdriverScenario.class, environmentVariables)).isSameAs(enhancers);
+    }
 }
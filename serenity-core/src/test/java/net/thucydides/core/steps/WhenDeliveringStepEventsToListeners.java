@@ -0,0 +1,197 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+import sample.listeners.SampleStepListener;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class WhenDeliveringStepEventsToListeners {
+
+    @Test
+    public void the_listener_list_should_only_be_rebuilt_when_the_listeners_change() {
+        StepEventBus eventBus = new StepEventBus(new MockEnvironmentVariables());
+
+        List<StepListener> listeners = eventBus.getAllListeners();
+        assertThat(eventBus.getAllListeners()).isSameAs(listeners);
+
+        StepListener newListener = mock(StepListener.class);
+        eventBus.registerListener(newListener);
+        assertThat(eventBus.getAllListeners()).isNotSameAs(listeners).contains(newListener);
+
+        eventBus.dropListener(newListener);
+        assertThat(eventBus.getAllListeners()).doesNotContain(newListener);
+    }
+
+    @Test
+    public void asynchronous_listeners_should_receive_events_in_order_on_a_background_thread() {
+        AsyncStepListeners asyncStepListeners = new AsyncStepListeners(16);
+        RecordingListener recordingListener = new RecordingListener();
+        StepListener listener = asyncStepListeners.asynchronous(recordingListener);
+
+        listener.testStarted("first test");
+        listener.stepFinished();
+        listener.testStarted("second test");
+
+        assertThat(asyncStepListeners.awaitDelivery(Duration.ofSeconds(10))).isTrue();
+        assertThat(recordingListener.events).containsExactly("testStarted:first test", "stepFinished", "testStarted:second test");
+        assertThat(recordingListener.threads).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void a_failing_listener_should_not_stop_later_events_being_delivered() {
+        AsyncStepListeners asyncStepListeners = new AsyncStepListeners(16);
+        RecordingListener recordingListener = new RecordingListener();
+        StepListener listener = asyncStepListeners.asynchronous(recordingListener);
+
+        listener.testStarted("failing test");
+        listener.testStarted("next test");
+
+        asyncStepListeners.awaitDelivery(Duration.ofSeconds(10));
+        assertThat(recordingListener.events).contains("testStarted:next test");
+    }
+
+    @Test
+    public void waiting_for_delivery_should_only_return_once_the_queued_events_have_been_delivered() throws Exception {
+        AsyncStepListeners asyncStepListeners = new AsyncStepListeners(16);
+        CountDownLatch listenerReleased = new CountDownLatch(1);
+        RecordingListener blockedListener = new RecordingListener() {
+            @Override
+            public void stepFinished() {
+                try {
+                    listenerReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.stepFinished();
+            }
+        };
+        StepListener listener = asyncStepListeners.asynchronous(blockedListener);
+
+        listener.stepFinished();
+
+        assertThat(asyncStepListeners.awaitDelivery(Duration.ofMillis(100))).isFalse();
+        listenerReleased.countDown();
+        assertThat(asyncStepListeners.awaitDelivery(Duration.ofSeconds(10))).isTrue();
+        assertThat(blockedListener.events).containsExactly("stepFinished");
+    }
+
+    @Test
+    public void the_time_events_spend_in_the_queue_should_be_recorded() {
+        long deliveredEvents = AsyncStepListeners.getDeliveredEventCount();
+        AsyncStepListeners asyncStepListeners = new AsyncStepListeners(16);
+        StepListener listener = asyncStepListeners.asynchronous(new RecordingListener());
+
+        listener.stepFinished();
+        asyncStepListeners.awaitDelivery(Duration.ofSeconds(10));
+
+        assertThat(AsyncStepListeners.getDeliveredEventCount()).isGreaterThan(deliveredEvents);
+        assertThat(AsyncStepListeners.getAverageQueueLagInMilliseconds()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    public void custom_listeners_should_still_be_reported_as_registered_when_events_are_delivered_asynchronously() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.async.listeners", "true");
+        StepEventBus eventBus = new StepEventBus(environmentVariables);
+
+        eventBus.testSuiteFinished();
+
+        assertThat(eventBus.getAllListeners()).hasAtLeastOneElementOfType(SampleStepListener.class);
+    }
+
+    @Test
+    public void custom_listeners_should_be_notified_asynchronously_while_the_base_step_listener_stays_synchronous() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.async.listeners", "true");
+        StepEventBus eventBus = new StepEventBus(environmentVariables);
+        BaseStepListener baseStepListener = mock(BaseStepListener.class);
+        List<String> baseStepListenerThreads = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> baseStepListenerThreads.add(Thread.currentThread().getName()))
+                .when(baseStepListener).notifyScreenChange();
+        eventBus.registerListener(baseStepListener);
+
+        eventBus.notifyScreenChange();
+
+        assertThat(baseStepListenerThreads).containsExactly(Thread.currentThread().getName());
+        assertThat(eventBus.listenersToNotify()).contains(baseStepListener)
+                                                .noneMatch(listener -> listener instanceof SampleStepListener)
+                                                .anyMatch(listener -> Proxy.isProxyClass(listener.getClass()));
+    }
+
+    @Test
+    public void asynchronous_listeners_should_receive_a_snapshot_of_the_test_outcome() {
+        AsyncStepListeners asyncStepListeners = new AsyncStepListeners(16);
+        RecordingListener recordingListener = new RecordingListener();
+        StepListener listener = asyncStepListeners.asynchronous(recordingListener);
+
+        TestOutcome testOutcome = TestOutcome.forTest("should_do_something", SomeTest.class);
+        testOutcome.recordStep(TestStep.forStepCalled("first step").withResult(TestResult.SUCCESS));
+        listener.testFinished(testOutcome);
+        testOutcome.recordStep(TestStep.forStepCalled("second step").withResult(TestResult.FAILURE));
+
+        asyncStepListeners.awaitDelivery(Duration.ofSeconds(10));
+        assertThat(recordingListener.finishedTests).hasSize(1);
+        TestOutcome deliveredOutcome = recordingListener.finishedTests.get(0);
+        assertThat(deliveredOutcome).isNotSameAs(testOutcome);
+        assertThat(deliveredOutcome.getId()).isEqualTo(testOutcome.getId());
+        assertThat(deliveredOutcome.getTestSteps()).hasSize(1);
+        assertThat(deliveredOutcome.getResult()).isEqualTo(TestResult.SUCCESS);
+    }
+
+    @Test
+    public void asynchronous_listeners_should_not_be_able_to_use_the_event_bus_of_another_test() {
+        AsyncStepListeners asyncStepListeners = new AsyncStepListeners(16);
+        RecordingListener recordingListener = new RecordingListener();
+        StepListener listener = asyncStepListeners.asynchronous(recordingListener);
+
+        listener.stepFinished();
+
+        asyncStepListeners.awaitDelivery(Duration.ofSeconds(10));
+        assertThat(recordingListener.eventBuses).hasSize(1).allMatch(eventBus -> eventBus instanceof SilentEventBus);
+    }
+
+    static class SomeTest {
+        public void should_do_something() {}
+    }
+
+    static class RecordingListener extends SampleStepListener {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        final List<TestOutcome> finishedTests = Collections.synchronizedList(new ArrayList<>());
+        final List<StepEventBus> eventBuses = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void testFinished(TestOutcome result) {
+            finishedTests.add(result);
+        }
+
+        @Override
+        public void testStarted(String description) {
+            threads.add(Thread.currentThread().getName());
+            if (description.startsWith("failing")) {
+                throw new IllegalStateException("Listener failed");
+            }
+            events.add("testStarted:" + description);
+        }
+
+        @Override
+        public void stepFinished() {
+            threads.add(Thread.currentThread().getName());
+            eventBuses.add(StepEventBus.getEventBus());
+            events.add("stepFinished");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package net.thucydides.core.steps;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WhenTrackingSilentTasks {
+
+    @After
+    public void leaveAnySilentTasks() {
+        while (SilentTaskTracker.isNestedInSilentTask()) {
+            SilentTaskTracker.finishedSilentTask();
+        }
+    }
+
+    @Test
+    public void should_not_be_silent_outside_a_silent_task() {
+        assertThat(SilentTaskTracker.isNestedInSilentTask()).isFalse();
+    }
+
+    @Test
+    public void should_stay_silent_until_the_outermost_silent_task_is_finished() {
+        SilentTaskTracker.startingSilentTask();
+        SilentTaskTracker.startingSilentTask();
+
+        SilentTaskTracker.finishedSilentTask();
+        assertThat(SilentTaskTracker.isNestedInSilentTask()).isTrue();
+
+        SilentTaskTracker.finishedSilentTask();
+        assertThat(SilentTaskTracker.isNestedInSilentTask()).isFalse();
+    }
+
+    @Test
+    public void should_not_go_below_zero_if_a_silent_task_is_finished_twice() {
+        SilentTaskTracker.finishedSilentTask();
+        SilentTaskTracker.startingSilentTask();
+
+        assertThat(SilentTaskTracker.isNestedInSilentTask()).isTrue();
+    }
+
+    @Test
+    public void should_only_be_silent_on_the_thread_running_the_silent_task() throws Exception {
+        SilentTaskTracker.startingSilentTask();
+
+        boolean silentInAnotherThread = CompletableFuture.supplyAsync(SilentTaskTracker::isNestedInSilentTask).get();
+
+        assertThat(silentInAnotherThread).isFalse();
+    }
+}
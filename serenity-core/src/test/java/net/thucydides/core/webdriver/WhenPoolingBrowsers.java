@@ -0,0 +1,141 @@
+package net.thucydides.core.webdriver;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class WhenPoolingBrowsers {
+
+    private AdjustableClock clock = new AdjustableClock();
+    private WarmBrowserPool pool;
+
+    @Before
+    public void createPool() {
+        pool = new WarmBrowserPool(2, Duration.ofMinutes(5), clock);
+    }
+
+    private WebDriver openBrowser(String... windows) {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class).defaultAnswer(RETURNS_DEEP_STUBS));
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>(Arrays.asList(windows)));
+        return driver;
+    }
+
+    @Test
+    public void a_browser_returned_to_the_pool_should_be_reused_for_the_same_type_of_browser() {
+        WebDriver driver = openBrowser("main");
+
+        pool.release("chrome", driver);
+
+        assertThat(pool.lease("firefox")).isEmpty();
+        assertThat(pool.lease("chrome")).contains(driver);
+        assertThat(pool.lease("chrome")).isEmpty();
+        verify(driver, never()).quit();
+    }
+
+    @Test
+    public void a_browser_should_be_reset_before_it_is_returned_to_the_pool() {
+        WebDriver driver = openBrowser("main", "popup");
+
+        pool.release("chrome", driver);
+
+        verify(driver.switchTo()).window("popup");
+        verify(driver).close();
+        verify(driver.switchTo()).window("main");
+        verify((JavascriptExecutor) driver).executeScript(anyString());
+        verify(driver.manage()).deleteAllCookies();
+        verify(driver).get("about:blank");
+    }
+
+    @Test
+    public void a_browser_that_cannot_be_reset_should_be_closed() {
+        WebDriver driver = openBrowser("main");
+        doThrow(new WebDriverException("browser has gone")).when(driver).get("about:blank");
+
+        pool.release("chrome", driver);
+
+        verify(driver).quit();
+        assertThat(pool.getIdleBrowserCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void a_browser_that_no_longer_responds_should_not_be_reused() {
+        WebDriver driver = openBrowser("main");
+        pool.release("chrome", driver);
+        when(driver.getWindowHandles()).thenThrow(new WebDriverException("browser has gone"));
+
+        assertThat(pool.lease("chrome")).isEmpty();
+        verify(driver).quit();
+    }
+
+    @Test
+    public void browsers_should_be_closed_when_the_pool_is_full() {
+        WebDriver firstDriver = openBrowser("main");
+        WebDriver secondDriver = openBrowser("main");
+        WebDriver thirdDriver = openBrowser("main");
+
+        pool.release("chrome", firstDriver);
+        pool.release("chrome", secondDriver);
+        pool.release("chrome", thirdDriver);
+
+        assertThat(pool.getIdleBrowserCount()).isEqualTo(2);
+        verify(thirdDriver).quit();
+    }
+
+    @Test
+    public void browsers_that_have_been_idle_for_too_long_should_be_closed() {
+        WebDriver driver = openBrowser("main");
+        pool.release("chrome", driver);
+
+        clock.advanceBy(Duration.ofMinutes(6));
+
+        assertThat(pool.lease("chrome")).isEmpty();
+        verify(driver).quit();
+    }
+
+    @Test
+    public void idle_browsers_should_be_closed_when_the_pool_shuts_down() {
+        WebDriver driver = openBrowser("main");
+        pool.release("chrome", driver);
+
+        pool.shutdown();
+
+        verify(driver).quit();
+        assertThat(pool.getIdleBrowserCount()).isEqualTo(0);
+    }
+
+    private static class AdjustableClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advanceBy(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.thucydides.core.webdriver;
+
+import org.junit.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WhenTrackingDriverLiveness {
+
+    private AtomicLong currentTime = new AtomicLong(0);
+    private DriverLiveness liveness = new DriverLiveness(Duration.ofSeconds(2), currentTime::get);
+
+    @Test
+    public void nothing_is_known_about_a_driver_that_has_not_been_used() {
+        assertThat(liveness.recentState()).isEmpty();
+    }
+
+    @Test
+    public void a_successful_command_shows_that_the_driver_is_alive() {
+        liveness.recordSuccess();
+
+        assertThat(liveness.recentState()).contains(true);
+    }
+
+    @Test
+    public void a_lost_session_shows_that_the_driver_is_not_alive() {
+        liveness.recordFailure(new NoSuchSessionException("Session has gone"));
+
+        assertThat(liveness.recentState()).contains(false);
+    }
+
+    @Test
+    public void an_unreachable_browser_is_not_alive() {
+        liveness.recordFailure(new UnreachableBrowserException("Connection refused"));
+
+        assertThat(liveness.recentState()).contains(false);
+    }
+
+    @Test
+    public void a_missing_element_still_comes_from_a_browser_that_is_alive() {
+        liveness.recordFailure(new NoSuchElementException("No such element"));
+
+        assertThat(liveness.recentState()).contains(true);
+    }
+
+    @Test
+    public void the_driver_state_should_only_be_trusted_for_a_short_time() {
+        liveness.recordSuccess();
+
+        currentTime.addAndGet(Duration.ofSeconds(3).toNanos());
+
+        assertThat(liveness.recentState()).isEmpty();
+    }
+
+    @Test
+    public void the_driver_state_should_be_forgotten_when_the_driver_is_reset() {
+        liveness.recordSuccess();
+
+        liveness.reset();
+
+        assertThat(liveness.recentState()).isEmpty();
+    }
+
+    @Test
+    public void answering_from_the_recent_state_should_be_counted_as_a_saved_round_trip() {
+        long savedRoundTrips = DriverLiveness.getSavedRoundTripCount();
+        liveness.recordSuccess();
+
+        liveness.recentState();
+        liveness.recentState();
+
+        assertThat(DriverLiveness.getSavedRoundTripCount() - savedRoundTrips).isGreaterThanOrEqualTo(2);
+    }
+}
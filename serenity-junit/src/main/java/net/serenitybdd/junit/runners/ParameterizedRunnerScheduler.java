@@ -1,48 +1,174 @@
 package net.serenitybdd.junit.runners;
 
-import net.serenitybdd.core.collect.NewList;
 import org.junit.runners.model.RunnerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JUnit scheduler for parallel parameterized tests.
+ * The test runs of all the parameterized test classes are executed on a shared pool of threads. Each class still
+ * runs no more than its own number of threads at a time: the test runs that cannot start yet wait in a queue, and
+ * are picked up by the threads running this class as they finish their current test run.
  */
 class ParameterizedRunnerScheduler implements RunnerScheduler {
 
-    private ExecutorService executorService;
-    private CompletionService<Void> completionService;
-    private Queue<Future<Void>> tasks;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParameterizedRunnerScheduler.class);
 
-    public ParameterizedRunnerScheduler(final Class<?> klass, final int threadCount) {
+    private static final LongAdder STARTED_TASKS = new LongAdder();
+    private static final LongAdder TOTAL_LATENCY = new LongAdder();
+    private static final AtomicLong MAX_LATENCY = new AtomicLong();
+
+    /**
+     * Test runs mostly wait on browsers and remote services rather than use the CPU, so the shared pool grows to as
+     * many threads as the running classes need, and idle threads are reused by the next class.
+     */
+    private static final class SharedTestPool {
+        private static final ExecutorService INSTANCE = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new NamedThreadFactory("serenity-parameterized"));
+    }
 
+    private final String className;
+    private final int threadCount;
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
 
-        executorService = Executors.newFixedThreadPool(threadCount, new NamedThreadFactory(klass.getSimpleName()));
-        completionService = new ExecutorCompletionService<>(executorService);
-        tasks = new LinkedList<>();
+    private final Object lock = new Object();
+    private final Queue<ScheduledTask> waitingTasks = new ArrayDeque<>();
+    private int runningThreads;
+    private int scheduledTasks;
+    private int completedTasks;
+
+    public ParameterizedRunnerScheduler(final Class<?> klass, final int threadCount) {
+        this.className = klass.getSimpleName();
+        this.threadCount = Math.max(1, threadCount);
     }
 
-    protected Queue<Future<Void>> getTaskQueue() {
-        return new LinkedList<>(NewList.copyOf(tasks));
+    /**
+     * The number of test runs that have been scheduled and not yet waited for by {@link #finished()}.
+     */
+    protected int getScheduledTaskCount() {
+        synchronized (lock) {
+            return scheduledTasks;
+        }
     }
 
     public void schedule(final Runnable childStatement) {
-
-        tasks.offer(completionService.submit(childStatement, null));
+        ScheduledTask task = new ScheduledTask(childStatement);
+        synchronized (lock) {
+            scheduledTasks++;
+            if (runningThreads >= threadCount) {
+                waitingTasks.offer(task);
+                return;
+            }
+            runningThreads++;
+        }
+        SharedTestPool.INSTANCE.execute(new Worker(task));
     }
 
     public void finished() {
-        try {
-            while (!tasks.isEmpty()) {
-                tasks.remove(completionService.take());
+        synchronized (lock) {
+            try {
+                while (completedTasks < scheduledTasks) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                scheduledTasks -= waitingTasks.size();
+                waitingTasks.clear();
+                Thread.currentThread().interrupt();
+            } finally {
+                scheduledTasks -= completedTasks;
+                completedTasks = 0;
+            }
+        }
+        LOGGER.debug("Parallel test runs for {} finished: average scheduling latency {} ms, max {} ms",
+                className, getAverageSchedulingLatencyInMilliseconds(), getMaxSchedulingLatencyInMilliseconds());
+    }
+
+    private ScheduledTask nextTaskAfterCompleting() {
+        synchronized (lock) {
+            completedTasks++;
+            ScheduledTask next = waitingTasks.poll();
+            if (next == null) {
+                runningThreads--;
+            }
+            lock.notifyAll();
+            return next;
+        }
+    }
+
+    /**
+     * The number of parallel test runs that have been started, across all the parameterized test classes.
+     */
+    static long getStartedTaskCount() {
+        return STARTED_TASKS.sum();
+    }
+
+    /**
+     * The average time between a test run being scheduled and it being started, across all the parameterized test classes.
+     */
+    static double getAverageSchedulingLatencyInMilliseconds() {
+        long started = STARTED_TASKS.sum();
+        return (started == 0) ? 0.0 : TimeUnit.NANOSECONDS.toMicros(TOTAL_LATENCY.sum()) / 1000.0 / started;
+    }
+
+    static long getMaxSchedulingLatencyInMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(MAX_LATENCY.get());
+    }
+
+    private static void recordLatency(long latencyInNanos) {
+        STARTED_TASKS.increment();
+        TOTAL_LATENCY.add(latencyInNanos);
+        MAX_LATENCY.accumulateAndGet(latencyInNanos, Math::max);
+    }
+
+    /**
+     * Runs test runs for this class on a shared thread until there are none left waiting.
+     */
+    private final class Worker implements Runnable {
+        private ScheduledTask task;
+
+        private Worker(ScheduledTask firstTask) {
+            this.task = firstTask;
+        }
+
+        public void run() {
+            Thread currentThread = Thread.currentThread();
+            String poolThreadName = currentThread.getName();
+            currentThread.setName(className + "-thread-" + threadNumber.getAndIncrement());
+            try {
+                while (task != null) {
+                    task.run();
+                    task = nextTaskAfterCompleting();
+                }
+            } finally {
+                currentThread.setName(poolThreadName);
+            }
+        }
+    }
+
+    private static final class ScheduledTask {
+        private final Runnable childStatement;
+        private final long scheduledAt = System.nanoTime();
+
+        private ScheduledTask(Runnable childStatement) {
+            this.childStatement = childStatement;
+        }
+
+        void run() {
+            recordLatency(System.nanoTime() - scheduledAt);
+            try {
+                childStatement.run();
+            } catch (Throwable e) {
+                LOGGER.warn("Parallel test run failed: {}", e.getMessage(), e);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } finally {
-            executorService.shutdownNow();
         }
     }
 
@@ -56,7 +182,9 @@ class ParameterizedRunnerScheduler implements RunnerScheduler {
         }
 
         public Thread newThread(final Runnable r) {
-            return new Thread(group, r, group.getName() + "-thread-" + threadNumber.getAndIncrement(), 0);
+            Thread thread = new Thread(group, r, group.getName() + "-thread-" + threadNumber.getAndIncrement(), 0);
+            thread.setDaemon(true);
+            return thread;
         }
     }
 
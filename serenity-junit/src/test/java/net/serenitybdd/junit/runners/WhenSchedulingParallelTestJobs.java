@@ -6,8 +6,12 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class WhenSchedulingParallelTestJobs {
 
@@ -30,7 +34,7 @@ public class WhenSchedulingParallelTestJobs {
 
         scheduler.schedule(testJob);
 
-        assertThat(scheduler.getTaskQueue().size(), is(1));
+        assertThat(scheduler.getScheduledTaskCount(), is(1));
     }
 
     @Test
@@ -42,9 +46,57 @@ public class WhenSchedulingParallelTestJobs {
         scheduler.schedule(testJob);
         scheduler.schedule(testJob2);
 
-        assertThat(scheduler.getTaskQueue().size(), is(2));
+        assertThat(scheduler.getScheduledTaskCount(), is(2));
+        scheduler.finished();
+        assertThat(scheduler.getScheduledTaskCount(), is(0));
+    }
+
+    @Test
+    public void no_more_than_the_requested_number_of_tests_should_run_at_the_same_time() {
+        ParameterizedRunnerScheduler scheduler
+                = new ParameterizedRunnerScheduler(SampleParallelDataDrivenScenario.class, 3);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 500; i++) {
+            scheduler.schedule(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.yield();
+                running.decrementAndGet();
+                completed.incrementAndGet();
+            });
+        }
         scheduler.finished();
-        assertThat(scheduler.getTaskQueue().size(), is(0));
+
+        assertThat(completed.get(), is(500));
+        assertThat(maxRunning.get(), lessThanOrEqualTo(3));
+        assertThat(scheduler.getScheduledTaskCount(), is(0));
+    }
+
+    @Test
+    public void a_failing_test_run_should_not_stop_the_other_scheduled_tests() {
+        ParameterizedRunnerScheduler scheduler
+                = new ParameterizedRunnerScheduler(SampleParallelDataDrivenScenario.class, 1);
+
+        AtomicInteger completed = new AtomicInteger();
+        scheduler.schedule(() -> { throw new IllegalStateException("Test run failed"); });
+        scheduler.schedule(completed::incrementAndGet);
+        scheduler.finished();
+
+        assertThat(completed.get(), is(1));
+    }
+
+    @Test
+    public void the_scheduling_latency_should_be_recorded() {
+        long startedTasks = ParameterizedRunnerScheduler.getStartedTaskCount();
+        ParameterizedRunnerScheduler scheduler
+                = new ParameterizedRunnerScheduler(SampleParallelDataDrivenScenario.class, 2);
+
+        scheduler.schedule(testJob);
+        scheduler.finished();
+
+        assertThat(ParameterizedRunnerScheduler.getStartedTaskCount(), greaterThan(startedTasks));
     }
 
 }
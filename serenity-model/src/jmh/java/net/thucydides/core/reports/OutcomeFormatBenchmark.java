@@ -0,0 +1,96 @@
+package net.thucydides.core.reports;
+
+import net.thucydides.core.model.DataTable;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.reports.json.JSONTestOutcomeReporter;
+import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time taken to write and read a large data-driven test outcome (200 rows and 1,000 steps)
+ * in the XML and JSON outcome formats.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OutcomeFormatBenchmark {
+
+    private static final int ROW_COUNT = 200;
+    private static final int STEPS_PER_ROW = 5;
+
+    static class ADataDrivenTestCase {}
+
+    private File outputDirectory;
+    private TestOutcome outcome;
+    private XMLTestOutcomeReporter xmlReporter;
+    private JSONTestOutcomeReporter jsonReporter;
+    private File xmlReport;
+    private File jsonReport;
+
+    @Setup
+    public void createOutcome() throws IOException {
+        outputDirectory = Files.createTempDirectory("outcome-format-benchmark").toFile();
+
+        outcome = TestOutcome.forTest("should_handle_many_rows", ADataDrivenTestCase.class);
+        List<List<Object>> rows = new ArrayList<>();
+        for (int row = 0; row < ROW_COUNT; row++) {
+            rows.add(Arrays.asList("name " + row, "value " + row));
+            TestStep example = new TestStep("Example " + row);
+            for (int step = 0; step < STEPS_PER_ROW; step++) {
+                TestStep nestedStep = new TestStep("step " + step + " of example " + row);
+                nestedStep.setResult(TestResult.SUCCESS);
+                example.addChildStep(nestedStep);
+            }
+            outcome.recordStep(example);
+        }
+        outcome.useExamplesFrom(DataTable.withHeaders(Arrays.asList("name", "value")).andRows(rows).build());
+
+        xmlReporter = new XMLTestOutcomeReporter();
+        xmlReporter.setOutputDirectory(outputDirectory);
+        jsonReporter = new JSONTestOutcomeReporter();
+        jsonReporter.setOutputDirectory(outputDirectory);
+
+        xmlReport = xmlReporter.generateReportFor(outcome);
+        jsonReport = jsonReporter.generateReportFor(outcome);
+    }
+
+    @TearDown
+    public void deleteReports() throws IOException {
+        FileUtils.deleteDirectory(outputDirectory);
+    }
+
+    @Benchmark
+    public File writeXml() throws IOException {
+        return xmlReporter.generateReportFor(outcome);
+    }
+
+    @Benchmark
+    public File writeJson() throws IOException {
+        return jsonReporter.generateReportFor(outcome);
+    }
+
+    @Benchmark
+    public Optional<TestOutcome> readXml() {
+        return xmlReporter.loadReportFrom(xmlReport);
+    }
+
+    @Benchmark
+    public Optional<TestOutcome> readJson() {
+        return jsonReporter.loadReportFrom(jsonReport);
+    }
+}
@@ -17,8 +17,9 @@ public class EnvironmentSpecificConfiguration {
 
     public Properties getPropertiesWithPrefix(String prefix) {
 
+        String environment = getDefinedEnvironment(environmentVariables);
         List<String> propertyNames = environmentVariables.getKeys().stream()
-                .filter(this::propertyMatchesEnvironment)
+                .filter(key -> propertyMatchesEnvironment(key, environment))
                 .filter(key -> propertyHasPrefix(key, prefix))
                 .collect(Collectors.toList());
 
@@ -33,25 +34,34 @@ public class EnvironmentSpecificConfiguration {
         return propertiesWithPrefix;
     }
 
-    private boolean propertyMatchesEnvironment(String key) {
-        String environment = environmentVariables.getProperty("environment");
+    private boolean propertyMatchesEnvironment(String key, String environment) {
         return (key.startsWith("environments." + environment + ".") || !isEnvironmentSpecific(key));
     }
 
     private boolean isEnvironmentSpecific(String key) {
-        return Pattern.compile(ENVIRONMENT_PREFIX).matcher(key).find();
+        return ENVIRONMENT_PREFIX.matcher(key).find();
     }
 
-    private static final String ENVIRONMENT_PREFIX = "environments\\.([^.]*)\\.";
+    private static final String ENVIRONMENTS = "environments.";
+
+    private static final Pattern ENVIRONMENT_PREFIX = Pattern.compile("environments\\.([^.]*)\\.");
 
     private String stripEnvironmentPrefixFrom(String key) {
-        return key.replaceFirst(ENVIRONMENT_PREFIX, "");
+        return ENVIRONMENT_PREFIX.matcher(key).replaceFirst("");
     }
 
+    /**
+     * True if the key starts with the prefix, either directly or after an environment name ("environments.dev.prefix...").
+     */
     private boolean propertyHasPrefix(String key, String prefix) {
-        String regexPrefix = prefix.replaceAll("\\.","\\\\.");
-        Pattern propertyWithPrefix = Pattern.compile("environments\\.([^.]*)\\." + regexPrefix + "(.*)");
-        return key.startsWith(prefix) || propertyWithPrefix.matcher(key).matches();
+        if (key.startsWith(prefix)) {
+            return true;
+        }
+        if (!key.startsWith(ENVIRONMENTS)) {
+            return false;
+        }
+        int endOfEnvironmentName = key.indexOf('.', ENVIRONMENTS.length());
+        return (endOfEnvironmentName >= 0) && key.startsWith(prefix, endOfEnvironmentName + 1);
     }
 
     enum EnvironmentStrategy {
@@ -172,8 +182,12 @@ public class EnvironmentSpecificConfiguration {
         return null;
     }
 
+    /**
+     * The environment-specific configuration is worked out once for a set of environment variables,
+     * and worked out again if any of their properties change.
+     */
     public static EnvironmentSpecificConfiguration from(EnvironmentVariables environmentVariables) {
-        return new EnvironmentSpecificConfiguration(environmentVariables);
+        return ResolvedConfiguration.of(environmentVariables).getEnvironmentSpecificConfiguration();
     }
 
     private static EnvironmentStrategy environmentStrategyDefinedIn(EnvironmentVariables environmentVariables) {
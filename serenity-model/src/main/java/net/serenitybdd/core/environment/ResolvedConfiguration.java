@@ -0,0 +1,84 @@
+package net.serenitybdd.core.environment;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The values of the Serenity system properties, as resolved from a set of environment variables.
+ * Each property is resolved the first time it is read, applying the environment-specific configuration and falling
+ * back on the legacy thucydides.* name, and is then read from an array indexed by the property's position in
+ * {@link ThucydidesSystemProperty}. The environment variables that support it discard their resolved
+ * configuration whenever one of their properties is set or cleared.
+ */
+public class ResolvedConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResolvedConfiguration.class);
+
+    private final EnvironmentVariables environmentVariables;
+    private final EnvironmentSpecificConfiguration environmentSpecificConfiguration;
+    private final AtomicReferenceArray<Optional<String>> resolvedValues;
+
+    public ResolvedConfiguration(EnvironmentVariables environmentVariables) {
+        this.environmentVariables = environmentVariables;
+        this.environmentSpecificConfiguration = new EnvironmentSpecificConfiguration(environmentVariables);
+        this.resolvedValues = new AtomicReferenceArray<>(ThucydidesSystemProperty.values().length);
+    }
+
+    public static ResolvedConfiguration of(EnvironmentVariables environmentVariables) {
+        return environmentVariables.getResolvedConfiguration();
+    }
+
+    public EnvironmentSpecificConfiguration getEnvironmentSpecificConfiguration() {
+        return environmentSpecificConfiguration;
+    }
+
+    /**
+     * The value of a property, if it is defined and not empty.
+     */
+    public Optional<String> valueOf(ThucydidesSystemProperty property) {
+        Optional<String> value = resolvedValues.get(property.ordinal());
+        if (value == null) {
+            value = resolve(property);
+            resolvedValues.set(property.ordinal(), value);
+        }
+        return value;
+    }
+
+    public String valueOf(ThucydidesSystemProperty property, String defaultValue) {
+        return valueOf(property).orElse(defaultValue);
+    }
+
+    public int integerValueOf(ThucydidesSystemProperty property, int defaultValue) {
+        Optional<String> value = valueOf(property);
+        return value.isPresent() ? Integer.parseInt(value.get().trim()) : defaultValue;
+    }
+
+    public Boolean booleanValueOf(ThucydidesSystemProperty property, Boolean defaultValue) {
+        Optional<String> value = valueOf(property);
+        return value.isPresent() ? Boolean.valueOf(value.get().trim()) : defaultValue;
+    }
+
+    private Optional<String> resolve(ThucydidesSystemProperty property) {
+        Optional<String> value = environmentSpecificConfiguration.getOptionalProperty(property.preferredName());
+        if (isDefined(value)) {
+            return value;
+        }
+        String legacyName = property.legacyNames().get(0);
+        String legacyValue = environmentVariables.getProperty(legacyName);
+        if (StringUtils.isNotEmpty(legacyValue)) {
+            LOGGER.warn("Legacy property format detected for {}, please use the serenity.* format instead.", property.getPropertyName());
+            return Optional.of(legacyValue);
+        }
+        return Optional.empty();
+    }
+
+    private boolean isDefined(Optional<String> value) {
+        return value.isPresent() && StringUtils.isNotEmpty(value.get());
+    }
+}
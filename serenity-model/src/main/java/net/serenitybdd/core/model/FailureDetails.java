@@ -1,8 +1,7 @@
 package net.serenitybdd.core.model;
 
 import net.thucydides.core.model.TestOutcome;
-import net.thucydides.core.model.TestStep;
-import net.thucydides.core.screenshots.ScreenshotAndHtmlSource;
+import net.thucydides.core.screenshots.CompressedPageSource;
 
 public class FailureDetails {
     private final TestOutcome testOutcome;
@@ -26,13 +25,8 @@ public class FailureDetails {
     }
 
     public String getPageSourceLink() {
-        for(TestStep testStep : testOutcome.getFlattenedTestSteps()) {
-            for(ScreenshotAndHtmlSource screenshot : testStep.getScreenshots()) {
-                if (screenshot.getHtmlSourceName() != null) {
-                    return screenshot.getHtmlSourceName();
-                }
-            }
-        }
-        return "#";
+        return CompressedPageSource.linkedPageSourceIn(testOutcome)
+                .map(CompressedPageSource::linkTo)
+                .orElse("#");
     }
 }
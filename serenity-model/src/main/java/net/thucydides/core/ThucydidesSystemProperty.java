@@ -1,10 +1,8 @@
 package net.thucydides.core;
 
-import net.serenitybdd.core.environment.EnvironmentSpecificConfiguration;
+import net.serenitybdd.core.environment.ResolvedConfiguration;
 import net.thucydides.core.util.EnvironmentVariables;
 import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -320,6 +318,33 @@ public enum ThucydidesSystemProperty {
      */
     SERENITY_RESTART_BROWSER_FOR_EACH,
 
+    /**
+     * Keep browsers open when they are closed at the end of a test, and reuse them for later tests that need
+     * the same type of browser. Browsers are reset before being reused: extra windows are closed, cookies and
+     * web storage are cleared, and the browser returns to about:blank.
+     * Not used when fixture services (such as proxies) are configured. Set to false by default.
+     */
+    SERENITY_BROWSER_POOL,
+
+    /**
+     * The maximum number of idle browsers kept in the browser pool for each type of browser.
+     * Defaults to 4.
+     */
+    SERENITY_BROWSER_POOL_MAX_SIZE,
+
+    /**
+     * How long (in seconds) a browser can stay unused in the browser pool before it is closed.
+     * Defaults to 300.
+     */
+    SERENITY_BROWSER_POOL_IDLE_TIMEOUT,
+
+    /**
+     * How long (in milliseconds) the outcome of the last browser command is trusted to tell whether the browser
+     * is still alive before taking a screenshot or recording the page source. After this time, the browser is
+     * pinged instead. Set to 0 to ping the browser every time. Defaults to 2000.
+     */
+    SERENITY_DRIVER_LIVENESS_TTL,
+
     @Deprecated
     THUCYDIDES_DIFFERENT_BROWSER_FOR_EACH_ACTOR,
 
@@ -667,6 +692,20 @@ public enum ThucydidesSystemProperty {
      */
     WEBDRIVER_USE_DRIVER_SERVICE_POOL,
 
+    /**
+     * The number of driver service processes (e.g. chromedriver) started for each browser type
+     * when the driver service pool is used. Parallel test threads share these processes.
+     * Defaults to 1.
+     */
+    WEBDRIVER_DRIVER_SERVICE_POOL_SIZE,
+
+    /**
+     * How new sessions are assigned to the driver services in the driver service pool:
+     * "least-loaded" (the service with the fewest active sessions) or "thread-affine"
+     * (each test thread always uses the same service). Defaults to least-loaded.
+     */
+    WEBDRIVER_DRIVER_SERVICE_ASSIGNMENT,
+
     /**
      * Full path to the Firefox profile to be used with Firefox.
      * You can include Java system properties ${user.dir}, ${user.home} and the Windows environment variables %APPDIR%
@@ -1135,6 +1174,49 @@ public enum ThucydidesSystemProperty {
      */
     SERENITY_COMPRESS_SCREENSHOTS,
 
+    /**
+     * Page sources recorded for failing tests are stored gzip-compressed, and only once for identical pages.
+     * Set this to false to store them as plain text files instead (they are still only stored once).
+     * Set to true by default.
+     */
+    SERENITY_COMPRESS_PAGE_SOURCES,
+
+    /**
+     * The number of background threads used to process and save screenshots. The threads are shared by all the
+     * test threads in the JVM, and the value is read when the first screenshot is processed.
+     * Defaults to the number of processors, and at least 2.
+     */
+    SERENITY_DARKROOM_WORKERS,
+
+    /**
+     * The maximum number of screenshots waiting to be processed in each test thread.
+     * When the queue is full, screenshots that need no image processing are saved directly by the test thread,
+     * and other screenshots wait until there is room in the queue. Defaults to 64.
+     */
+    SERENITY_DARKROOM_QUEUE_SIZE,
+
+    /**
+     * Send step events to custom step listeners (listeners registered through the ServiceLoader mechanism)
+     * on a background thread, so that slow listeners do not slow down the tests. Events are still delivered
+     * in order, and the core Serenity listeners are always notified in the test thread. The custom listeners receive
+     * a snapshot of the test outcome taken when the event was sent, and cannot use the event bus of the test.
+     * Defaults to false.
+     */
+    SERENITY_ASYNC_LISTENERS,
+
+    /**
+     * The maximum number of step events waiting to be delivered to the asynchronous listeners of each test thread.
+     * When the queue is full, the test thread waits for room. Defaults to 1024.
+     */
+    SERENITY_ASYNC_LISTENER_QUEUE_SIZE,
+
+    /**
+     * Where screenshots are written while they wait to be processed: "target" (a temporary file in the screenshot
+     * directory that is renamed into place once processed), "temp" (the system temporary directory)
+     * or "memory" (an in-memory file system for each test thread). Defaults to "target".
+     */
+    SERENITY_SCREENSHOT_STAGING,
+
     /**
      * If set, Serenity will use full page screenshot strategy.
      */
@@ -1215,9 +1297,43 @@ public enum ThucydidesSystemProperty {
      * Fine-tune the number of threads Serenity uses for report generation.
      */
     REPORT_THREADS,
+
+    /**
+     * The number of threads that write the reports for individual test outcomes. The threads are shared by every
+     * report service in the JVM, and the value is read when the first reports are written.
+     * Defaults to the number of processors.
+     */
     REPORT_MAX_THREADS,
+
+    /**
+     * Write the reports for each test class in the background, while the next test class runs (false by default).
+     * The reports are written from copies of the test outcomes taken when the test class finished.
+     * Reports that have not been written when the tests finish are written before the JVM exits.
+     */
+    SERENITY_BACKGROUND_REPORTING,
+
+    /**
+     * How long to wait, in seconds, for reports being written in the background when the JVM shuts down.
+     * Defaults to 300 seconds.
+     */
+    SERENITY_BACKGROUND_REPORTING_TIMEOUT,
     REPORT_KEEP_ALIVE_TIME,
 
+    /**
+     * Generate the aggregate reports in streaming mode: each test outcome is read once, its test outcome page is
+     * generated straight away, and only a summary of the outcome (id, name, tags, result, duration, report name,
+     * requirement links and failure type) is kept for the aggregate pages. The aggregate pages therefore do not show
+     * step details. Only used for JSON outcomes. Set to false by default.
+     */
+    SERENITY_REPORT_STREAMING,
+
+    /**
+     * Only regenerate the aggregate report pages whose test outcomes have changed since the last report was generated
+     * in the same output directory. A manifest of the test outcomes and report pages is kept in the output directory.
+     * Set to false by default.
+     */
+    SERENITY_INCREMENTAL_REPORTS,
+
     /**
      * Set this to true if you want Serenity to report nested step structures for subsequent steps
      * after a step failure.
@@ -1513,9 +1629,6 @@ public enum ThucydidesSystemProperty {
 
     public static final String DEFAULT_HISTORY_DIRECTORY = "history";
 
-
-    private final Logger logger = LoggerFactory.getLogger(ThucydidesSystemProperty.class);
-
     ThucydidesSystemProperty(final String propertyName) {
         this.propertyName = propertyName;
     }
@@ -1549,14 +1662,6 @@ public enum ThucydidesSystemProperty {
         return from(environmentVariables, null);
     }
 
-    private Optional<String> legacyPropertyValueIfPresentIn(EnvironmentVariables environmentVariables) {
-        String legacyValue = environmentVariables.getProperty(withLegacyPrefix(getPropertyName()));
-        if (StringUtils.isNotEmpty(legacyValue)) {
-            logger.warn("Legacy property format detected for {}, please use the serenity.* format instead.",getPropertyName());
-        }
-        return Optional.ofNullable(legacyValue);
-    }
-
     private String withLegacyPrefix(String propertyName) {
         return propertyName.replaceAll("serenity.", "thucydides.");
     }
@@ -1575,20 +1680,12 @@ public enum ThucydidesSystemProperty {
         return names;
     }
 
+    /**
+     * Property values are read from the configuration resolved for the environment variables,
+     * so each property is only looked up (under its serenity.* and legacy thucydides.* names) once.
+     */
     public String from(EnvironmentVariables environmentVariables, String defaultValue) {
-        Optional<String> newPropertyValue = optionalPropertyValueDefinedIn(environmentVariables);
-//                = Optional.ofNullable(environmentVariables.getProperty(withSerenityPrefix(getPropertyName())));
-
-        if (isDefined(newPropertyValue)) {
-            return newPropertyValue.get();
-        } else {
-            Optional<String> legacyValue = legacyPropertyValueIfPresentIn(environmentVariables);
-            return (isDefined(legacyValue)) ? legacyValue.get() : defaultValue;
-        }
-    }
-
-    private boolean isDefined(Optional<String> newPropertyValue) {
-        return newPropertyValue.isPresent() && StringUtils.isNotEmpty(newPropertyValue.get());
+        return ResolvedConfiguration.of(environmentVariables).valueOf(this, defaultValue);
     }
 
     public int integerFrom(EnvironmentVariables environmentVariables) {
@@ -1596,15 +1693,7 @@ public enum ThucydidesSystemProperty {
     }
 
     public int integerFrom(EnvironmentVariables environmentVariables, int defaultValue) {
-        Optional<String> newPropertyValue = optionalPropertyValueDefinedIn(environmentVariables);
-//                = Optional.ofNullable(environmentVariables.getProperty(withSerenityPrefix(getPropertyName())));
-
-        if (isDefined(newPropertyValue)) {
-            return Integer.parseInt(newPropertyValue.get().trim());
-        } else {
-            Optional<String> legacyValue = legacyPropertyValueIfPresentIn(environmentVariables);
-            return (isDefined(legacyValue)) ? Integer.parseInt(legacyValue.get().trim()) : defaultValue;
-        }
+        return ResolvedConfiguration.of(environmentVariables).integerValueOf(this, defaultValue);
     }
 
     public Boolean booleanFrom(EnvironmentVariables environmentVariables) {
@@ -1614,18 +1703,7 @@ public enum ThucydidesSystemProperty {
     public Boolean booleanFrom(EnvironmentVariables environmentVariables, Boolean defaultValue) {
         if (environmentVariables == null) { return defaultValue; }
 
-        Optional<String> newPropertyValue = optionalPropertyValueDefinedIn(environmentVariables);
-
-        if (isDefined(newPropertyValue)) {
-            return Boolean.valueOf(newPropertyValue.get().trim());
-        } else {
-            Optional<String> legacyValue = legacyPropertyValueIfPresentIn(environmentVariables);
-            return (isDefined(legacyValue)) ? Boolean.valueOf(legacyValue.get().trim()) : defaultValue;
-        }
-    }
-
-    private Optional<String> optionalPropertyValueDefinedIn(EnvironmentVariables environmentVariables) {
-        return EnvironmentSpecificConfiguration.from(environmentVariables).getOptionalProperty(withSerenityPrefix(getPropertyName()));
+        return ResolvedConfiguration.of(environmentVariables).booleanValueOf(this, defaultValue);
     }
 
     public boolean isDefinedIn(EnvironmentVariables environmentVariables) {
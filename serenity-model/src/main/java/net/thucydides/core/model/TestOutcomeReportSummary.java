@@ -0,0 +1,172 @@
+package net.thucydides.core.model;
+
+import net.thucydides.core.model.stacktrace.FailureCause;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The parts of a test outcome that the aggregate reports need, kept once the test outcome page has been written:
+ * the id, name, tags, result, duration, report name, requirement links and the failure type and message.
+ * Data-driven tests also keep the result of each example, so that they are counted in the same way as the full outcome.
+ * Step trees, screenshots, example values, stack traces and evidence are not kept.
+ */
+public class TestOutcomeReportSummary {
+
+    private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[]{};
+
+    private final String id;
+    private final String name;
+    private final String title;
+    private final Class<?> testCase;
+    private final Story userStory;
+    private final Set<TestTag> tags;
+    private final List<String> issues;
+    private final Optional<String> qualifier;
+    private final String context;
+    private final String testSource;
+    private final String driver;
+    private final boolean manual;
+    private final TestResult result;
+    private final ZonedDateTime startTime;
+    private final long duration;
+    private final String reportName;
+    private final String failureType;
+    private final String failureClassname;
+    private final String failureMessage;
+    private final List<String> exampleHeaders;
+    private final List<TestResult> exampleResults;
+    private final List<TestResult> exampleStepResults;
+    private final List<Long> exampleStepDurations;
+
+    private TestOutcomeReportSummary(TestOutcome outcome) {
+        this.id = outcome.getId();
+        this.name = outcome.getName();
+        this.title = outcome.getTitle();
+        this.testCase = outcome.getTestCase();
+        this.userStory = outcome.getUserStory();
+        this.tags = new HashSet<>(outcome.getTags());
+        this.issues = new ArrayList<>(outcome.getIssues());
+        this.qualifier = outcome.getQualifier();
+        this.context = outcome.getContext();
+        this.testSource = outcome.getTestSource();
+        this.driver = outcome.getDriver();
+        this.manual = outcome.isManual();
+        this.result = outcome.getResult();
+        this.startTime = outcome.getStartTime();
+        this.duration = outcome.getDuration();
+        this.reportName = outcome.getReportName(ReportType.HTML);
+        this.failureType = (outcome.getTestFailureCause() == null) ? null : outcome.getTestFailureCause().getErrorType();
+        this.failureClassname = outcome.getTestFailureClassname();
+        this.failureMessage = outcome.getTestFailureMessage();
+        if (outcome.isDataDriven()) {
+            this.exampleHeaders = outcome.getDataTable().getHeaders();
+            this.exampleResults = outcome.getDataTable().getRows().stream().map(DataTableRow::getResult).collect(Collectors.toList());
+            this.exampleStepResults = outcome.getTestSteps().stream().map(TestStep::getResult).collect(Collectors.toList());
+            this.exampleStepDurations = outcome.getTestSteps().stream().map(TestStep::getDuration).collect(Collectors.toList());
+        } else {
+            this.exampleHeaders = null;
+            this.exampleResults = null;
+            this.exampleStepResults = null;
+            this.exampleStepDurations = null;
+        }
+    }
+
+    public static TestOutcomeReportSummary of(TestOutcome outcome) {
+        return new TestOutcomeReportSummary(outcome);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<TestTag> getTags() {
+        return Collections.unmodifiableSet(tags);
+    }
+
+    public List<String> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    public TestResult getResult() {
+        return result;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public String getReportName() {
+        return reportName;
+    }
+
+    /**
+     * A new test outcome built from this summary, for the aggregate reports. It has no step tree: data-driven tests
+     * get one step and one example row for each example, holding only its result (and, for the step, its duration).
+     */
+    public TestOutcome asTestOutcome() {
+        FailureCause failureCause = (failureType == null) ? null : new FailureCause(failureType, failureMessage, NO_STACK_TRACE);
+        TestOutcome outcome = new TestOutcome(startTime,
+                duration,
+                title,
+                null,
+                name,
+                id,
+                testCase,
+                exampleSteps(),
+                issues,
+                null,
+                null,
+                tags,
+                userStory,
+                failureCause,
+                failureClassname,
+                failureMessage,
+                null,
+                null,
+                exampleTable(),
+                qualifier,
+                driver,
+                manual,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                context);
+        outcome.setTestSource(testSource);
+        outcome.result = result;
+        return outcome;
+    }
+
+    private List<TestStep> exampleSteps() {
+        if (exampleStepResults == null) {
+            return new ArrayList<>();
+        }
+        List<TestStep> steps = new ArrayList<>();
+        for (int i = 0; i < exampleStepResults.size(); i++) {
+            TestStep step = new TestStep("Example " + (i + 1));
+            step.setResult(exampleStepResults.get(i));
+            step.setDuration(exampleStepDurations.get(i));
+            steps.add(step);
+        }
+        return steps;
+    }
+
+    private DataTable exampleTable() {
+        if (exampleResults == null) {
+            return null;
+        }
+        DataTable table = DataTable.withHeaders(exampleHeaders).build();
+        exampleResults.forEach(
+                exampleResult -> table.appendRow(new DataTableRow(Collections.emptyList(), 0, exampleResult))
+        );
+        return table;
+    }
+}
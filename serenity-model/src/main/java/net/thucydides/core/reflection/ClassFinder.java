@@ -4,20 +4,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 /**
  * Load classes from a given package.
+ * Each package is only scanned once for each class loader: the classes found, and the classes matching a given
+ * annotation or interface, are kept in a JVM-wide index that is built as packages are requested.
+ * The index of a class loader is only softly referenced, as the classes it holds keep their class loader alive,
+ * and packages that could not be scanned are scanned again the next time they are requested.
  */
 public class ClassFinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClassFinder.class);
 
+    private static final Map<ClassLoader, SoftReference<ClasspathIndex>> CLASSPATH_INDEXES = new WeakHashMap<>();
+
     private final ClassLoader classLoader;
     private final Class annotation;
     private Class<?> parentInterface;
@@ -47,7 +55,63 @@ public class ClassFinder {
      * @return The classes
      */
     public List<Class<?>> fromPackage(String packageName) {
-        return filtered(getClasses(packageName));
+        ClasspathIndex classpathIndex = classpathIndexFor(getDefaultClassLoader());
+        if (condition != null) {
+            return filtered(classpathIndex.classesIn(packageName).orElse(Collections.emptyList()));
+        }
+        String key = packageName + "|" + ((annotation != null) ? "@" + annotation.getName() : "")
+                                        + ((parentInterface != null) ? parentInterface.getName() : "");
+        List<Class<?>> matchingClasses = classpathIndex.matchingClasses.get(key);
+        if (matchingClasses == null) {
+            Optional<List<Class<?>>> classesInPackage = classpathIndex.classesIn(packageName);
+            if (!classesInPackage.isPresent()) {
+                return new ArrayList<>();
+            }
+            matchingClasses = Collections.unmodifiableList(filtered(classesInPackage.get()));
+            classpathIndex.matchingClasses.putIfAbsent(key, matchingClasses);
+        }
+        return new ArrayList<>(matchingClasses);
+    }
+
+    /**
+     * Forget the classes found so far, so that the packages are scanned again the next time they are requested.
+     * This is only needed if classes are added to the classpath while the tests are running.
+     */
+    public static void clearClasspathIndex() {
+        synchronized (CLASSPATH_INDEXES) {
+            CLASSPATH_INDEXES.clear();
+        }
+    }
+
+    private static ClasspathIndex classpathIndexFor(ClassLoader classLoader) {
+        synchronized (CLASSPATH_INDEXES) {
+            SoftReference<ClasspathIndex> indexReference = CLASSPATH_INDEXES.get(classLoader);
+            ClasspathIndex classpathIndex = (indexReference != null) ? indexReference.get() : null;
+            if (classpathIndex == null) {
+                classpathIndex = new ClasspathIndex();
+                CLASSPATH_INDEXES.put(classLoader, new SoftReference<>(classpathIndex));
+            }
+            return classpathIndex;
+        }
+    }
+
+    /**
+     * The packages are scanned outside of the map updates, as loading a class can run static initializers
+     * that look up other classes.
+     */
+    private static class ClasspathIndex {
+        private final Map<String, List<Class<?>>> classesByPackage = new ConcurrentHashMap<>();
+        private final Map<String, List<Class<?>>> matchingClasses = new ConcurrentHashMap<>();
+
+        Optional<List<Class<?>>> classesIn(String packageName) {
+            List<Class<?>> classes = classesByPackage.get(packageName);
+            if (classes == null) {
+                Optional<List<Class<?>>> scannedClasses = scanPackage(packageName);
+                scannedClasses.ifPresent(scanned -> classesByPackage.putIfAbsent(packageName, scanned));
+                return scannedClasses;
+            }
+            return Optional.of(classes);
+        }
     }
 
     private List<Class<?>> filtered(Collection<Class<?>> classes) {
@@ -89,6 +153,13 @@ public class ClassFinder {
      * @return The classes
      */
     public static List<Class<?>> getClasses(String packageName) {
+        return new ArrayList<>(classpathIndexFor(getDefaultClassLoader()).classesIn(packageName).orElse(Collections.emptyList()));
+    }
+
+    /**
+     * The classes in a package and its subpackages, or nothing if the package could not be scanned.
+     */
+    private static Optional<List<Class<?>>> scanPackage(String packageName) {
         try {
             ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
             assert classLoader != null;
@@ -114,9 +185,10 @@ public class ClassFinder {
                     //throw new RuntimeException("Could not load class", e);
                 }
             }
-            return classList;
+            return Optional.of(Collections.unmodifiableList(classList));
         } catch (Exception e) {
-            return Collections.EMPTY_LIST;
+            LOGGER.debug("Could not scan package {}", packageName, e);
+            return Optional.empty();
         }
     }
 
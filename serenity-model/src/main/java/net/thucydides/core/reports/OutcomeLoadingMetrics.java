@@ -0,0 +1,69 @@
+package net.thucydides.core.reports;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput figures for the test outcomes read by a TestOutcomeLoader.
+ * Parse times are the total time spent reading and deserializing each file, summed across all of the loading threads;
+ * elapsed times are wall-clock times for each call to the loader.
+ */
+public class OutcomeLoadingMetrics {
+
+    private static final double NANOSECONDS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private final LongAdder filesLoaded = new LongAdder();
+    private final LongAdder bytesLoaded = new LongAdder();
+    private final LongAdder parseTime = new LongAdder();
+    private final LongAdder elapsedTime = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    void recordFileLoaded(long sizeInBytes, long parseTimeInNanos) {
+        filesLoaded.increment();
+        bytesLoaded.add(sizeInBytes);
+        parseTime.add(parseTimeInNanos);
+    }
+
+    void recordBatches(int batchCount) {
+        batches.add(batchCount);
+    }
+
+    void recordElapsedTime(long elapsedTimeInNanos) {
+        elapsedTime.add(elapsedTimeInNanos);
+    }
+
+    public long getFilesLoaded() {
+        return filesLoaded.sum();
+    }
+
+    public long getBytesLoaded() {
+        return bytesLoaded.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public double getFilesPerSecond() {
+        long elapsed = elapsedTime.sum();
+        return (elapsed == 0) ? 0.0 : getFilesLoaded() * NANOSECONDS_PER_SECOND / elapsed;
+    }
+
+    public double getMegabytesPerSecond() {
+        long elapsed = elapsedTime.sum();
+        return (elapsed == 0) ? 0.0 : (getBytesLoaded() / BYTES_PER_MEGABYTE) * NANOSECONDS_PER_SECOND / elapsed;
+    }
+
+    public double getAverageParseTimePerFileInMilliseconds() {
+        long files = getFilesLoaded();
+        return (files == 0) ? 0.0 : parseTime.sum() / NANOSECONDS_PER_MILLISECOND / files;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d files (%.1f MB) in %d batches: %.1f files/s, %.2f MB/s, %.2f ms parse time per file",
+                getFilesLoaded(), getBytesLoaded() / BYTES_PER_MEGABYTE, getBatchCount(),
+                getFilesPerSecond(), getMegabytesPerSecond(), getAverageParseTimePerFileInMilliseconds());
+    }
+}
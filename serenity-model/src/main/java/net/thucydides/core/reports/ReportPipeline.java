@@ -0,0 +1,174 @@
+package net.thucydides.core.reports;
+
+import net.serenitybdd.core.environment.ConfiguredEnvironment;
+import net.thucydides.core.ThucydidesSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The threads that the report service uses to write the reports for each test class.
+ * The individual test outcome reports are written by a pool of threads shared by every report service in the JVM,
+ * rather than a new pool for each reporter. When background reporting is enabled, the reports for a test class are
+ * written while the next test class runs: each batch of reports waits in a bounded queue, and if the queue is full,
+ * the test thread writes the reports itself. Any reports still waiting when the JVM shuts down are written before
+ * it exits.
+ */
+public class ReportPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportPipeline.class);
+
+    private static final int MAXIMUM_QUEUED_BATCHES = 64;
+
+    private static final LongAdder WRITTEN_BATCHES = new LongAdder();
+    private static final LongAdder FAILED_BATCHES = new LongAdder();
+    private static final LongAdder TOTAL_LATENCY = new LongAdder();
+    private static final AtomicLong MAX_LATENCY = new AtomicLong();
+
+    /**
+     * Each batch registers with this phaser when it is submitted and deregisters once it has been written, so the
+     * phase advances whenever the last pending batch is finished.
+     */
+    private static final Phaser PENDING_BATCHES = new Phaser() {
+        @Override
+        protected boolean onAdvance(int phase, int registeredParties) {
+            return false;
+        }
+    };
+
+    private static volatile ThreadPoolExecutor backgroundBatches;
+    private static Duration shutdownTimeout;
+
+    private ReportPipeline() {
+    }
+
+    private static final class SharedReportWriters {
+        private static final int SIZE = Math.max(1, ThucydidesSystemProperty.REPORT_MAX_THREADS.integerFrom(
+                ConfiguredEnvironment.getEnvironmentVariables(), Runtime.getRuntime().availableProcessors()));
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(SIZE, daemonThreadsCalled("serenity-report-writer"));
+    }
+
+    /**
+     * The pool of threads that write individual test outcome reports. The pool is created the first time it is needed,
+     * with the number of threads configured in report.max.threads (by default, one per processor).
+     */
+    static ExecutorService reportWriters() {
+        return SharedReportWriters.INSTANCE;
+    }
+
+    /**
+     * Write a batch of reports in the background.
+     * The time to wait for pending reports when the JVM shuts down is taken from the first batch submitted.
+     */
+    static void submit(Runnable batch, Duration timeoutOnShutdown) {
+        long submittedAt = System.nanoTime();
+        PENDING_BATCHES.register();
+        backgroundBatches(timeoutOnShutdown).execute(() -> write(batch, submittedAt));
+    }
+
+    private static void write(Runnable batch, long submittedAt) {
+        try {
+            batch.run();
+            recordLatency(System.nanoTime() - submittedAt);
+        } catch (RuntimeException e) {
+            FAILED_BATCHES.increment();
+            LOGGER.error("Failed to write test reports: {}", e.getMessage(), e);
+        } finally {
+            PENDING_BATCHES.arriveAndDeregister();
+        }
+    }
+
+    private static ThreadPoolExecutor backgroundBatches(Duration timeoutOnShutdown) {
+        if (backgroundBatches == null) {
+            synchronized (ReportPipeline.class) {
+                if (backgroundBatches == null) {
+                    shutdownTimeout = timeoutOnShutdown;
+                    backgroundBatches = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(MAXIMUM_QUEUED_BATCHES),
+                            daemonThreadsCalled("serenity-report-pipeline"),
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+                    Runtime.getRuntime().addShutdownHook(new Thread(ReportPipeline::flushOnShutdown, "serenity-report-flush"));
+                }
+            }
+        }
+        return backgroundBatches;
+    }
+
+    private static void flushOnShutdown() {
+        if (getQueueDepth() > 0) {
+            LOGGER.info("Writing the reports for {} remaining test classes", getQueueDepth());
+        }
+        if (!awaitPendingReports(shutdownTimeout)) {
+            LOGGER.warn("Reports for {} test classes were not written within {} seconds",
+                    getQueueDepth(), shutdownTimeout.getSeconds());
+        }
+    }
+
+    /**
+     * Wait for the reports being written in the background to be finished.
+     *
+     * @return true if all of the reports were written in time
+     */
+    public static boolean awaitPendingReports(Duration timeout) {
+        int phase = PENDING_BATCHES.getPhase();
+        if (PENDING_BATCHES.getRegisteredParties() == 0) {
+            return true;
+        }
+        try {
+            PENDING_BATCHES.awaitAdvanceInterruptibly(phase, timeout.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The number of batches of reports waiting to be written, or being written.
+     */
+    public static int getQueueDepth() {
+        return PENDING_BATCHES.getRegisteredParties();
+    }
+
+    public static long getWrittenBatchCount() {
+        return WRITTEN_BATCHES.sum();
+    }
+
+    public static long getFailedBatchCount() {
+        return FAILED_BATCHES.sum();
+    }
+
+    /**
+     * The average time between a batch of reports being submitted and it being written.
+     */
+    public static double getAverageWriteLatencyInMilliseconds() {
+        long written = WRITTEN_BATCHES.sum();
+        return (written == 0) ? 0.0 : TimeUnit.NANOSECONDS.toMicros(TOTAL_LATENCY.sum()) / 1000.0 / written;
+    }
+
+    public static long getMaxWriteLatencyInMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(MAX_LATENCY.get());
+    }
+
+    private static void recordLatency(long latencyInNanos) {
+        WRITTEN_BATCHES.increment();
+        TOTAL_LATENCY.add(latencyInNanos);
+        MAX_LATENCY.accumulateAndGet(latencyInNanos, Math::max);
+    }
+
+    private static ThreadFactory daemonThreadsCalled(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
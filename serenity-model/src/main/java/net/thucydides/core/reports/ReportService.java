@@ -8,6 +8,7 @@ import net.serenitybdd.core.environment.ConfiguredEnvironment;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.json.TestOutcomeSnapshot;
 import net.thucydides.core.reports.junit.JUnitXMLOutcomeReporter;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.webdriver.Configuration;
@@ -21,6 +22,7 @@ import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -30,7 +32,8 @@ import java.util.concurrent.*;
 @SuppressWarnings("restriction")
 public class ReportService {
 
-    private final int maximumPoolSize;
+    private final boolean backgroundReporting;
+    private final Duration backgroundReportingTimeout;
     /**
      * Where will the reports go?
      */
@@ -85,7 +88,9 @@ public class ReportService {
         getSubscribedReporters().addAll(subscribedReporters);
         getSubscribedFullReporters().addAll(subscribedFullReporters);
         jUnitXMLOutcomeReporter = new JUnitXMLOutcomeReporter(outputDirectory);
-        this.maximumPoolSize = ThucydidesSystemProperty.REPORT_MAX_THREADS.integerFrom(environmentVariables, Runtime.getRuntime().availableProcessors());
+        this.backgroundReporting = ThucydidesSystemProperty.SERENITY_BACKGROUND_REPORTING.booleanFrom(environmentVariables, false);
+        this.backgroundReportingTimeout = Duration.ofSeconds(
+                ThucydidesSystemProperty.SERENITY_BACKGROUND_REPORTING_TIMEOUT.integerFrom(environmentVariables, 300));
     }
 
     public void setOutputDirectory(File outputDirectory) {
@@ -126,10 +131,39 @@ public class ReportService {
      * @param testOutcomeResults A list of test outcomes to use in report generation.
      *                           These may be stored in memory (e.g. by a Listener instance) or read from the XML
      *                           test results.
+     *                           If background reporting is enabled, the reports are written after this method returns,
+     *                           from deep copies of the test outcomes taken when it was called.
      */
 
     public void generateReportsFor(final List<TestOutcome> testOutcomeResults) {
-        final TestOutcomes allTestOutcomes = TestOutcomes.of(testOutcomeResults);
+        if (backgroundReporting) {
+            Optional<List<TestOutcome>> snapshot = snapshotOf(testOutcomeResults);
+            if (snapshot.isPresent()) {
+                final TestOutcomes snapshotOfTestOutcomes = TestOutcomes.of(snapshot.get());
+                ReportPipeline.submit(() -> writeReportsFor(snapshotOfTestOutcomes), backgroundReportingTimeout);
+                return;
+            }
+        }
+        writeReportsFor(TestOutcomes.of(testOutcomeResults));
+    }
+
+    /**
+     * Copies of the test outcomes that the test thread cannot change while the reports are written,
+     * or nothing if one of them could not be copied, in which case the reports are written straight away.
+     */
+    private Optional<List<TestOutcome>> snapshotOf(List<TestOutcome> testOutcomes) {
+        List<TestOutcome> snapshot = new ArrayList<>(testOutcomes.size());
+        for (TestOutcome testOutcome : testOutcomes) {
+            Optional<TestOutcome> copy = TestOutcomeSnapshot.of(testOutcome);
+            if (!copy.isPresent()) {
+                return Optional.empty();
+            }
+            snapshot.add(copy.get());
+        }
+        return Optional.of(snapshot);
+    }
+
+    private void writeReportsFor(final TestOutcomes allTestOutcomes) {
         for (final AcceptanceTestReporter reporter : getSubscribedReporters()) {
             generateReportsFor(reporter, allTestOutcomes);
         }
@@ -174,22 +208,17 @@ public class ReportService {
 
         List<? extends TestOutcome> outcomes = testOutcomes.getOutcomes();
 
-        ExecutorService executorService = Executors.newFixedThreadPool(maximumPoolSize);
+        ExecutorService executorService = ReportPipeline.reportWriters();
 
-        try {
-            final ArrayList<Future> tasks = new ArrayList<>(outcomes.size());
-            for (final TestOutcome outcome : outcomes) {
-                tasks.add(executorService.submit(() -> {
-                    LOGGER.debug("Processing test outcome " + outcome.getCompleteName());
-                    generateReportFor(outcome, reporter);
-                    LOGGER.debug("Processing test outcome " + outcome.getCompleteName() + " done");
-                }));
-            }
-            waitForReportGenerationToFinish(tasks);
-        } finally {
-            LOGGER.debug("Shutting down executor service");
-            executorService.shutdown();
+        final ArrayList<Future> tasks = new ArrayList<>(outcomes.size());
+        for (final TestOutcome outcome : outcomes) {
+            tasks.add(executorService.submit(() -> {
+                LOGGER.debug("Processing test outcome " + outcome.getCompleteName());
+                generateReportFor(outcome, reporter);
+                LOGGER.debug("Processing test outcome " + outcome.getCompleteName() + " done");
+            }));
         }
+        waitForReportGenerationToFinish(tasks);
 
         LOGGER.debug("Reports generated in: " + (System.currentTimeMillis() - t0) + " ms");
 
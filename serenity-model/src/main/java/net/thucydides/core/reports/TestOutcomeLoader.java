@@ -8,25 +8,55 @@ import net.thucydides.core.reports.json.JSONTestOutcomeReporter;
 import net.thucydides.core.reports.junit.JUnitXMLOutcomeReporter;
 import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
 import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.stream.Collectors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Loads test outcomes from a given directory, and reports on their contents.
  * This class is used for aggregate reporting.
+ * Outcome files are loaded in batches on a thread pool that is shared by all loaders, and that is sized using the
+ * report.threads and serenity.io.blocking.coefficient properties. Each batch is sorted as it is loaded, and the
+ * sorted batches are then merged, so the full set of outcomes is never sorted from scratch.
  */
 public class TestOutcomeLoader {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestOutcomeLoader.class);
+
+    /**
+     * Files at least this big are loaded in a batch of their own.
+     */
+    private static final long LARGE_FILE_SIZE = 1024 * 1024;
+
+    /**
+     * Smaller files are grouped into batches of roughly this many bytes, so that each task does a useful amount of work.
+     */
+    private static final long BATCH_SIZE_IN_BYTES = 512 * 1024;
+
+    private static final int MAX_FILES_PER_BATCH = 64;
+
+    private static final Comparator<TestOutcome> IN_ORDER_OF_TEST_EXECUTION
+            = Comparator.comparing(TestOutcome::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final Comparator<TestOutcome> IN_ANNOTATED_ORDER
+            = Comparator.comparing(TestOutcome::getOrder, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private final EnvironmentVariables environmentVariables;
     private final FormatConfiguration formatConfiguration;
+    private final OutcomeLoadingMetrics metrics = new OutcomeLoadingMetrics();
 
     public TestOutcomeLoader() {
         this(Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
@@ -54,56 +84,224 @@ public class TestOutcomeLoader {
      * @throws ReportLoadingFailedError Thrown if the specified directory was invalid or loading finished with error.
      */
     public List<TestOutcome> loadFrom(final File reportDirectory) throws ReportLoadingFailedError {
+        try {
+            List<TestOutcome> testOutcomes = loadInOrder(reportDirectory, IN_ORDER_OF_TEST_EXECUTION);
+            if (hasAnnotatedOrder(testOutcomes)) {
+                testOutcomes.sort(IN_ANNOTATED_ORDER);
+            }
+            return testOutcomes;
+        } catch (Exception e) {
+            throw new ReportLoadingFailedError("Can not load reports for some reason", e);
+        }
+    }
 
+    /**
+     * Load the test outcomes from a given directory directly into the standard TestOutcomes order,
+     * so that they do not need to be sorted again.
+     */
+    public TestOutcomes loadTestOutcomesFrom(final File reportDirectory) throws ReportLoadingFailedError {
+        try {
+            return TestOutcomes.ofSorted(loadInOrder(reportDirectory, TestOutcomes.STANDARD_ORDER));
+        } catch (Exception e) {
+            throw new ReportLoadingFailedError("Can not load reports for some reason", e);
+        }
+    }
+
+    /**
+     * Load the test outcomes from a given directory a few files at a time, handing each group of outcomes to the consumer
+     * before the next group is loaded, so that only one group of full test outcomes needs to be held in memory at once.
+     * The outcomes in each group are in the standard TestOutcomes order, but the groups are not sorted relative to each other.
+     */
+    public void loadInGroupsFrom(final File reportDirectory,
+                                 final int filesPerGroup,
+                                 final Consumer<List<TestOutcome>> outcomeConsumer) throws ReportLoadingFailedError {
         try {
-            final List<Callable<Set<TestOutcome>>> partitions = new ArrayList<>();
             final AcceptanceTestLoader testOutcomeReporter = getOutcomeReporter();
 
-            for(File sourceFile : getAllOutcomeFilesFrom(reportDirectory)) {
-                partitions.add(new TestOutcomeLoaderCallable(testOutcomeReporter,sourceFile));
+            List<File> outcomeFiles = getAllOutcomeFilesFrom(reportDirectory);
+            for (int from = 0; from < outcomeFiles.size(); from += filesPerGroup) {
+                long startTime = System.nanoTime();
+                List<File> filesInGroup = outcomeFiles.subList(from, Math.min(from + filesPerGroup, outcomeFiles.size()));
+                List<List<File>> batches = batchesOf(filesInGroup);
+                final List<Callable<List<TestOutcome>>> partitions = new ArrayList<>();
+                for (List<File> batch : batches) {
+                    partitions.add(new TestOutcomeLoaderCallable(testOutcomeReporter, batch, TestOutcomes.STANDARD_ORDER));
+                }
+                List<List<TestOutcome>> sortedPartitions = new ArrayList<>();
+                for (Future<List<TestOutcome>> loadedTestOutcome : SharedLoadingPool.EXECUTOR.invokeAll(partitions)) {
+                    sortedPartitions.add(loadedTestOutcome.get());
+                }
+                List<TestOutcome> loadedOutcomes = merged(sortedPartitions, TestOutcomes.STANDARD_ORDER);
+                metrics.recordBatches(batches.size());
+                metrics.recordElapsedTime(System.nanoTime() - startTime);
+
+                outcomeConsumer.accept(loadedOutcomes);
             }
+        } catch (Exception e) {
+            throw new ReportLoadingFailedError("Can not load reports for some reason", e);
+        }
+    }
+
+    /**
+     * Throughput figures for all of the outcomes loaded by this loader so far.
+     */
+    public OutcomeLoadingMetrics getMetrics() {
+        return metrics;
+    }
+
+    private List<TestOutcome> loadInOrder(File reportDirectory, Comparator<TestOutcome> order) throws IOException, InterruptedException, ExecutionException {
+        long startTime = System.nanoTime();
+        final AcceptanceTestLoader testOutcomeReporter = getOutcomeReporter();
+
+        List<List<File>> batches = batchesOf(getAllOutcomeFilesFrom(reportDirectory));
+        final List<Callable<List<TestOutcome>>> partitions = new ArrayList<>();
+        for (List<File> batch : batches) {
+            partitions.add(new TestOutcomeLoaderCallable(testOutcomeReporter, batch, order));
+        }
+
+        final List<Future<List<TestOutcome>>> loadedTestOutcomes = SharedLoadingPool.EXECUTOR.invokeAll(partitions);
+        List<List<TestOutcome>> sortedPartitions = new ArrayList<>();
+        for (Future<List<TestOutcome>> loadedTestOutcome : loadedTestOutcomes) {
+            sortedPartitions.add(loadedTestOutcome.get());
+        }
+        List<TestOutcome> testOutcomes = merged(sortedPartitions, order);
 
-            final ExecutorService executorPool = Executors.newFixedThreadPool(20);//NumberOfThreads.forIOOperations());
-            final List<Future<Set<TestOutcome>>> loadedTestOutcomes = executorPool.invokeAll(partitions);
+        metrics.recordBatches(batches.size());
+        metrics.recordElapsedTime(System.nanoTime() - startTime);
+        LOGGER.debug("Loaded test outcomes from {}: {}", reportDirectory, metrics);
+
+        return testOutcomes;
+    }
 
-            List<TestOutcome> testOutcomes = new ArrayList<>();
-            for(Future<Set<TestOutcome>> loadedTestOutcome : loadedTestOutcomes) {
-                testOutcomes.addAll(loadedTestOutcome.get());
+    /**
+     * Group the outcome files into batches, keeping large files on their own, and spreading the files
+     * across all of the loading threads when there are only a few of them.
+     */
+    private List<List<File>> batchesOf(List<File> outcomeFiles) {
+        int filesPerThread = (outcomeFiles.size() + SharedLoadingPool.THREADS - 1) / SharedLoadingPool.THREADS;
+        int maxFilesPerBatch = Math.max(1, Math.min(MAX_FILES_PER_BATCH, filesPerThread));
+
+        List<List<File>> batches = new ArrayList<>();
+        List<File> currentBatch = new ArrayList<>();
+        long currentBatchSize = 0;
+        for (File outcomeFile : outcomeFiles) {
+            long fileSize = outcomeFile.length();
+            if (fileSize >= LARGE_FILE_SIZE) {
+                batches.add(Collections.singletonList(outcomeFile));
+                continue;
             }
-            executorPool.shutdown();
-            if (hasAnnotatedOrder(testOutcomes)) {
-                return inAnnotatedOrder(testOutcomes);
-            } else {
-                return inOrderOfTestExecution(testOutcomes);
+            currentBatch.add(outcomeFile);
+            currentBatchSize += fileSize;
+            if (currentBatch.size() >= maxFilesPerBatch || currentBatchSize >= BATCH_SIZE_IN_BYTES) {
+                batches.add(currentBatch);
+                currentBatch = new ArrayList<>();
+                currentBatchSize = 0;
             }
-        } catch (Exception e) {
-            throw new ReportLoadingFailedError("Can not load reports for some reason", e);
         }
+        if (!currentBatch.isEmpty()) {
+            batches.add(currentBatch);
+        }
+        return batches;
+    }
 
+    /**
+     * Merge partitions that are each already sorted. Outcomes that compare equal keep the order of their partitions,
+     * so the result is the same as a stable sort of all of the partitions one after the other.
+     */
+    private static List<TestOutcome> merged(List<List<TestOutcome>> sortedPartitions, Comparator<TestOutcome> order) {
+        int totalSize = sortedPartitions.stream().mapToInt(List::size).sum();
+        List<TestOutcome> mergedOutcomes = new ArrayList<>(totalSize);
+
+        PriorityQueue<PartitionCursor> cursors = new PriorityQueue<>(
+                Math.max(1, sortedPartitions.size()),
+                Comparator.<PartitionCursor, TestOutcome>comparing(PartitionCursor::current, order)
+                          .thenComparingInt(cursor -> cursor.partitionNumber));
+        for (int partitionNumber = 0; partitionNumber < sortedPartitions.size(); partitionNumber++) {
+            if (!sortedPartitions.get(partitionNumber).isEmpty()) {
+                cursors.add(new PartitionCursor(sortedPartitions.get(partitionNumber), partitionNumber));
+            }
+        }
+        while (!cursors.isEmpty()) {
+            PartitionCursor cursor = cursors.poll();
+            mergedOutcomes.add(cursor.current());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return mergedOutcomes;
+    }
+
+    private static class PartitionCursor {
+        private final List<TestOutcome> partition;
+        private final int partitionNumber;
+        private int position;
+
+        PartitionCursor(List<TestOutcome> partition, int partitionNumber) {
+            this.partition = partition;
+            this.partitionNumber = partitionNumber;
+        }
+
+        TestOutcome current() {
+            return partition.get(position);
+        }
+
+        boolean advance() {
+            return ++position < partition.size();
+        }
+    }
+
+    /**
+     * The threads used to load test outcomes, shared by every loader and created the first time outcomes are loaded.
+     * The threads are daemon threads that shut down after a period of inactivity, so the pool never needs to be closed.
+     */
+    private static final class SharedLoadingPool {
+        private static final int THREADS = Math.max(1, NumberOfThreads.forIOOperations());
+
+        private static final ExecutorService EXECUTOR = loadingPool();
+
+        private static ExecutorService loadingPool() {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS,
+                    30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "Serenity outcome loader " + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
     }
 
     private final static List<? extends OutcomeAugmenter> AUGMENTERS = NewList.of(
             new FlagsAugmenter()
     );
 
-    class TestOutcomeLoaderCallable implements Callable<Set<TestOutcome>> {
+    class TestOutcomeLoaderCallable implements Callable<List<TestOutcome>> {
 
-        private final File sourceFile;
+        private final List<File> sourceFiles;
         private final AcceptanceTestLoader testOutcomeReporter;
+        private final Comparator<TestOutcome> order;
 
-        TestOutcomeLoaderCallable(AcceptanceTestLoader testOutcomeReporter, File sourceFile) {
+        TestOutcomeLoaderCallable(AcceptanceTestLoader testOutcomeReporter, List<File> sourceFiles, Comparator<TestOutcome> order) {
             this.testOutcomeReporter = testOutcomeReporter;
-            this.sourceFile = sourceFile;
+            this.sourceFiles = sourceFiles;
+            this.order = order;
         }
 
         @Override
-        public Set<TestOutcome> call() throws Exception {
-            java.util.Optional<TestOutcome> loadedTestOutcome = testOutcomeReporter.loadReportFrom(sourceFile);
-
-            return loadedTestOutcome.map(Collections::singleton).orElse(Collections.emptySet())
-                    .stream()
-                    .map(this::augmented)
-                    .collect(Collectors.toSet());
+        public List<TestOutcome> call() throws Exception {
+            List<TestOutcome> loadedTestOutcomes = new ArrayList<>(sourceFiles.size());
+            for (File sourceFile : sourceFiles) {
+                long startTime = System.nanoTime();
+                java.util.Optional<TestOutcome> loadedTestOutcome = testOutcomeReporter.loadReportFrom(sourceFile);
+                metrics.recordFileLoaded(sourceFile.length(), System.nanoTime() - startTime);
+
+                loadedTestOutcome.map(this::augmented).ifPresent(loadedTestOutcomes::add);
+            }
+            loadedTestOutcomes.sort(order);
+            return loadedTestOutcomes;
         }
 
         private TestOutcome augmented(final TestOutcome testOutcome) {
@@ -137,34 +335,20 @@ public class TestOutcomeLoader {
 
         public TestOutcomes from(final File reportsDirectory) throws IOException {
             TestOutcomeLoader loader = new TestOutcomeLoader().forFormat(format);
-            return TestOutcomes.of(loader.loadFrom(reportsDirectory));
+            return loader.loadTestOutcomesFrom(reportsDirectory);
         }
 
     }
 
     public static TestOutcomes testOutcomesIn(final File reportsDirectory) throws IOException {
         TestOutcomeLoader loader = new TestOutcomeLoader();
-        return TestOutcomes.of(loader.loadFrom(reportsDirectory));
-    }
-
-    private static List<TestOutcome> inOrderOfTestExecution(List<TestOutcome> testOutcomes) {
-            return testOutcomes.stream()
-                    .sorted(Comparator.comparing(TestOutcome::getStartTime,
-                            Comparator.nullsFirst(Comparator.naturalOrder())))
-                    .collect(Collectors.toList());
+        return loader.loadTestOutcomesFrom(reportsDirectory);
     }
 
     private static boolean hasAnnotatedOrder(List<TestOutcome> testOutcomes) {
         return testOutcomes.stream().anyMatch(outcome -> outcome.getOrder() > 0);
     }
 
-    private static List<TestOutcome> inAnnotatedOrder(List<TestOutcome> testOutcomes) {
-        return testOutcomes.stream()
-                .sorted(Comparator.comparing(TestOutcome::getOrder,
-                        Comparator.nullsFirst(Comparator.naturalOrder())))
-                .collect(Collectors.toList());
-    }
-
     private AcceptanceTestLoader getOutcomeReporter() {
         switch (formatConfiguration.getPreferredFormat()) {
             case XML:
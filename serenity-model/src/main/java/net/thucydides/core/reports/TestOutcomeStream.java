@@ -22,7 +22,7 @@ public class TestOutcomeStream implements Iterable<TestOutcome>, Closeable {
 
     private TestOutcomeStream(Path sourceDirectory) throws IOException {
         this.directoryStream = Files.newDirectoryStream(sourceDirectory);
-        this.directoryStreamIterator = Files.newDirectoryStream(sourceDirectory).iterator();
+        this.directoryStreamIterator = directoryStream.iterator();
         this.loader = new JSONTestOutcomeReporter();
     }
 
@@ -45,7 +45,12 @@ public class TestOutcomes {
     private final Optional<TestOutcomes> rootOutcomes;
     private final double estimatedAverageStepCount;
     private final EnvironmentVariables environmentVariables;
-    private final RequirementsService requirementsService;
+    private RequirementsService requirementsService;
+
+    /**
+     * Tag, result and error type lookups over these outcomes, built on first use.
+     */
+    private volatile TestOutcomesIndex index;
 
     /**
      * A label indicating where these tests come from (e.g. the tag, the result status, etc).
@@ -69,9 +74,23 @@ public class TestOutcomes {
                            TestResult resultFilter,
                            TestOutcomes rootOutcomes,
                            EnvironmentVariables environmentVariables) {
-        outcomeCount = outcomeCount + outcomes.size();
+        this(sorted(outcomes), estimatedAverageStepCount, label, testTag, resultFilter, rootOutcomes, environmentVariables, true);
+    }
 
-        this.outcomes = Collections.unmodifiableList(sorted(outcomes));
+    /**
+     * Used for outcomes that are already in the standard order, such as the subsets of an already sorted set of outcomes.
+     */
+    private TestOutcomes(List<? extends TestOutcome> sortedOutcomes,
+                         double estimatedAverageStepCount,
+                         String label,
+                         TestTag testTag,
+                         TestResult resultFilter,
+                         TestOutcomes rootOutcomes,
+                         EnvironmentVariables environmentVariables,
+                         boolean alreadySorted) {
+        outcomeCount = outcomeCount + sortedOutcomes.size();
+
+        this.outcomes = Collections.unmodifiableList(sortedOutcomes);
 
         this.estimatedAverageStepCount = estimatedAverageStepCount;
         this.label = label;
@@ -79,15 +98,18 @@ public class TestOutcomes {
         this.resultFilter = resultFilter;
         this.rootOutcomes = Optional.ofNullable(rootOutcomes);
         this.environmentVariables = environmentVariables;
-        this.requirementsService = Injectors.getInjector().getInstance(RequirementsService.class);
     }
 
-    private List<TestOutcome> sorted(Collection<? extends TestOutcome> outcomes) {
+    /**
+     * The standard order of a set of test outcomes: by path, then by annotated order, then by start time.
+     */
+    static final Comparator<TestOutcome> STANDARD_ORDER = Comparator.comparing(TestOutcome::getPath, Comparator.nullsFirst(naturalOrder()))
+            .thenComparing(TestOutcome::getOrder, Comparator.nullsFirst(naturalOrder()))
+            .thenComparing(TestOutcome::getStartTime, Comparator.nullsFirst(naturalOrder()));
+
+    private static List<TestOutcome> sorted(Collection<? extends TestOutcome> outcomes) {
         return outcomes.stream()
-                .sorted(Comparator.comparing(TestOutcome::getPath,
-                        Comparator.nullsFirst(naturalOrder()))
-                .thenComparing(TestOutcome::getOrder, Comparator.nullsFirst(naturalOrder()))
-                .thenComparing(TestOutcome::getStartTime, Comparator.nullsFirst(naturalOrder())))
+                .sorted(STANDARD_ORDER)
                 .collect(Collectors.toList());
     }
 
@@ -117,11 +139,49 @@ public class TestOutcomes {
     }
 
     public TestOutcomes withLabel(String label) {
-        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label);
+        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label, null, null, null, defaultEnvironmentVariables(), true);
     }
 
     public TestOutcomes withResultFilter(TestResult testResult) {
-        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label, testResult);
+        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label, null, testResult, null, defaultEnvironmentVariables(), true);
+    }
+
+    private static EnvironmentVariables defaultEnvironmentVariables() {
+        return Injectors.getInjector().getProvider(EnvironmentVariables.class).get();
+    }
+
+    static TestOutcomes ofSorted(List<? extends TestOutcome> sortedOutcomes) {
+        return new TestOutcomes(sortedOutcomes,
+                                ConfiguredEnvironment.getConfiguration().getEstimatedAverageStepCount(),
+                                "", null, null, null,
+                                defaultEnvironmentVariables(),
+                                true);
+    }
+
+    private RequirementsService requirementsService() {
+        if (requirementsService == null) {
+            requirementsService = Injectors.getInjector().getInstance(RequirementsService.class);
+        }
+        return requirementsService;
+    }
+
+    /**
+     * Derived test outcomes reuse the index of their root outcomes, restricted to their own outcomes.
+     */
+    private TestOutcomesIndex index() {
+        TestOutcomesIndex currentIndex = index;
+        if (currentIndex == null) {
+            currentIndex = indexSharedWithRootOutcomes().orElseGet(() -> TestOutcomesIndex.of(outcomes));
+            index = currentIndex;
+        }
+        return currentIndex;
+    }
+
+    private Optional<TestOutcomesIndex> indexSharedWithRootOutcomes() {
+        if (!rootOutcomes.isPresent() || rootOutcomes.get() == this) {
+            return Optional.empty();
+        }
+        return rootOutcomes.get().index().scopedTo(outcomes);
     }
 
     public TestOutcomes filteredByEnvironmentTags() {
@@ -143,9 +203,9 @@ public class TestOutcomes {
 
     private List<TestOutcome> outcomesFilteredByResult(TestResult... results) {
         if (onlyPassing(results)) {
-            return outcomesExclusivelyWithResults(results);
+            return index().withOutcomeResultIn(results);
         } else {
-            return outcomesWithAtLeastOneResultOf(results);
+            return index().withScenarioResultIn(results);
         }
     }
 
@@ -153,35 +213,9 @@ public class TestOutcomes {
         return stream(results).allMatch( result -> result == TestResult.SUCCESS);
     }
 
-    private List<TestOutcome> outcomesExclusivelyWithResults(TestResult... results) {
-        List<TestResult> eligableResults = NewList.of(results);
-
-        return outcomes.stream()
-                .filter(outcome -> eligableResults.contains(outcome.getResult()))
-                .collect(Collectors.toList());
-    }
-
-    private List<TestOutcome> outcomesWithAtLeastOneResultOf(TestResult... results) {
-        return outcomes.stream()
-                .filter(outcome -> outcomeHasResultFrom(outcome, results))
-                .collect(Collectors.toList());
-    }
-
-    private boolean outcomeHasResultFrom(TestOutcome outcome, TestResult... results) {
-
-        List<TestResult> eligableResults = NewList.of(results);
-
-        if (!outcome.isDataDriven()) {
-            return eligableResults.contains(outcome.getResult());
-        }
-        return outcome.getDataTable().getRows().stream().anyMatch(
-                row -> eligableResults.contains(row.getResult())
-        );
-    }
-
     public TestOutcomes havingResult(TestResult result) {
 
-        return TestOutcomes.of(outcomesFilteredByResult(result))
+        return TestOutcomes.ofSorted(outcomesFilteredByResult(result))
                 .withLabel(labelForTestsWithStatus(result.name()))
                 .withResultFilter(result)
                 .withRootOutcomes(getRootOutcomes());
@@ -250,7 +284,7 @@ public class TestOutcomes {
     }
 
     public List<String> getRequirementTagTypes() {
-       return requirementsService.getRequirementTypes()
+       return requirementsService().getRequirementTypes()
                .stream()
                .filter(tagType -> getTagTypes().contains(tagType))
                .collect(Collectors.toList());
@@ -418,18 +452,6 @@ public class TestOutcomes {
         return TestOutcomes.of(filteredOutcomes);
     }
 
-    private boolean failedWith(TestOutcome outcome, String testFailureErrorType) {
-        if (!outcome.isDataDriven()) {
-            return (outcome.getTestFailureErrorType().equals(testFailureErrorType) && (outcome.getResult().isAtLeast(TestResult.FAILURE)));
-        }
-        return outcome.getTestSteps().stream()
-                .anyMatch(
-                        step -> step.getResult().isAtLeast(TestResult.FAILURE)
-                                && step.getException() != null
-                                && step.getException().getErrorType().equals(testFailureErrorType)
-                );
-    }
-
     public Integer scenarioCountWithResult(TestResult result) {
         return outcomes
                 .stream()
@@ -481,12 +503,7 @@ public class TestOutcomes {
     }
 
     public TestOutcomes withErrorType(String testFailureErrorType) {
-        List<TestOutcome> filteredOutcomes = outcomes
-                .stream()
-                .filter(outcome -> failedWith(outcome, testFailureErrorType))
-                .collect(Collectors.toList());
-
-        return TestOutcomes.of(filteredOutcomes).withLabel("");
+        return TestOutcomes.ofSorted(index().withErrorType(testFailureErrorType)).withLabel("");
     }
 
     public TestOutcomes withResult(TestResult result) {
@@ -502,12 +519,13 @@ public class TestOutcomes {
     public TestOutcomes withRequirementsTags() {
         for (TestOutcome outcome : outcomes) {
             List<TestTag> outcomeTags = new ArrayList<>(outcome.getAllTags());
-            List<Requirement> parentRequirements = requirementsService.getAncestorRequirementsFor(outcome);
+            List<Requirement> parentRequirements = requirementsService().getAncestorRequirementsFor(outcome);
             for(Requirement requirement : parentRequirements) {
                 outcomeTags.add(requirement.asTag());
             }
             outcome.addTags(outcomeTags);
         }
+        index = null;
         return this;
     }
 
@@ -588,11 +606,7 @@ public class TestOutcomes {
      */
     public TestOutcomes withTagType(String tagType) {
 
-        List<TestOutcome> testOutcomesWithTags = outcomes.stream()
-                .filter(outcome -> outcome.hasTagWithType(tagType))
-                .collect(Collectors.toList());
-
-        return TestOutcomes.of(testOutcomesWithTags).withLabel(tagType).withRootOutcomes(getRootOutcomes());
+        return TestOutcomes.ofSorted(index().withTagType(tagType)).withLabel(tagType).withRootOutcomes(getRootOutcomes());
     }
 
     public TestOutcomes withTagTypes(List<String> tagTypes) {
@@ -606,7 +620,7 @@ public class TestOutcomes {
     }
 
     private TestOutcomes withRootOutcomes(TestOutcomes rootOutcomes) {
-        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, this.label, this.testTag, this.resultFilter, rootOutcomes, environmentVariables);
+        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, this.label, this.testTag, this.resultFilter, rootOutcomes, environmentVariables, true);
     }
 
     /**
@@ -617,16 +631,12 @@ public class TestOutcomes {
      */
     public TestOutcomes withTag(String tagName) {
 
-        List<TestOutcome> testOutcomesWithTags = outcomes.stream()
-                .filter(outcome -> outcome.hasTagWithName(tagName))
-                .collect(Collectors.toList());
-
-        return TestOutcomes.of(testOutcomesWithTags).withLabel(tagName).withRootOutcomes(getRootOutcomes());
+        return TestOutcomes.ofSorted(index().withTagName(tagName)).withLabel(tagName).withRootOutcomes(getRootOutcomes());
     }
 
     public TestOutcomes withTag(TestTag tag) {
-        List<? extends TestOutcome> outcomesWithMatchingTag = matchingOutcomes(outcomes, tag);
-        return TestOutcomes.of(outcomesWithMatchingTag)
+        List<? extends TestOutcome> outcomesWithMatchingTag = matchingOutcomes(tag);
+        return TestOutcomes.ofSorted(outcomesWithMatchingTag)
                            .withLabel(tag.getShortName())
                            .withTestTag(tag)
                            .withRootOutcomes(getRootOutcomes());
@@ -634,31 +644,39 @@ public class TestOutcomes {
 
     public TestOutcomes withCardNumber(String issueCardNumber) {
         List<? extends TestOutcome> outcomesWithMatchingTag
-                = matchingOutcomes(outcomes, TestTag.withName(issueCardNumber).andType("issue"));
-        return TestOutcomes.of(outcomesWithMatchingTag)
+                = matchingOutcomes(TestTag.withName(issueCardNumber).andType("issue"));
+        return TestOutcomes.ofSorted(outcomesWithMatchingTag)
                 .withTestTag(TestTag.withName(issueCardNumber).andType("issue"))
                 .withRootOutcomes(getRootOutcomes());
     }
     private TestOutcomes withTestTag(TestTag tag) {
-        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label, tag);
+        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label, tag, null, null, defaultEnvironmentVariables(), true);
     }
 
     public TestOutcomes withTags(Collection<TestTag> tags) {
         Set<TestOutcome> filteredOutcomes = new HashSet<>();
         for (TestTag tag : tags) {
-            filteredOutcomes.addAll(matchingOutcomes(outcomes, tag));
+            filteredOutcomes.addAll(matchingOutcomes(tag));
         }
         return TestOutcomes.of(filteredOutcomes);
     }
 
-    private List<? extends TestOutcome> matchingOutcomes(List<? extends TestOutcome> outcomes, TestTag tag) {
+    private List<? extends TestOutcome> matchingOutcomes(TestTag tag) {
 
-        return outcomes.stream()
-                .filter(outcome -> hasMatchingTag(outcome, tag))
+        return outcomesWithMatchingTag(tag).stream()
                 .map(outcome -> outcome.withDataRowsfilteredbyTag(tag))
                 .collect(Collectors.toList());
     }
 
+    private List<? extends TestOutcome> outcomesWithMatchingTag(TestTag tag) {
+        if (isAnIssue(tag)) {
+            return outcomes.stream()
+                    .filter(outcome -> outcome.hasIssue(tag.getName()))
+                    .collect(Collectors.toList());
+        }
+        return index().withMatchingTag(tag);
+    }
+
     private List<? extends TestOutcome> matchingOutcomesWithTagsFrom(List<? extends TestOutcome> outcomes, Collection<TestTag> tags) {
 
         return outcomes.stream()
@@ -688,7 +706,7 @@ public class TestOutcomes {
     }
 
     public TestOutcomes getUnsuccessfulTests() {
-        return TestOutcomes.of(outcomesFilteredByResult(TestResult.ERROR, TestResult.FAILURE,  TestResult.COMPROMISED))
+        return TestOutcomes.ofSorted(outcomesFilteredByResult(TestResult.ERROR, TestResult.FAILURE,  TestResult.COMPROMISED))
                 .withLabel(labelForTestsWithStatus("unsuccessful tests"))
                 .withResultFilter(TestResult.UNSUCCESSFUL)
                 .withRootOutcomes(getRootOutcomes());
@@ -700,21 +718,21 @@ public class TestOutcomes {
      * @return A new set of test outcomes containing only the failing tests
      */
     public TestOutcomes getFailingTests() {
-        return TestOutcomes.of(outcomesFilteredByResult(TestResult.FAILURE))
+        return TestOutcomes.ofSorted(outcomesFilteredByResult(TestResult.FAILURE))
                 .withLabel(labelForTestsWithStatus("failing tests"))
                 .withResultFilter(TestResult.FAILURE)
                 .withRootOutcomes(getRootOutcomes());
     }
 
     public TestOutcomes getErrorTests() {
-        return TestOutcomes.of(outcomesFilteredByResult(TestResult.ERROR))
+        return TestOutcomes.ofSorted(outcomesFilteredByResult(TestResult.ERROR))
                 .withLabel(labelForTestsWithStatus("tests with errors"))
                 .withResultFilter(TestResult.ERROR)
                 .withRootOutcomes(getRootOutcomes());
     }
 
     public TestOutcomes getCompromisedTests() {
-        return TestOutcomes.of(outcomesFilteredByResult(TestResult.COMPROMISED))
+        return TestOutcomes.ofSorted(outcomesFilteredByResult(TestResult.COMPROMISED))
                 .withLabel(labelForTestsWithStatus("compromised tests"))
                 .withResultFilter(TestResult.COMPROMISED)
                 .withRootOutcomes(getRootOutcomes());
@@ -734,7 +752,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes containing only the successful tests
      */
     public TestOutcomes getPassingTests() {
-        return TestOutcomes.of(outcomesFilteredByResult(TestResult.SUCCESS))
+        return TestOutcomes.ofSorted(outcomesFilteredByResult(TestResult.SUCCESS))
                 .withLabel(labelForTestsWithStatus("passing tests"))
                 .withResultFilter(TestResult.SUCCESS)
                 .withRootOutcomes(getRootOutcomes());
@@ -747,26 +765,14 @@ public class TestOutcomes {
      */
     public TestOutcomes getPendingTests() {
 
-        List<TestOutcome> pendingOutcomes = outcomesWithResults(outcomes, TestResult.PENDING);
-        return TestOutcomes.of(pendingOutcomes)
+        List<TestOutcome> pendingOutcomes = index().withOutcomeResultIn(TestResult.PENDING);
+        return TestOutcomes.ofSorted(pendingOutcomes)
                 .withLabel(labelForTestsWithStatus("pending tests"))
                 .withResultFilter(TestResult.PENDING)
                 .withRootOutcomes(getRootOutcomes());
 
     }
 
-    private List<TestOutcome> outcomesWithResults(List<? extends TestOutcome> outcomes,
-                                                  TestResult... possibleResults) {
-        List<TestOutcome> validOutcomes = new ArrayList<>();
-        List<TestResult> possibleResultsList = Arrays.asList(possibleResults);
-        for (TestOutcome outcome : outcomes) {
-            if (possibleResultsList.contains(outcome.getResult())) {
-                validOutcomes.add(outcome);
-            }
-        }
-        return validOutcomes;
-    }
-
     /**
      * @return The list of TestOutcomes contained in this test outcome set.
      */
@@ -0,0 +1,196 @@
+package net.thucydides.core.reports;
+
+import net.thucydides.core.model.DataTableRow;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestTag;
+
+import java.util.*;
+
+/**
+ * An inverted index over a sorted list of test outcomes, mapping tags, results and error types
+ * to the positions of the matching outcomes.
+ * Filtering a set of test outcomes by tag or result then becomes a bitset lookup rather than a scan
+ * through every outcome and every tag.
+ * An index built for the root test outcomes can be restricted to any subset of those outcomes,
+ * so that derived TestOutcomes instances can share the same index.
+ */
+class TestOutcomesIndex {
+
+    private final List<? extends TestOutcome> outcomes;
+    private final BitSet scope;
+    private final Tables tables;
+
+    private TestOutcomesIndex(List<? extends TestOutcome> outcomes, BitSet scope, Tables tables) {
+        this.outcomes = outcomes;
+        this.scope = scope;
+        this.tables = tables;
+    }
+
+    static TestOutcomesIndex of(List<? extends TestOutcome> sortedOutcomes) {
+        BitSet scope = new BitSet(sortedOutcomes.size());
+        scope.set(0, sortedOutcomes.size());
+        return new TestOutcomesIndex(sortedOutcomes, scope, new Tables(sortedOutcomes));
+    }
+
+    /**
+     * Restrict this index to a subset of the indexed outcomes.
+     * Returns an empty Optional if any of the outcomes is not covered by this index.
+     */
+    Optional<TestOutcomesIndex> scopedTo(List<? extends TestOutcome> subset) {
+        BitSet subsetScope = new BitSet(outcomes.size());
+        for (TestOutcome outcome : subset) {
+            Integer position = tables.positions.get(outcome);
+            if (position == null) {
+                return Optional.empty();
+            }
+            subsetScope.set(position);
+        }
+        return Optional.of(new TestOutcomesIndex(outcomes, subsetScope, tables));
+    }
+
+    List<TestOutcome> withTagName(String tagName) {
+        return outcomesIn(tables.byTagName.get(lowerCase(tagName)));
+    }
+
+    List<TestOutcome> withTagType(String tagType) {
+        return outcomesIn(tables.byTagType.get(lowerCase(tagType)));
+    }
+
+    /**
+     * The outcomes that have this tag, or a more general form of it, following the rules of TestTag.isAsOrMoreSpecificThan().
+     */
+    List<TestOutcome> withMatchingTag(TestTag tag) {
+        BitSet matches = new BitSet();
+        orInto(matches, tables.byTag.get(tag));
+        orInto(matches, tables.byTypeAndLastNameElement.get(typeAndNameKey(tag.getType(), tag.normalisedName())));
+        String tagName = tag.normalisedName();
+        for (int separator = tagName.indexOf('/'); separator >= 0; separator = tagName.indexOf('/', separator + 1)) {
+            orInto(matches, tables.byTypeAndName.get(typeAndNameKey(tag.getType(), tagName.substring(separator + 1))));
+        }
+        return outcomesIn(matches);
+    }
+
+    /**
+     * The outcomes whose overall result is one of the given results.
+     */
+    List<TestOutcome> withOutcomeResultIn(TestResult... results) {
+        return outcomesIn(unionOf(tables.byOutcomeResult, results));
+    }
+
+    /**
+     * The outcomes with at least one scenario having one of the given results.
+     * For data-driven tests, this is based on the results of the individual rows.
+     */
+    List<TestOutcome> withScenarioResultIn(TestResult... results) {
+        return outcomesIn(unionOf(tables.byScenarioResult, results));
+    }
+
+    List<TestOutcome> withErrorType(String errorType) {
+        return outcomesIn(tables.byErrorType.get(errorType));
+    }
+
+    private BitSet unionOf(Map<TestResult, BitSet> table, TestResult... results) {
+        BitSet matches = new BitSet();
+        for (TestResult result : results) {
+            orInto(matches, table.get(result));
+        }
+        return matches;
+    }
+
+    private void orInto(BitSet matches, BitSet positions) {
+        if (positions != null) {
+            matches.or(positions);
+        }
+    }
+
+    private List<TestOutcome> outcomesIn(BitSet positions) {
+        if (positions == null) {
+            return new ArrayList<>();
+        }
+        BitSet matches = (BitSet) positions.clone();
+        matches.and(scope);
+
+        List<TestOutcome> matchingOutcomes = new ArrayList<>(matches.cardinality());
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            matchingOutcomes.add(outcomes.get(position));
+        }
+        return matchingOutcomes;
+    }
+
+    private static String typeAndNameKey(String type, String normalisedName) {
+        return type + ":" + normalisedName;
+    }
+
+    private static String lowerCase(String value) {
+        return (value == null) ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The lookup tables themselves, shared between an index and the scoped views derived from it.
+     */
+    private static class Tables {
+        private final Map<TestOutcome, Integer> positions = new IdentityHashMap<>();
+        private final Map<TestTag, BitSet> byTag = new HashMap<>();
+        private final Map<String, BitSet> byTypeAndLastNameElement = new HashMap<>();
+        private final Map<String, BitSet> byTypeAndName = new HashMap<>();
+        private final Map<String, BitSet> byTagName = new HashMap<>();
+        private final Map<String, BitSet> byTagType = new HashMap<>();
+        private final Map<TestResult, BitSet> byOutcomeResult = new EnumMap<>(TestResult.class);
+        private final Map<TestResult, BitSet> byScenarioResult = new EnumMap<>(TestResult.class);
+        private final Map<String, BitSet> byErrorType = new HashMap<>();
+
+        Tables(List<? extends TestOutcome> outcomes) {
+            for (int position = 0; position < outcomes.size(); position++) {
+                TestOutcome outcome = outcomes.get(position);
+                positions.putIfAbsent(outcome, position);
+                indexTags(outcome, position);
+                indexResults(outcome, position);
+                indexErrorTypes(outcome, position);
+            }
+        }
+
+        private void indexTags(TestOutcome outcome, int position) {
+            Set<TestTag> tags = outcome.getAllTags();
+            if (tags == null) {
+                return;
+            }
+            for (TestTag tag : tags) {
+                String lastNameElement = tag.normalisedName().replaceFirst(".*?([^\\.]+)$", "$1");
+                mark(byTag, tag, position);
+                mark(byTypeAndLastNameElement, typeAndNameKey(tag.getType(), lastNameElement), position);
+                mark(byTypeAndName, typeAndNameKey(tag.getType(), tag.normalisedName()), position);
+                mark(byTagName, lowerCase(tag.getName()), position);
+                mark(byTagType, lowerCase(tag.getType()), position);
+            }
+        }
+
+        private void indexResults(TestOutcome outcome, int position) {
+            mark(byOutcomeResult, outcome.getResult(), position);
+            if (outcome.isDataDriven()) {
+                for (DataTableRow row : outcome.getDataTable().getRows()) {
+                    mark(byScenarioResult, row.getResult(), position);
+                }
+            } else {
+                mark(byScenarioResult, outcome.getResult(), position);
+            }
+        }
+
+        private void indexErrorTypes(TestOutcome outcome, int position) {
+            if (outcome.isDataDriven()) {
+                outcome.getTestSteps().stream()
+                        .filter(step -> step.getResult().isAtLeast(TestResult.FAILURE))
+                        .filter(step -> step.getException() != null && step.getException().getErrorType() != null)
+                        .forEach(step -> mark(byErrorType, step.getException().getErrorType(), position));
+            } else if (outcome.getResult().isAtLeast(TestResult.FAILURE) && outcome.getTestFailureErrorType() != null) {
+                mark(byErrorType, outcome.getTestFailureErrorType(), position);
+            }
+        }
+
+        private static <K> void mark(Map<K, BitSet> table, K key, int position) {
+            if (key != null) {
+                table.computeIfAbsent(key, newKey -> new BitSet()).set(position);
+            }
+        }
+    }
+}
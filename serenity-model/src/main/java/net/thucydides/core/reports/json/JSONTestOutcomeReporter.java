@@ -15,8 +15,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 public class JSONTestOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader {
@@ -32,6 +38,10 @@ public class JSONTestOutcomeReporter implements AcceptanceTestReporter, Acceptan
 
     private final String encoding;
 
+    private static final long LARGE_REPORT_SIZE = 1024 * 1024;
+    private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+    private static final int LARGE_REPORT_BUFFER_SIZE = 64 * 1024;
+
     @Override
     public String getName() {
         return "json";
@@ -98,7 +108,7 @@ public class JSONTestOutcomeReporter implements AcceptanceTestReporter, Acceptan
         if (!reportFile.getName().toLowerCase().endsWith(".json")) {
             return Optional.empty();
         }
-        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(reportFile), encoding))) {
+        try (Reader in = readerFor(reportFile)) {
             return jsonConverter.fromJson(in);
         } catch (Throwable e) {
             LOGGER.debug("This file was not a valid JSON Serenity test report: " + reportFile.getName()
@@ -107,6 +117,19 @@ public class JSONTestOutcomeReporter implements AcceptanceTestReporter, Acceptan
         }
     }
 
+    /**
+     * Read the report through a file channel, with a larger buffer for large reports so that they are decoded
+     * in fewer, bigger reads. Malformed characters are replaced rather than rejected, as they were by the stream readers.
+     */
+    private Reader readerFor(File reportFile) throws IOException {
+        int bufferSize = (reportFile.length() >= LARGE_REPORT_SIZE) ? LARGE_REPORT_BUFFER_SIZE : DEFAULT_BUFFER_SIZE;
+        CharsetDecoder decoder = Charset.forName(encoding).newDecoder()
+                                        .onMalformedInput(CodingErrorAction.REPLACE)
+                                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        FileChannel channel = FileChannel.open(reportFile.toPath(), StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, decoder, bufferSize), bufferSize);
+    }
+
     @Override
     public List<TestOutcome> loadReportsFrom(final Path outputDirectory) {
         return loadReportsFrom(outputDirectory.toFile());
@@ -0,0 +1,38 @@
+package net.thucydides.core.reports.json;
+
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.TestOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * A deep copy of a test outcome, as it would be read back from its JSON report, for code that uses the outcome
+ * on another thread while the test thread may still change it.
+ */
+public class TestOutcomeSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestOutcomeSnapshot.class);
+
+    private TestOutcomeSnapshot() {
+    }
+
+    /**
+     * A copy of the test outcome that shares no mutable state with it, or nothing if the outcome could not be copied.
+     */
+    public static Optional<TestOutcome> of(TestOutcome testOutcome) {
+        JSONConverter jsonConverter = Injectors.getInjector().getInstance(JSONConverter.class);
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            jsonConverter.toJson(testOutcome, json);
+            return jsonConverter.fromJson(new ByteArrayInputStream(json.toByteArray()));
+        } catch (IOException | RuntimeException couldNotCopy) {
+            LOGGER.warn("Could not take a snapshot of the test outcome {}", testOutcome.getId(), couldNotCopy);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.thucydides.core.reports.junit;
+
+/**
+ * Escapes attribute values and text in the same way as the JDK DOM serializer, so that the streamed
+ * JUnit XML reports are identical to the ones that used to be written from a DOM document.
+ * Line breaks and tabs in attribute values, control characters (including DEL and the C1 controls in text) and
+ * characters outside the Basic Multilingual Plane are written as character references,
+ * and line feeds in text are written with the platform line separator.
+ */
+final class DOMCompatibleEscaping {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private DOMCompatibleEscaping() {}
+
+    static String attributeValue(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                case '\n':
+                case '\r':
+                case '\t':
+                    appendCharacterReference(escaped, character);
+                    break;
+                default:
+                    i = appendEscapedCharacter(escaped, value, i);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String text(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '\n':
+                    escaped.append(LINE_SEPARATOR);
+                    break;
+                case '\t':
+                    escaped.append(character);
+                    break;
+                default:
+                    if (isDeleteOrC1Control(character)) {
+                        appendCharacterReference(escaped, character);
+                    } else {
+                        i = appendEscapedCharacter(escaped, value, i);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static boolean isDeleteOrC1Control(char character) {
+        return (character >= 0x7F) && (character <= 0x9F);
+    }
+
+    /**
+     * Appends the character at the given index, returning the index of the last character used.
+     */
+    private static int appendEscapedCharacter(StringBuilder escaped, String value, int index) {
+        char character = value.charAt(index);
+        if (character < 0x20) {
+            appendCharacterReference(escaped, character);
+        } else if (Character.isHighSurrogate(character)
+                && (index + 1 < value.length())
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            appendCharacterReference(escaped, Character.toCodePoint(character, value.charAt(index + 1)));
+            return index + 1;
+        } else {
+            escaped.append(character);
+        }
+        return index;
+    }
+
+    private static void appendCharacterReference(StringBuilder escaped, int codePoint) {
+        escaped.append("&#").append(codePoint).append(';');
+    }
+}
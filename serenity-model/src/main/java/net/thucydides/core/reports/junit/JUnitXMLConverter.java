@@ -3,79 +3,105 @@ package net.thucydides.core.reports.junit;
 import net.thucydides.core.model.*;
 import net.thucydides.core.model.stacktrace.FailureCause;
 import net.thucydides.core.reports.TestOutcomes;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.OutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.*;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Set;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes the outcomes of a test case as a JUnit XML test suite.
+ * The report is streamed element by element through an XMLStreamWriter, with attributes written in alphabetical order.
+ * Attribute values and text are escaped in the same way as the JDK DOM serializer before they are handed to the writer,
+ * so the reports are the same as when they were built from a DOM document.
+ */
 public class JUnitXMLConverter {
 
     private final static DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss");
 
-    public void write(String testCaseName, List<TestOutcome> outcomes, OutputStream outputStream) throws ParserConfigurationException, TransformerException {
-        DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
+    private final static String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
 
-        TestOutcomes testCaseOutcomes = TestOutcomes.of(outcomes);
+    /**
+     * Supported by the JDK's own StAX implementation, which lets the values we have already escaped through unchanged.
+     */
+    private final static String ESCAPE_CHARACTERS = "escapeCharacters";
 
-        // root elements
-        Document doc = docBuilder.newDocument();
+    private final static XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
 
-        Element testSuiteElement = buildTestSuiteElement(doc, testCaseName, testCaseOutcomes);
+    private final static boolean PRE_ESCAPED_VALUES = XML_OUTPUT_FACTORY.isPropertySupported(ESCAPE_CHARACTERS);
 
-        for(TestOutcome outcome : outcomes) {
-            Element testCaseElement = buildTestCaseElement(doc, outcome);
-            testSuiteElement.appendChild(testCaseElement);
+    static {
+        if (PRE_ESCAPED_VALUES) {
+            XML_OUTPUT_FACTORY.setProperty(ESCAPE_CHARACTERS, Boolean.FALSE);
         }
-        doc.appendChild(testSuiteElement);
-
-        // write the content into xml file
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
-        DOMSource source = new DOMSource(doc);
-        StreamResult result = new StreamResult(outputStream);
+    }
 
-        transformer.transform(source, result);
+    public void write(String testCaseName, List<TestOutcome> outcomes, OutputStream outputStream) throws XMLStreamException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+        write(testCaseName, outcomes, writer);
+        writer.flush();
     }
 
-    private Element buildTestCaseElement(Document doc, TestOutcome outcome) {
-        Element testCaseElement = doc.createElement("testcase");
+    public void write(String testCaseName, List<TestOutcome> outcomes, Writer writer) throws XMLStreamException, IOException {
+        writer.write(XML_DECLARATION);
 
-        if (outcome.getTestCase() != null) {
-            testCaseElement.setAttribute("classname", outcome.getTestCase().getName());
-        }
-        if (outcome.getTitle() != null) {
-            testCaseElement.setAttribute("name", outcome.getTitle());
+        XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+
+        TestOutcomes testCaseOutcomes = TestOutcomes.of(outcomes);
+
+        writeTestSuiteElement(xml, testCaseName, testCaseOutcomes, outcomes.isEmpty());
+        for (TestOutcome outcome : outcomes) {
+            writeTestCaseElement(xml, outcome);
         }
+        xml.writeEndDocument();
+
+        xml.flush();
+        xml.close();
+    }
 
+    private void writeTestCaseElement(XMLStreamWriter xml, TestOutcome outcome) throws XMLStreamException {
         if (outcome.isFailure()) {
-            addFailureElement(doc, outcome, testCaseElement);
+            startTestCaseElement(xml, outcome);
+            writeFailureElement(xml, "failure", outcome);
         } else if (outcome.isError()) {
-            addErrorElement(doc, outcome, testCaseElement);
+            startTestCaseElement(xml, outcome);
+            writeFailureElement(xml, "error", outcome);
         } else if (outcome.isCompromised()) {
-            addCompromisedElement(doc, outcome, testCaseElement);
-        } else  if (outcome.isSkipped() || outcome.isPending()) {
-            testCaseElement.appendChild(doc.createElement("skipped"));
+            startTestCaseElement(xml, outcome);
+            writeFailureElement(xml, "compromised", outcome);
+        } else if (outcome.isSkipped() || outcome.isPending()) {
+            startTestCaseElement(xml, outcome);
+            xml.writeEmptyElement("skipped");
         } else {
             String flakyTestDescription = getFlakyTestDescription(outcome);
-            if (flakyTestDescription != null) {
-                addFlakyFailureElement(doc, outcome, testCaseElement, flakyTestDescription);
+            if (flakyTestDescription == null) {
+                xml.writeEmptyElement("testcase");
+                writeTestCaseAttributes(xml, outcome);
+                return;
             }
+            startTestCaseElement(xml, outcome);
+            writeFlakyFailureElement(xml, outcome, flakyTestDescription);
         }
-        return testCaseElement;
+        xml.writeEndElement();
+    }
+
+    private void startTestCaseElement(XMLStreamWriter xml, TestOutcome outcome) throws XMLStreamException {
+        xml.writeStartElement("testcase");
+        writeTestCaseAttributes(xml, outcome);
+    }
 
+    private void writeTestCaseAttributes(XMLStreamWriter xml, TestOutcome outcome) throws XMLStreamException {
+        if (outcome.getTestCase() != null) {
+            writeAttribute(xml, "classname", outcome.getTestCase().getName());
+        }
+        if (outcome.getTitle() != null) {
+            writeAttribute(xml, "name", outcome.getTitle());
+        }
     }
 
     private String getFlakyTestDescription(TestOutcome outcome) {
@@ -93,37 +119,48 @@ public class JUnitXMLConverter {
         return null;
     }
 
-    private void addErrorElement(Document doc, TestOutcome outcome, Element testCaseElement) {
-        testCaseElement.appendChild(errorElement(doc, outcome));
-        if (outcome.getNestedTestFailureCause() != null) {
-            testCaseElement.appendChild(syserrorElement(doc, outcome.getNestedTestFailureCause()));
+    private void writeFailureElement(XMLStreamWriter xml, String elementName, TestOutcome outcome) throws XMLStreamException {
+        FailureCause failureCause = outcome.getNestedTestFailureCause();
+        boolean hasMessage = (failureCause != null) && (failureCause.getMessage() != null);
+
+        if (hasMessage && !failureCause.getMessage().isEmpty()) {
+            xml.writeStartElement(elementName);
+            writeFailureCauseAttributes(xml, failureCause, hasMessage);
+            writeCharacters(xml, failureCause.getMessage());
+            xml.writeEndElement();
+        } else {
+            xml.writeEmptyElement(elementName);
+            writeFailureCauseAttributes(xml, failureCause, hasMessage);
         }
-    }
 
-    private void addCompromisedElement(Document doc, TestOutcome outcome, Element testCaseElement) {
-        testCaseElement.appendChild(compromisedElement(doc, outcome));
-        if (outcome.getNestedTestFailureCause() != null) {
-            testCaseElement.appendChild(syserrorElement(doc, outcome.getNestedTestFailureCause()));
+        if (failureCause != null) {
+            writeSyserrorElement(xml, failureCause);
         }
     }
 
-    private void addFailureElement(Document doc, TestOutcome outcome, Element testCaseElement) {
-        testCaseElement.appendChild(failureElement(doc, outcome));
-        if (outcome.getNestedTestFailureCause() != null) {
-            testCaseElement.appendChild(syserrorElement(doc, outcome.getNestedTestFailureCause()));
+    private void writeFlakyFailureElement(XMLStreamWriter xml, TestOutcome outcome, String flakyTestDescription) throws XMLStreamException {
+        FailureCause failureCause = outcome.getFlakyTestFailureCause().getRootCause();
+        boolean hasMessage = (failureCause != null) && (failureCause.getMessage() != null);
+
+        xml.writeStartElement("flakyFailure");
+        writeFailureCauseAttributes(xml, failureCause, hasMessage);
+        if (hasMessage) {
+            writeCharacters(xml, flakyTestDescription);
         }
+        writeSyserrorElement(xml, failureCause);
+        xml.writeEndElement();
     }
 
-    private void addFlakyFailureElement(Document doc, TestOutcome outcome, Element testCaseElement,String flakyTestDescription) {
-        Node flakyFailureElement = testCaseElement.appendChild(flakyFailureElement(doc, outcome, flakyTestDescription));
-        if (outcome.getFlakyTestFailureCause() != null) {
-            flakyFailureElement.appendChild(syserrorElement(doc, outcome.getFlakyTestFailureCause().getRootCause()));
+    private void writeFailureCauseAttributes(XMLStreamWriter xml, FailureCause failureCause, boolean hasMessage) throws XMLStreamException {
+        if (hasMessage) {
+            writeAttribute(xml, "message", failureCause.getMessage());
+        }
+        if ((failureCause != null) && (failureCause.getErrorType() != null)) {
+            writeAttribute(xml, "type", failureCause.getErrorType());
         }
     }
 
-    private Element syserrorElement(Document doc, FailureCause nestedTestFailureCause) {
-        Element testCaseElement = doc.createElement("system-err");
-
+    private void writeSyserrorElement(XMLStreamWriter xml, FailureCause nestedTestFailureCause) throws XMLStreamException {
         StringBuilder printedStackTrace = new StringBuilder();
         printedStackTrace.append(nestedTestFailureCause.getMessage());
         printedStackTrace.append(System.lineSeparator());
@@ -131,72 +168,39 @@ public class JUnitXMLConverter {
             printedStackTrace.append(element.toString());
             printedStackTrace.append(System.lineSeparator());
         }
-        testCaseElement.appendChild(doc.createTextNode(printedStackTrace.toString()));
-        return testCaseElement;
-    }
-
-    private Element failureElement(Document doc, TestOutcome outcome) {
-        Element testCaseElement = doc.createElement("failure");
-        addFailureCause(doc, testCaseElement, outcome.getNestedTestFailureCause());
-        return testCaseElement;
-    }
-
-    private Element flakyFailureElement(Document doc, TestOutcome outcome,String flakyTestDescription) {
-        Element testCaseElement = doc.createElement("flakyFailure");
-        addFlakyFailureCause(doc, testCaseElement, outcome.getFlakyTestFailureCause().getRootCause(),flakyTestDescription);
-        return testCaseElement;
-    }
-
-    private void addFailureCause(Document doc, Element testCaseElement, FailureCause failureCause) {
-        if ((failureCause != null) && (failureCause.getMessage() != null)) {
-            testCaseElement.setAttribute("message", failureCause.getMessage());
-            testCaseElement.appendChild(doc.createTextNode(failureCause.getMessage()));
-        }
-        if ((failureCause != null) && (failureCause.getErrorType() != null)) {
-            testCaseElement.setAttribute("type", failureCause.getErrorType());
-        }
-    }
-
-    private void addFlakyFailureCause(Document doc, Element testCaseElement, FailureCause failureCause,String failureCauseDescription) {
-        if ((failureCause != null) && (failureCause.getMessage() != null)) {
-            testCaseElement.setAttribute("message", failureCause.getMessage());
-            testCaseElement.appendChild(doc.createTextNode(failureCauseDescription));
-        }
-        if ((failureCause != null) && (failureCause.getErrorType() != null)) {
-            testCaseElement.setAttribute("type", failureCause.getErrorType());
-        }
-    }
-
-    private Element errorElement(Document doc, TestOutcome outcome) {
-        Element testCaseElement = doc.createElement("error");
-        addFailureCause(doc, testCaseElement, outcome.getNestedTestFailureCause());
-        return testCaseElement;
-    }
 
-    private Element compromisedElement(Document doc, TestOutcome outcome) {
-        Element testCaseElement = doc.createElement("compromised");
-        addFailureCause(doc, testCaseElement, outcome.getNestedTestFailureCause());
-        return testCaseElement;
+        xml.writeStartElement("system-err");
+        writeCharacters(xml, printedStackTrace.toString());
+        xml.writeEndElement();
     }
 
-    private Element buildTestSuiteElement(Document doc, String testCaseName, TestOutcomes testCaseOutcomes) {
+    private void writeTestSuiteElement(XMLStreamWriter xml, String testCaseName, TestOutcomes testCaseOutcomes, boolean empty) throws XMLStreamException {
         int errors = testCaseOutcomes.count(TestType.ANY).withResult(TestResult.ERROR);
         int failures = testCaseOutcomes.count(TestType.ANY).withResult(TestResult.FAILURE);
         int success = testCaseOutcomes.count(TestType.ANY).withResult(TestResult.SUCCESS);
         int skipped = testCaseOutcomes.getTotal() - errors - failures - success;
 
-        Element testSuiteElement = doc.createElement("testsuite");
-        testSuiteElement.setAttribute("name", testCaseName);
-        testSuiteElement.setAttribute("time", Double.toString(testCaseOutcomes.getDurationInSeconds()));
-        testSuiteElement.setAttribute("tests", Integer.toString(testCaseOutcomes.getTestCount()));
-        testSuiteElement.setAttribute("errors", Integer.toString(errors));
-        testSuiteElement.setAttribute("skipped", Integer.toString(skipped));
-        testSuiteElement.setAttribute("failures", Integer.toString(failures));
+        if (empty) {
+            xml.writeEmptyElement("testsuite");
+        } else {
+            xml.writeStartElement("testsuite");
+        }
+        writeAttribute(xml, "errors", Integer.toString(errors));
+        writeAttribute(xml, "failures", Integer.toString(failures));
+        writeAttribute(xml, "name", testCaseName);
+        writeAttribute(xml, "skipped", Integer.toString(skipped));
+        writeAttribute(xml, "tests", Integer.toString(testCaseOutcomes.getTestCount()));
+        writeAttribute(xml, "time", Double.toString(testCaseOutcomes.getDurationInSeconds()));
+        if (testCaseOutcomes.getStartTime().isPresent()) {
+            writeAttribute(xml, "timestamp", TIMESTAMP_FORMAT.format(testCaseOutcomes.getStartTime().get()));
+        }
+    }
 
-        testCaseOutcomes.getStartTime().ifPresent(
-                startTime -> testSuiteElement.setAttribute("timestamp", TIMESTAMP_FORMAT.format(startTime))
-        );
+    private void writeAttribute(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeAttribute(name, PRE_ESCAPED_VALUES ? DOMCompatibleEscaping.attributeValue(value) : value);
+    }
 
-        return testSuiteElement;
+    private void writeCharacters(XMLStreamWriter xml, String text) throws XMLStreamException {
+        xml.writeCharacters(PRE_ESCAPED_VALUES ? DOMCompatibleEscaping.text(text) : text);
     }
 }
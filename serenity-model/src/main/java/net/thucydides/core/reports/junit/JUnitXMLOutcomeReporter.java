@@ -9,13 +9,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-import java.io.*;
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 
 import static io.vavr.API.List;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class JUnitXMLOutcomeReporter {
 
@@ -38,10 +41,9 @@ public class JUnitXMLOutcomeReporter {
 
             String reportFilename = reportFilenameFor(testCaseOutcomes.get(0));
             File report = new File(getOutputDirectory(), reportFilename);
-            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(report))) {
-                junitXMLConverter.write(testCase, testCaseOutcomes.asJava(), outputStream);
-                outputStream.flush();
-            } catch (ParserConfigurationException | TransformerException | IOException e) {
+            try (Writer writer = Files.newBufferedWriter(report.toPath(), UTF_8)) {
+                junitXMLConverter.write(testCase, testCaseOutcomes.asJava(), writer);
+            } catch (XMLStreamException | IOException e) {
                 LOGGER.warn("Failed to generate JUnit XML report", e);
             }
         });
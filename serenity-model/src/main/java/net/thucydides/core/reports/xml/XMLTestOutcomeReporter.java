@@ -70,10 +70,6 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
     public File generateReportFor(final TestOutcome testOutcome) throws IOException {
         TestOutcome storedTestOutcome = testOutcome.withQualifier(qualifier);
         Preconditions.checkNotNull(outputDirectory);
-        XStream xstream = new XStream();
-        xstream.alias("acceptance-test-run", TestOutcome.class);
-        xstream.registerConverter(usingXmlConverter());
-
         String reportFilename = reportFor(storedTestOutcome);
 
         String unique = UUID.randomUUID().toString();
@@ -86,7 +82,7 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
         try(
            OutputStream outputStream = new FileOutputStream(temporary);
            OutputStreamWriter writer = new OutputStreamWriter(outputStream, encoding)) {
-           xstream.toXML(storedTestOutcome, writer);
+           sharedXStream().toXML(storedTestOutcome, writer);
            writer.flush();
            LOGGER.debug("XML report generated ({} bytes) {}", report.getAbsolutePath(), report.length());
         }
@@ -96,8 +92,24 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
         return report;
     }
 
-    private TestOutcomeConverter usingXmlConverter() {
-        return new TestOutcomeConverter();
+    /**
+     * Creating and configuring an XStream instance is expensive, but once configured it is thread-safe,
+     * so every XML report written or loaded in the JVM uses the same one.
+     * XStream writes and reads the outcomes as a stream of XML events, without building a document in memory.
+     */
+    private static final class SharedXStream {
+        private static final XStream INSTANCE = configuredXStream();
+
+        private static XStream configuredXStream() {
+            XStream xstream = new XStream();
+            xstream.alias("acceptance-test-run", TestOutcome.class);
+            xstream.registerConverter(new TestOutcomeConverter());
+            return xstream;
+        }
+    }
+
+    static XStream sharedXStream() {
+        return SharedXStream.INSTANCE;
     }
 
     private String reportFor(final TestOutcome testOutcome) {
@@ -115,10 +127,7 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
                 InputStream input = new FileInputStream(reportFile);
                 InputStreamReader reader = new InputStreamReader(input, encoding);
         ) {
-            XStream xstream = new XStream();
-            xstream.alias("acceptance-test-run", TestOutcome.class);
-            xstream.registerConverter(usingXmlConverter());
-            return Optional.of((TestOutcome) xstream.fromXML(reader));
+            return Optional.of((TestOutcome) sharedXStream().fromXML(reader));
         } catch (CannotResolveClassException e) {
             LOGGER.debug("Failed to resolve a serialised class during report generation: " + reportFile, e);
             return Optional.empty();
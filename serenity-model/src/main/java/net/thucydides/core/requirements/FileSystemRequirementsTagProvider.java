@@ -10,6 +10,7 @@ import net.thucydides.core.model.TestTag;
 import net.thucydides.core.requirements.model.*;
 import net.thucydides.core.requirements.model.cucumber.CucumberParser;
 import net.thucydides.core.requirements.model.cucumber.InvalidFeatureFileException;
+import net.thucydides.core.requirements.model.cucumber.ParsedFeatureCache;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.util.Inflector;
 import org.apache.commons.io.FileUtils;
@@ -63,6 +64,8 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
     //    @Transient
     private volatile List<Requirement> requirements;
 
+    private volatile RequirementsIndex requirementsIndex;
+
     public FileSystemRequirementsTagProvider(EnvironmentVariables environmentVariables) {
         this(environmentVariables,
                 RootDirectory.definedIn(environmentVariables).featuresOrStoriesRootDirectory().orElse(Paths.get(DEFAULT_FEATURE_DIRECTORY)).toString());
@@ -165,7 +168,10 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
             synchronized (requirementsLock) {
                 if (requirements == null) {
 
-                    requirements = getRootDirectoryPaths()
+                    Set<String> rootDirectoryPaths = getRootDirectoryPaths();
+                    ParsedFeatureCache.warmUpFrom(rootDirectoryPaths);
+
+                    requirements = rootDirectoryPaths
                             .stream()
                             .map(this::capabilitiesAndStoriesIn)
                             .flatMap(Collection::stream)
@@ -179,6 +185,22 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
         return requirements;
     }
 
+    /**
+     * Lookup tables over the requirements, so that matching a test outcome to its requirements
+     * does not need to walk the whole requirements tree.
+     */
+    RequirementsIndex getRequirementsIndex() {
+        if (requirementsIndex == null) {
+            List<Requirement> loadedRequirements = getRequirements();
+            synchronized (requirementsLock) {
+                if (requirementsIndex == null) {
+                    requirementsIndex = RequirementsIndex.of(loadedRequirements, this::normalisedPath);
+                }
+            }
+        }
+        return requirementsIndex;
+    }
+
     private Set<Requirement> capabilitiesAndStoriesIn(String path) {
         Set<Requirement> allRequirements = new HashSet<>();
         File rootDirectory = new File(path);
@@ -245,33 +267,22 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
         String candidatePath = testOutcome.getPath();
         String parentRequirementId = testOutcome.getParentId();
 
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(
-                        requirement ->
-                                (requirement.getId() != null && requirement.getId().equals(parentRequirementId)) ||
-                                        ((requirement.getFeatureFileName() != null) && (requirement.getFeatureFileName().equalsIgnoreCase(candidatePath))) ||
-                                        ((requirement.getPath() != null) && (equivalentPaths(requirement.getPath(), candidatePath)))
-                ).findFirst();
+        RequirementsIndex index = getRequirementsIndex();
+        return index.earliestOf(
+                index.withId(parentRequirementId),
+                index.withFeatureFileName(candidatePath),
+                index.withEquivalentPath(candidatePath)
+        );
     }
 
 
     private Collection<TestTag> parentRequirementsOf(TestTag requirementTag) {
-        List<TestTag> matchingTags = new ArrayList<>();
-
         java.util.Optional<Requirement> matchingRequirement = getMatchingRequirementFor(requirementTag);
-        java.util.Optional<Requirement> parent = parentRequirementsOf(matchingRequirement.get());
-        while (parent.isPresent()) {
-            matchingTags.add(parent.get().asTag());
-            parent = parentRequirementsOf(parent.get());
-        }
-        return matchingTags;
-    }
 
-    private java.util.Optional<Requirement> parentRequirementsOf(Requirement matchingRequirement) {
-
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(requirement -> requirement.getChildren().contains(matchingRequirement))
-                .findFirst();
+        return getRequirementsIndex().ancestorsOf(matchingRequirement.get())
+                .stream()
+                .map(Requirement::asTag)
+                .collect(Collectors.toList());
     }
 
     private List<String> stripStorySuffixFrom(List<String> pathElements) {
@@ -289,12 +300,7 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
     }
 
     private java.util.Optional<Requirement> getMatchingRequirementFor(TestTag storyOrFeatureTag) {
-
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(
-                        requirement -> requirement.asTag().isAsOrMoreSpecificThan(storyOrFeatureTag)
-                )
-                .findFirst();
+        return getRequirementsIndex().matchingTag(storyOrFeatureTag);
     }
 
     private java.util.Optional<TestTag> getMatchingRequirementTagsFor(TestTag storyOrFeatureTag) {
@@ -371,16 +377,14 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
 
         Path testOutcomeRequirementsPath =  RootDirectory.definedIn(environmentVariables).getRelativePathOf(testOutcome.getPath());
 
-        Optional<Requirement> requirementWithMatchingPath = AllRequirements.asStreamFrom(getRequirements())
-                .filter(requirement -> requirementHasPathMatching(requirement, testOutcomeRequirementsPath)).findFirst();
-
-        Optional<Requirement> requirementWithAMatchingName = AllRequirements.asStreamFrom(getRequirements())
-                .filter(requirement -> requirementHasNameMatching(requirement, testOutcomeRequirementsPath)).findFirst();
-
+        RequirementsIndex index = getRequirementsIndex();
 
+        Optional<Requirement> requirementWithMatchingPath = index.withPath(testOutcomeRequirementsPath);
         if (requirementWithMatchingPath.isPresent()) {
             return requirementWithMatchingPath;
         }
+
+        Optional<Requirement> requirementWithAMatchingName = index.withFeatureFilePath(testOutcomeRequirementsPath);
         if (requirementWithAMatchingName.isPresent()) {
             return requirementWithAMatchingName;
         }
@@ -389,25 +393,14 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
             return Optional.empty();
         }
 
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(requirement -> requirement.getPath() != null)
-                .filter(requirement -> equivalentPaths(requirement.getPath(), testOutcome.getPath()))
-                .findFirst();
-    }
-
-    private boolean requirementHasPathMatching(Requirement requirement, Path expectedPath) {
-        return requirement.getPath() != null  && expectedPath.equals(Paths.get(requirement.getPath()));
+        return index.withEquivalentPath(testOutcome.getPath());
     }
 
-    private boolean requirementHasNameMatching(Requirement requirement,Path expectedPath) {
-        return requirement.getFeatureFileName() != null  && expectedPath.equals(Paths.get(requirement.getFeatureFileName()));
-    }
-
-
-    private boolean equivalentPaths(String pathA, String pathB) {
-        String normalisedPathA = removeFeatureOrStoryPrefixFrom(pathA.replaceAll("[/\\\\]", "/")).replaceAll("\\.", "/").replaceAll(" ", "_");
-        String normalisedPathB = removeFeatureOrStoryPrefixFrom(pathB.replaceAll("[/\\\\]", "/")).replaceAll("\\.", "/").replaceAll(" ", "_");
-        return normalisedPathA.equalsIgnoreCase(normalisedPathB);
+    /**
+     * Two paths are equivalent if their normalised forms are the same, ignoring case.
+     */
+    private String normalisedPath(String path) {
+        return removeFeatureOrStoryPrefixFrom(path.replaceAll("[/\\\\]", "/")).replaceAll("\\.", "/").replaceAll(" ", "_");
     }
 
     private String removeFeatureOrStoryPrefixFrom(String path) {
@@ -429,23 +422,11 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
     }
 
     private java.util.Optional<Requirement> requirementWithMatchingParentId(TestOutcome testOutcome) {
-
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(
-                        requirement -> (requirement.getId() != null
-                                && testOutcome.getParentId() != null
-                                && (requirement.getId().equals(testOutcome.getParentId())))
-                )
-                .findFirst();
+        return getRequirementsIndex().withId(testOutcome.getParentId());
     }
 
     public java.util.Optional<Requirement> getRequirementFor(TestTag testTag) {
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(
-                        requirement -> (requirement.getName().equalsIgnoreCase(testTag.getName())
-                                && requirement.getType().equalsIgnoreCase(testTag.getType()))
-                )
-                .findFirst();
+        return getRequirementsIndex().withNameAndType(testTag.getName(), testTag.getType());
     }
 
     private java.util.Optional<Requirement> lastRequirementFrom(List<String> storyPathElements) {
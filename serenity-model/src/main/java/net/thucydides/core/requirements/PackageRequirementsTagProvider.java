@@ -40,6 +40,8 @@ public class PackageRequirementsTagProvider extends AbstractRequirementsTagProvi
 
     private List<Requirement> requirements;
 
+    private volatile RequirementsIndex requirementsIndex;
+
     private final RequirementsStore requirementsStore;
 
     List<String> requirementPaths;
@@ -102,6 +104,17 @@ public class PackageRequirementsTagProvider extends AbstractRequirementsTagProvi
 
         requirements = reloadedRequirements().orElse(requirementsReadFromClasspath()
                 .orElse(NO_REQUIREMENTS));
+        requirementsIndex = null;
+    }
+
+    private RequirementsIndex getRequirementsIndex() {
+        List<Requirement> currentRequirements = getRequirements();
+        RequirementsIndex index = requirementsIndex;
+        if (index == null) {
+            index = RequirementsIndex.of(currentRequirements);
+            requirementsIndex = index;
+        }
+        return index;
     }
 
     private java.util.Optional<List<Requirement>> reloadedRequirements() {
@@ -238,17 +251,12 @@ public class PackageRequirementsTagProvider extends AbstractRequirementsTagProvi
 //        }
 //        return java.util.Optional.empty();
 //
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(
-                        requirement -> (requirement.asTag().isAsOrMoreSpecificThan(testOutcome.getUserStory().asTag()))
-                ).findFirst();
+        return getRequirementsIndex().matchingTag(testOutcome.getUserStory().asTag());
     }
 
     @Override
     public java.util.Optional<Requirement> getRequirementFor(TestTag testTag) {
-        Optional<Requirement> matching = AllRequirements.asStreamFrom(getRequirements())
-                .filter(requirement -> requirement.asTag().isAsOrMoreSpecificThan(testTag))
-                .findFirst();
+        Optional<Requirement> matching = getRequirementsIndex().matchingTag(testTag);
 
         if (matching.isPresent()) {
             return matching;
@@ -289,9 +297,7 @@ public class PackageRequirementsTagProvider extends AbstractRequirementsTagProvi
     }
 
     private Optional<Requirement> parentOf(Requirement child) {
-        return AllRequirements.asStreamFrom(getRequirements())
-                .filter(requirement -> requirement.getChildren().contains(child))
-                .findFirst();
+        return getRequirementsIndex().parentOf(child);
     }
 
     private static File getRequirementsDirectory(File directory) {
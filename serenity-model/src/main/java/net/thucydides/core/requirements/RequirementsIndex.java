@@ -0,0 +1,180 @@
+package net.thucydides.core.requirements;
+
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.requirements.model.Requirement;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A prebuilt lookup table over a requirements hierarchy.
+ * Requirements can be found by id, feature file name, path or tag, and parents can be found from their children,
+ * without walking the whole requirements tree for every test outcome.
+ * When several requirements match, the one that comes first in the flattened requirements tree is returned,
+ * which is the same requirement a linear search through AllRequirements.asStreamFrom() would find.
+ */
+public class RequirementsIndex {
+
+    private final Function<String, String> pathNormaliser;
+
+    private final Map<Requirement, Integer> positions = new IdentityHashMap<>();
+    private final Map<Requirement, Requirement> parents = new HashMap<>();
+    private final Map<String, Requirement> byId = new HashMap<>();
+    private final Map<String, Requirement> byFeatureFileName = new HashMap<>();
+    private final Map<Path, Requirement> byFeatureFilePath = new HashMap<>();
+    private final Map<Path, Requirement> byPath = new HashMap<>();
+    private final Map<String, Requirement> byNormalisedPath = new HashMap<>();
+    private final Map<String, Requirement> byNameAndType = new HashMap<>();
+    private final Map<TestTag, Requirement> byTag = new HashMap<>();
+    private final Map<String, Requirement> byTagTypeAndName = new HashMap<>();
+    private final Map<String, Requirement> byTagTypeAndNameSuffix = new HashMap<>();
+
+    private RequirementsIndex(List<Requirement> requirements, Function<String, String> pathNormaliser) {
+        this.pathNormaliser = pathNormaliser;
+
+        AllRequirements.asStreamFrom(requirements).forEach(this::index);
+    }
+
+    public static RequirementsIndex of(List<Requirement> requirements) {
+        return new RequirementsIndex(requirements, path -> path);
+    }
+
+    public static RequirementsIndex of(List<Requirement> requirements, Function<String, String> pathNormaliser) {
+        return new RequirementsIndex(requirements, pathNormaliser);
+    }
+
+    private void index(Requirement requirement) {
+        positions.put(requirement, positions.size());
+
+        requirement.getChildren().forEach(child -> parents.putIfAbsent(child, requirement));
+
+        if (requirement.getId() != null) {
+            byId.putIfAbsent(requirement.getId(), requirement);
+        }
+        if (requirement.getFeatureFileName() != null) {
+            byFeatureFileName.putIfAbsent(lowerCase(requirement.getFeatureFileName()), requirement);
+            pathOf(requirement.getFeatureFileName()).ifPresent(path -> byFeatureFilePath.putIfAbsent(path, requirement));
+        }
+        if (requirement.getPath() != null) {
+            pathOf(requirement.getPath()).ifPresent(path -> byPath.putIfAbsent(path, requirement));
+            byNormalisedPath.putIfAbsent(normalised(requirement.getPath()), requirement);
+        }
+        if (requirement.getName() != null && requirement.getType() != null) {
+            byNameAndType.putIfAbsent(nameAndTypeKey(requirement.getName(), requirement.getType()), requirement);
+        }
+
+        TestTag tag = requirement.asTag();
+        byTag.putIfAbsent(tag, requirement);
+        byTagTypeAndName.putIfAbsent(typeAndNameKey(tag.getType(), tag.normalisedName()), requirement);
+        String tagName = tag.normalisedName();
+        for (int separator = tagName.indexOf('/'); separator >= 0; separator = tagName.indexOf('/', separator + 1)) {
+            byTagTypeAndNameSuffix.putIfAbsent(typeAndNameKey(tag.getType(), tagName.substring(separator + 1)), requirement);
+        }
+    }
+
+    public Optional<Requirement> withId(String id) {
+        return (id == null) ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Find a requirement by feature file name (case-insensitive).
+     */
+    public Optional<Requirement> withFeatureFileName(String featureFileName) {
+        return (featureFileName == null) ? Optional.empty() : Optional.ofNullable(byFeatureFileName.get(lowerCase(featureFileName)));
+    }
+
+    public Optional<Requirement> withFeatureFilePath(Path featureFilePath) {
+        return Optional.ofNullable(byFeatureFilePath.get(featureFilePath));
+    }
+
+    public Optional<Requirement> withPath(Path path) {
+        return Optional.ofNullable(byPath.get(path));
+    }
+
+    /**
+     * Find a requirement whose path is equivalent to the given path, once both paths have been normalised.
+     */
+    public Optional<Requirement> withEquivalentPath(String path) {
+        return (path == null) ? Optional.empty() : Optional.ofNullable(byNormalisedPath.get(normalised(path)));
+    }
+
+    /**
+     * Find a requirement by name and type (both case-insensitive).
+     */
+    public Optional<Requirement> withNameAndType(String name, String type) {
+        if (name == null || type == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byNameAndType.get(nameAndTypeKey(name, type)));
+    }
+
+    /**
+     * Find the first requirement whose tag is as or more specific than the given tag.
+     * This follows the same rules as TestTag.isAsOrMoreSpecificThan().
+     */
+    public Optional<Requirement> matchingTag(TestTag tag) {
+        String lastNameElement = tag.normalisedName().replaceFirst(".*?([^\\.]+)$", "$1");
+        return earliestOf(
+                Optional.ofNullable(byTag.get(tag)),
+                Optional.ofNullable(byTagTypeAndName.get(typeAndNameKey(tag.getType(), lastNameElement))),
+                Optional.ofNullable(byTagTypeAndNameSuffix.get(typeAndNameKey(tag.getType(), tag.normalisedName())))
+        );
+    }
+
+    public Optional<Requirement> parentOf(Requirement requirement) {
+        return Optional.ofNullable(parents.get(requirement));
+    }
+
+    /**
+     * The parent, grandparent and so on of a requirement, starting with the direct parent.
+     */
+    public List<Requirement> ancestorsOf(Requirement requirement) {
+        List<Requirement> ancestors = new ArrayList<>();
+        Set<Requirement> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Optional<Requirement> parent = parentOf(requirement);
+        while (parent.isPresent() && visited.add(parent.get())) {
+            ancestors.add(parent.get());
+            parent = parentOf(parent.get());
+        }
+        return ancestors;
+    }
+
+    /**
+     * Of the matching requirements, return the one that appears first in the requirements tree.
+     */
+    @SafeVarargs
+    public final Optional<Requirement> earliestOf(Optional<Requirement>... candidates) {
+        return Stream.of(candidates)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .min(Comparator.comparing(requirement -> positions.getOrDefault(requirement, Integer.MAX_VALUE)));
+    }
+
+    private String normalised(String path) {
+        return lowerCase(pathNormaliser.apply(path));
+    }
+
+    private Optional<Path> pathOf(String path) {
+        try {
+            return Optional.of(Paths.get(path));
+        } catch (InvalidPathException invalidPath) {
+            return Optional.empty();
+        }
+    }
+
+    private static String nameAndTypeKey(String name, String type) {
+        return lowerCase(type) + ":" + lowerCase(name);
+    }
+
+    private static String typeAndNameKey(String type, String normalisedName) {
+        return type + ":" + normalisedName;
+    }
+
+    private static String lowerCase(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -68,7 +68,10 @@ public class CucumberParser {
         if (!narrativeFile.exists()) {
             return Optional.empty();
         }
+        return ParsedFeatureCache.featureIn(narrativeFile, this::parseFeature);
+    }
 
+    private Optional<AnnotatedFeature> parseFeature(File narrativeFile) {
         List<String> listOfFiles = new ArrayList<>();
         listOfFiles.add(narrativeFile.getAbsolutePath());
 
@@ -0,0 +1,129 @@
+package net.thucydides.core.requirements.model.cucumber;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The feature files parsed so far, shared by every CucumberParser in the JVM, so that the requirements providers,
+ * narrative readers and report builders do not each parse the same feature files again.
+ * A parsed feature is reused for as long as the feature file has not been modified, and is only softly referenced,
+ * so that the garbage collector can reclaim it if memory runs low. Feature files with syntax errors are not cached,
+ * so the error is reported each time the file is loaded.
+ */
+public class ParsedFeatureCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsedFeatureCache.class);
+
+    private static final Map<String, CachedFeature> PARSED_FEATURES = new ConcurrentHashMap<>();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private ParsedFeatureCache() {
+    }
+
+    static Optional<AnnotatedFeature> featureIn(File featureFile, Function<File, Optional<AnnotatedFeature>> parser) {
+        String path = featureFile.getAbsolutePath();
+        long lastModified = featureFile.lastModified();
+        long length = featureFile.length();
+
+        CachedFeature cachedFeature = PARSED_FEATURES.get(path);
+        if ((cachedFeature != null) && cachedFeature.isUpToDate(lastModified, length)) {
+            Optional<AnnotatedFeature> feature = cachedFeature.feature.get();
+            if (feature != null) {
+                HITS.increment();
+                return feature;
+            }
+        }
+        MISSES.increment();
+        Optional<AnnotatedFeature> feature = parser.apply(featureFile);
+        PARSED_FEATURES.put(path, new CachedFeature(lastModified, length, feature));
+        return feature;
+    }
+
+    /**
+     * Parse the feature files in these directories and their subdirectories in parallel, so that they are ready
+     * when the requirements are read from them.
+     */
+    public static void warmUpFrom(Collection<String> directoryPaths) {
+        List<File> featureFiles = directoryPaths.stream()
+                .flatMap(ParsedFeatureCache::featureFilesIn)
+                .collect(Collectors.toList());
+
+        long startTime = System.currentTimeMillis();
+        featureFiles.parallelStream().forEach(ParsedFeatureCache::warmUp);
+        LOGGER.debug("Parsed {} feature files in {} ms ({} cache hits, {} cache misses so far)",
+                featureFiles.size(), System.currentTimeMillis() - startTime, getHitCount(), getMissCount());
+    }
+
+    private static Stream<File> featureFilesIn(String directoryPath) {
+        Path directory = new File(directoryPath).toPath();
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(path -> path.toString().endsWith(".feature"))
+                    .filter(Files::isRegularFile)
+                    .map(Path::toFile)
+                    .collect(Collectors.toList())
+                    .stream();
+        } catch (IOException e) {
+            LOGGER.debug("Could not list the feature files in {}", directoryPath, e);
+            return Stream.empty();
+        }
+    }
+
+    private static void warmUp(File featureFile) {
+        try {
+            new CucumberParser().loadFeature(featureFile);
+        } catch (InvalidFeatureFileException e) {
+            LOGGER.debug("Could not parse the feature file {}", featureFile, e);
+        }
+    }
+
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Forget the parsed features, so that every feature file is parsed again the next time it is loaded.
+     */
+    public static void clear() {
+        PARSED_FEATURES.clear();
+    }
+
+    private static class CachedFeature {
+        private final long lastModified;
+        private final long length;
+        private final SoftReference<Optional<AnnotatedFeature>> feature;
+
+        CachedFeature(long lastModified, long length, Optional<AnnotatedFeature> feature) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.feature = new SoftReference<>(feature);
+        }
+
+        boolean isUpToDate(long lastModified, long length) {
+            return (this.lastModified == lastModified) && (this.length == length);
+        }
+    }
+}
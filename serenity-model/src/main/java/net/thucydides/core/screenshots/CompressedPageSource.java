@@ -0,0 +1,87 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Page sources are stored gzip-compressed, under a name derived from their contents, so that identical pages
+ * are only stored once. The HTML reports link to the uncompressed page source, and only that page source is
+ * decompressed into the report directory, when the report that links to it is generated. The compressed copy is
+ * then removed, so the report directory holds each page source only once.
+ */
+public class CompressedPageSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompressedPageSource.class);
+
+    public static final String COMPRESSED_SUFFIX = ".gz";
+
+    public static boolean isCompressed(String htmlSourceName) {
+        return htmlSourceName.endsWith(COMPRESSED_SUFFIX);
+    }
+
+    /**
+     * The name of the page source file that the HTML reports link to.
+     */
+    public static String linkTo(String htmlSourceName) {
+        return isCompressed(htmlSourceName)
+                ? htmlSourceName.substring(0, htmlSourceName.length() - COMPRESSED_SUFFIX.length())
+                : htmlSourceName;
+    }
+
+    /**
+     * The stored name of the page source that the HTML reports link to for a test outcome: the first one recorded.
+     */
+    public static Optional<String> linkedPageSourceIn(TestOutcome testOutcome) {
+        for (TestStep testStep : testOutcome.getFlattenedTestSteps()) {
+            for (ScreenshotAndHtmlSource screenshot : testStep.getScreenshots()) {
+                if (screenshot.getHtmlSourceName() != null) {
+                    return Optional.of(screenshot.getHtmlSourceName());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Decompress the page source that the HTML report of a test outcome links to into the report directory,
+     * if it is not already there, and remove the compressed copy. The other page sources are left compressed.
+     */
+    public static void decompressLinkedPageSourceFor(TestOutcome testOutcome, Path reportDirectory) {
+        linkedPageSourceIn(testOutcome)
+                .filter(CompressedPageSource::isCompressed)
+                .ifPresent(htmlSourceName -> decompressInto(reportDirectory, htmlSourceName));
+    }
+
+    static void decompressInto(Path reportDirectory, String htmlSourceName) {
+        Path compressedSource = reportDirectory.resolve(htmlSourceName);
+        Path decompressedSource = reportDirectory.resolve(linkTo(htmlSourceName));
+        if (Files.exists(decompressedSource) || !Files.exists(compressedSource)) {
+            return;
+        }
+        try {
+            Path temporaryFile = Files.createTempFile(reportDirectory, "pagesource", ".tmp");
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(compressedSource))) {
+                Files.copy(in, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+                // Several reports can share the same page source, so another thread may have got here first
+                Files.move(temporaryFile, decompressedSource, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+            Files.deleteIfExists(compressedSource);
+        } catch (IOException e) {
+            if (!Files.exists(decompressedSource)) {
+                LOGGER.warn("Could not decompress page source {}: {}", compressedSource, e.getMessage());
+            }
+        }
+    }
+}
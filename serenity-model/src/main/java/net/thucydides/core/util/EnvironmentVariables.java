@@ -1,5 +1,7 @@
 package net.thucydides.core.util;
 
+import net.serenitybdd.core.environment.ResolvedConfiguration;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -72,4 +74,12 @@ public interface EnvironmentVariables {
     Map<String, String> asMap();
 
     Map<String,String> simpleSystemPropertiesAsMap();
+
+    /**
+     * The Serenity system properties resolved from these environment variables.
+     * Implementations can keep the resolved configuration until a property is set or cleared.
+     */
+    default ResolvedConfiguration getResolvedConfiguration() {
+        return new ResolvedConfiguration(this);
+    }
 }
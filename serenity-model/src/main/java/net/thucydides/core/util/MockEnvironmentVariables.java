@@ -2,15 +2,20 @@ package net.thucydides.core.util;
 
 import net.serenitybdd.core.collect.NewMap;
 import net.serenitybdd.core.environment.ConfiguredEnvironment;
+import net.serenitybdd.core.environment.ResolvedConfiguration;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 public class MockEnvironmentVariables implements EnvironmentVariables {
 
     private Properties properties = new Properties();
     private Map<String, String> values = new HashMap<>();
+    private volatile ResolvedConfiguration resolvedConfiguration;
+    private final Lock propertySetLock = new ReentrantLock();
 
     public MockEnvironmentVariables() {
         this.properties.setProperty("user.home", System.getProperty("user.home"));
@@ -116,16 +121,53 @@ public class MockEnvironmentVariables implements EnvironmentVariables {
     }
 
     public void setProperty(String name, String value) {
-        properties.setProperty(name, value);
+        propertySetLock.lock();
+        try {
+            properties.setProperty(name, value);
+            resolvedConfiguration = null;
+        } finally {
+            propertySetLock.unlock();
+        }
     }
 
     public void setProperties(Map<String, String> newProperties) {
-        properties.putAll(newProperties);
+        propertySetLock.lock();
+        try {
+            properties.putAll(newProperties);
+            resolvedConfiguration = null;
+        } finally {
+            propertySetLock.unlock();
+        }
     }
 
 
     public void clearProperty(String name) {
-        properties.remove(name);
+        propertySetLock.lock();
+        try {
+            properties.remove(name);
+            resolvedConfiguration = null;
+        } finally {
+            propertySetLock.unlock();
+        }
+    }
+
+    @Override
+    public ResolvedConfiguration getResolvedConfiguration() {
+        ResolvedConfiguration configuration = resolvedConfiguration;
+        if (configuration != null) {
+            return configuration;
+        }
+        // Resolve under the lock, so that a configuration resolved from the old properties cannot be
+        // published after a concurrent change to the properties has invalidated it
+        propertySetLock.lock();
+        try {
+            if (resolvedConfiguration == null) {
+                resolvedConfiguration = new ResolvedConfiguration(this);
+            }
+            return resolvedConfiguration;
+        } finally {
+            propertySetLock.unlock();
+        }
     }
 
     public EnvironmentVariables copy() {
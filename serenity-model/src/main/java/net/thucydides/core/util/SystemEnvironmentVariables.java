@@ -1,6 +1,7 @@
 package net.thucydides.core.util;
 
 import net.serenitybdd.core.collect.NewMap;
+import net.serenitybdd.core.environment.ResolvedConfiguration;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
@@ -16,6 +17,7 @@ public class SystemEnvironmentVariables implements EnvironmentVariables {
 
     private Map<String, String> properties;
     private Map<String, String> systemValues;
+    private volatile ResolvedConfiguration resolvedConfiguration;
 
     public SystemEnvironmentVariables() {
         this(System.getProperties(), System.getenv());
@@ -157,6 +159,7 @@ public class SystemEnvironmentVariables implements EnvironmentVariables {
         HashMap<String, String> workingCopy = new HashMap<>(properties);
         workingCopy.put(name, value);
         properties = NewMap.copyOf(workingCopy);
+        resolvedConfiguration = null;
 
         propertySetLock.unlock();
     }
@@ -165,6 +168,7 @@ public class SystemEnvironmentVariables implements EnvironmentVariables {
 
         propertySetLock.lock();
         this.properties.putAll(properties);
+        resolvedConfiguration = null;
         propertySetLock.unlock();
     }
 
@@ -175,6 +179,7 @@ public class SystemEnvironmentVariables implements EnvironmentVariables {
         HashMap<String, String> workingCopy = new HashMap(properties);
         workingCopy.remove(name);
         properties = NewMap.copyOf(workingCopy);
+        resolvedConfiguration = null;
 
         propertySetLock.unlock();
     }
@@ -197,6 +202,25 @@ public class SystemEnvironmentVariables implements EnvironmentVariables {
         return environmentValues;
     }
 
+    @Override
+    public ResolvedConfiguration getResolvedConfiguration() {
+        ResolvedConfiguration configuration = resolvedConfiguration;
+        if (configuration != null) {
+            return configuration;
+        }
+        // Resolve under the lock, so that a configuration resolved from the old properties cannot be
+        // published after a concurrent change to the properties has invalidated it
+        propertySetLock.lock();
+        try {
+            if (resolvedConfiguration == null) {
+                resolvedConfiguration = new ResolvedConfiguration(this);
+            }
+            return resolvedConfiguration;
+        } finally {
+            propertySetLock.unlock();
+        }
+    }
+
     public EnvironmentVariables copy() {
         return new SystemEnvironmentVariables(getProperties(), systemValues);
     }
@@ -0,0 +1,77 @@
+package net.serenitybdd.core.environment
+
+import net.thucydides.core.util.EnvironmentVariables
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+
+import static net.thucydides.core.ThucydidesSystemProperty.*
+
+class WhenResolvingSystemProperties extends Specification {
+
+    EnvironmentVariables environmentVariables = new MockEnvironmentVariables()
+
+    def "the resolved configuration is reused until a property changes"() {
+        when:
+        def resolvedConfiguration = ResolvedConfiguration.of(environmentVariables)
+        then:
+        ResolvedConfiguration.of(environmentVariables).is(resolvedConfiguration)
+        EnvironmentSpecificConfiguration.from(environmentVariables).is(resolvedConfiguration.environmentSpecificConfiguration)
+        when:
+        environmentVariables.setProperty("webdriver.driver", "firefox")
+        then:
+        !ResolvedConfiguration.of(environmentVariables).is(resolvedConfiguration)
+    }
+
+    def "property values should reflect properties set after they were first read"() {
+        expect:
+        WEBDRIVER_MIN_SCREENSHOT_INTERVAL.integerFrom(environmentVariables, 50) == 50
+        when:
+        environmentVariables.setProperty("webdriver.min.screenshot.interval", "100")
+        then:
+        WEBDRIVER_MIN_SCREENSHOT_INTERVAL.integerFrom(environmentVariables, 50) == 100
+        when:
+        environmentVariables.clearProperty("webdriver.min.screenshot.interval")
+        then:
+        WEBDRIVER_MIN_SCREENSHOT_INTERVAL.integerFrom(environmentVariables, 50) == 50
+    }
+
+    def "legacy property names should still be used if the serenity name is not defined"() {
+        given:
+        environmentVariables.setProperty("thucydides.take.screenshots", "FOR_FAILURES")
+        expect:
+        SERENITY_TAKE_SCREENSHOTS.from(environmentVariables) == "FOR_FAILURES"
+    }
+
+    def "environment-specific values should be applied to the resolved properties"() {
+        given:
+        environmentVariables.setProperties([
+                "environment"                        : "dev",
+                "environments.dev.verbose.reporting" : "true",
+                "environments.prod.verbose.reporting": "false"
+        ])
+        expect:
+        VERBOSE_REPORTING.booleanFrom(environmentVariables, false)
+    }
+
+    def "empty values should be treated as undefined"() {
+        given:
+        environmentVariables.setProperty("serenity.take.screenshots", "")
+        expect:
+        SERENITY_TAKE_SCREENSHOTS.from(environmentVariables, "FOR_EACH_ACTION") == "FOR_EACH_ACTION"
+    }
+
+    def "environment-specific properties can be listed by prefix"() {
+        given:
+        environmentVariables.setProperties([
+                "environment"             : "dev",
+                "environments.dev.my.url" : "http://dev.foo.com",
+                "environments.prod.my.url": "http://prod.foo.com",
+                "my.timeout"              : "10"
+        ])
+        when:
+        def properties = EnvironmentSpecificConfiguration.from(environmentVariables).getPropertiesWithPrefix("my.")
+        then:
+        properties.getProperty("my.url") == "http://dev.foo.com"
+        properties.getProperty("my.timeout") == "10"
+    }
+}
@@ -0,0 +1,72 @@
+package net.thucydides.core.model
+
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.screenshots.ScreenshotAndHtmlSource
+import spock.lang.Specification
+
+import static net.thucydides.core.model.TestResult.*
+
+class WhenSummarizingTestOutcomesForAggregateReports extends Specification {
+
+    class SomeTestScenario {
+        public void should_do_something() {}
+    }
+
+    def "should keep the id, tags, result, duration and report name of a test outcome"() {
+        given:
+            def outcome = TestOutcome.forTest("should_do_something", SomeTestScenario)
+            outcome.addTag(TestTag.withName("Checkout").andType("feature"))
+            outcome.duration = 1500
+            def step = new TestStep("step 1")
+            step.addScreenshot(new ScreenshotAndHtmlSource(new File("screenshot.png")))
+            step.setResult(SUCCESS)
+            outcome.recordStep(step)
+        when:
+            def summarizedOutcome = TestOutcomeReportSummary.of(outcome).asTestOutcome()
+        then:
+            summarizedOutcome.id == outcome.id
+            summarizedOutcome.tags == outcome.tags
+            summarizedOutcome.result == SUCCESS
+            summarizedOutcome.duration == 1500
+            summarizedOutcome.getReportName(ReportType.HTML) == outcome.getReportName(ReportType.HTML)
+        and: "the step tree is not kept"
+            summarizedOutcome.testSteps.isEmpty()
+        and: "the original outcome is not changed"
+            outcome.testSteps[0].screenshots.size() == 1
+    }
+
+    def "should keep the type and message of a test failure but not its stack trace"() {
+        given:
+            def outcome = TestOutcome.forTest("should_do_something", SomeTestScenario)
+            outcome.determineTestFailureCause(new AssertionError("Expected 1 but was 2"))
+        when:
+            def summarizedOutcome = TestOutcomeReportSummary.of(outcome).asTestOutcome()
+        then:
+            summarizedOutcome.result == outcome.result
+            summarizedOutcome.testFailureErrorType == outcome.testFailureErrorType
+            summarizedOutcome.testFailureMessage == outcome.testFailureMessage
+            summarizedOutcome.testFailureCause.stackTrace.length == 0
+    }
+
+    def "should count the examples of a data-driven test in the same way as the full outcome"() {
+        given:
+            def outcome = TestOutcome.forTest("should_do_something", SomeTestScenario)
+            def table = DataTable.withHeaders(["firstName", "age"]).andRows([["Joe", 20], ["Jack", 21], ["Jill", 22]]).build()
+            outcome.useExamplesFrom(table)
+            [SUCCESS, FAILURE, SUCCESS].eachWithIndex { result, row ->
+                def step = new TestStep("Example " + row)
+                step.setResult(result)
+                outcome.recordStep(step)
+                table.rows[row].result = result
+            }
+        when:
+            def summarizedOutcome = TestOutcomeReportSummary.of(outcome).asTestOutcome()
+        then:
+            summarizedOutcome.testCount == 3
+            [SUCCESS, FAILURE, ERROR].every { result ->
+                TestOutcomes.of([summarizedOutcome]).scenarioCountWithResult(result) == TestOutcomes.of([outcome]).scenarioCountWithResult(result)
+            }
+        and: "the example values are not kept"
+            summarizedOutcome.dataTable.rows.every { it.values.isEmpty() }
+    }
+}
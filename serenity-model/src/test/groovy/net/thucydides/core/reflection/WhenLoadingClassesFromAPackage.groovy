@@ -10,6 +10,8 @@ import org.junit.runners.JUnit4
 import org.junit.runners.model.RunnerScheduler
 import spock.lang.Specification
 
+import java.util.concurrent.atomic.AtomicInteger
+
 public class WhenLoadingClassesFromAPackage extends Specification {
 
     def "should load all classes in a given package"() {
@@ -103,4 +105,47 @@ public class WhenLoadingClassesFromAPackage extends Specification {
 
     }
 
+    def "should return a new list of the indexed classes each time"() {
+        given:
+            List<Class> firstScan = ClassFinder.loadClasses().annotatedWith(RunWith).fromPackage("net.thucydides.core.reflection.samples")
+        when:
+            firstScan.clear()
+            List<Class> secondScan = ClassFinder.loadClasses().annotatedWith(RunWith).fromPackage("net.thucydides.core.reflection.samples")
+        then:
+            secondScan == [SomeTestClass]
+    }
+
+    def "should scan the packages again when the classpath index is cleared"() {
+        given:
+            ClassFinder.loadClasses().fromPackage("net.thucydides.core.reflection.samples")
+        when:
+            ClassFinder.clearClasspathIndex()
+            List<Class> classes = ClassFinder.loadClasses().fromPackage("net.thucydides.core.reflection.samples")
+        then:
+            classes.contains(SomeTestClass) && classes.contains(SomeOtherClass) && classes.contains(SomeClass)
+    }
+
+    def "should scan a package again if it could not be scanned the first time"() {
+        given:
+            def originalClassLoader = Thread.currentThread().contextClassLoader
+            def remainingFailures = new AtomicInteger(1)
+            def unreliableClassLoader = new ClassLoader(originalClassLoader) {
+                @Override
+                Enumeration<URL> getResources(String name) throws IOException {
+                    if (remainingFailures.getAndDecrement() > 0) {
+                        throw new IOException("The classpath is not available")
+                    }
+                    return super.getResources(name)
+                }
+            }
+            Thread.currentThread().contextClassLoader = unreliableClassLoader
+        when:
+            List<Class> classesFromTheFailedScan = ClassFinder.loadClasses().fromPackage("net.thucydides.core.reflection.samples")
+            List<Class> classesFromTheNextScan = ClassFinder.loadClasses().fromPackage("net.thucydides.core.reflection.samples")
+        then:
+            classesFromTheFailedScan.isEmpty()
+            classesFromTheNextScan.contains(SomeTestClass) && classesFromTheNextScan.contains(SomeOtherClass) && classesFromTheNextScan.contains(SomeClass)
+        cleanup:
+            Thread.currentThread().contextClassLoader = originalClassLoader
+    }
 }
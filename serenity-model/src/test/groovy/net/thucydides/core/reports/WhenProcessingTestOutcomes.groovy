@@ -35,6 +35,28 @@ class WhenProcessingTestOutcomes extends Specification {
             testOutcomes.size() == 12
     }
 
+    def "should record the throughput of the outcomes it loads"() {
+        given:
+            def loader = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.JSON)
+        when:
+            loader.loadFrom(directoryInClasspathCalled("/json-test-outcomes"))
+        then:
+            loader.metrics.filesLoaded == 12
+            loader.metrics.bytesLoaded > 0
+            loader.metrics.batchCount > 0
+            loader.metrics.filesPerSecond > 0
+    }
+
+    def "should load test outcomes directly into the standard order"() {
+        given:
+            def loader = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.JSON)
+            def directory = directoryInClasspathCalled("/json-test-outcomes")
+        when:
+            TestOutcomes testOutcomes = loader.loadTestOutcomesFrom(directory)
+        then:
+            testOutcomes.outcomes == TestOutcomes.of(loader.loadFrom(directory)).outcomes
+    }
+
     def "should not load test outcome from an invalid directory"() {
         when:
             loader.loadFrom(new File("/does-not-exist"))
@@ -222,6 +244,31 @@ class WhenProcessingTestOutcomes extends Specification {
             tests everyItem(havingTagName("a feature"))
     }
 
+    def "should filter derived test outcome sets using the tags and results of the root test outcomes"() {
+        given:
+            TestOutcomes testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
+        when:
+            def storyTests = testOutcomes.withTagType("story")
+            def tests = storyTests.withTag(TestTag.withName("a story").andType("story")).getTests()
+        then:
+            storyTests.rootOutcomes == testOutcomes
+            tests everyItem(havingTagName("a story"))
+            tests == testOutcomes.withTag("a story").getTests()
+    }
+
+    def "should keep the original test order when filtering by result"() {
+        given:
+            TestOutcomes testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/test-outcomes/containing-failure"));
+        when:
+            def failingTests = testOutcomes.havingResult(TestResult.FAILURE).getTests()
+            def pendingTests = testOutcomes.havingResult(TestResult.PENDING).getTests()
+        then:
+            !failingTests.isEmpty()
+            failingTests == testOutcomes.getTests().findAll { it.result == TestResult.FAILURE }
+            pendingTests == testOutcomes.getTests().findAll { it.result == TestResult.PENDING }
+            testOutcomes.withTagType("unknown-tag-type").getTests().isEmpty()
+    }
+
     def "should provide total test duration for a set of tests"() {
         when:
             def testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
@@ -0,0 +1,159 @@
+package net.thucydides.core.reports.junit
+
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.model.TestResult
+import net.thucydides.core.model.TestTag
+import net.thucydides.core.model.stacktrace.FailureCause
+import net.thucydides.core.reports.integration.TestStepFactory
+import net.thucydides.core.steps.TestFailureCause
+import spock.lang.Specification
+
+import javax.xml.parsers.DocumentBuilderFactory
+import java.time.ZoneId
+import java.time.ZonedDateTime
+
+/**
+ * The golden files were written by the DOM-based converter, so these specifications check that the streamed
+ * reports have not changed.
+ */
+class WhenStreamingTestOutcomesInJUnitFormat extends Specification {
+
+    private static final ZonedDateTime FIRST_OF_JANUARY = ZonedDateTime.of(2013, 1, 1, 14, 30, 0, 0, ZoneId.systemDefault())
+
+    private static final StackTraceElement[] STACK_TRACE = [
+            new StackTraceElement("com.acme.checkout.WhenCheckingOut", "should_fail", "WhenCheckingOut.java", 42),
+            new StackTraceElement("org.junit.runners.ParentRunner", "run", "ParentRunner.java", 363)
+    ]
+
+    def converter = new JUnitXMLConverter()
+
+    class SomeTestScenario {
+        public void should_pass() {}
+
+        public void should_fail() {}
+
+        public void should_fail_without_a_message() {}
+
+        public void should_report_an_error() {}
+
+        public void should_be_compromised() {}
+
+        public void should_be_skipped() {}
+
+        public void should_be_flaky() {}
+    }
+
+    def "should write passing, failing, broken, compromised, skipped and flaky tests in the same way as before"() {
+        given:
+            def outcomes = [
+                    passingTest("should_pass"),
+                    testFailingWith("should_fail", "java.lang.AssertionError", "Expected 1 but was 2", TestResult.FAILURE),
+                    testFailingWith("should_fail_without_a_message", "java.lang.AssertionError", null, TestResult.FAILURE),
+                    testFailingWith("should_report_an_error", "java.lang.IllegalStateException", "Could not connect to the database", TestResult.ERROR),
+                    testFailingWith("should_be_compromised", "net.serenitybdd.core.exceptions.TestCompromisedException", "The test environment is not available", TestResult.COMPROMISED),
+                    skippedTest("should_be_skipped"),
+                    flakyTest("should_be_flaky")
+            ]
+        when:
+            def report = junitXMLReportFor(outcomes)
+        then:
+            report == goldenFile("test-suite.xml")
+    }
+
+    def "should escape failure messages in the same way as before"() {
+        given:
+            def message = "Expected: \"<b>\" & 'c'\n\tbut: was \u001b[31mred\u001b[0m"
+            def outcomes = [testFailingWith("should_fail", "java.lang.AssertionError", message, TestResult.FAILURE)]
+        when:
+            def report = junitXMLReportFor(outcomes)
+        then:
+            report == goldenFile("escaped-failure-message.xml")
+    }
+
+    def "should write a well-formed test suite when there are no outcomes"() {
+        when:
+            def report = junitXMLReportFor([])
+        then:
+            report == '<?xml version="1.0" encoding="UTF-8" standalone="no"?><testsuite errors="0" failures="0" name="SomeTestScenario" skipped="0" tests="0" time="0.0"/>'
+        and:
+            def testSuite = parsed(report).documentElement
+            testSuite.tagName == "testsuite"
+            testSuite.getAttribute("tests") == "0"
+            testSuite.childNodes.length == 0
+    }
+
+    def "should write failure messages that parse back to the original text"() {
+        given:
+            def message = "Expected: \"<b>\" & 'c'\n\tbut: was \ud83d\ude00"
+            def outcomes = [testFailingWith("should_fail", "java.lang.AssertionError", message, TestResult.FAILURE)]
+        when:
+            def failure = parsed(junitXMLReportFor(outcomes)).getElementsByTagName("failure").item(0)
+        then:
+            failure.getAttribute("message") == message
+            failure.textContent == message
+    }
+
+    def "should write the report to an output stream as UTF-8"() {
+        given:
+            def outcomes = [testFailingWith("should_fail", "java.lang.AssertionError", "Expected caf\u00e9", TestResult.FAILURE)]
+            def outputStream = new ByteArrayOutputStream()
+        when:
+            converter.write("SomeTestScenario", outcomes, outputStream)
+        then:
+            outputStream.toString("UTF-8").contains('<failure message="Expected caf\u00e9" type="java.lang.AssertionError">Expected caf\u00e9</failure>')
+    }
+
+    private String junitXMLReportFor(List<TestOutcome> outcomes) {
+        def writer = new StringWriter()
+        converter.write("SomeTestScenario", outcomes, writer)
+        return writer.toString().replace(System.lineSeparator(), "\n")
+    }
+
+    private static parsed(String report) {
+        def builder = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+        return builder.parse(new ByteArrayInputStream(report.getBytes("UTF-8")))
+    }
+
+    private String goldenFile(String name) {
+        return getClass().getResource("/junit-reports/" + name).getText("UTF-8").trim()
+    }
+
+    private TestOutcome testOutcome(String methodName, long duration) {
+        def testOutcome = TestOutcome.forTest(methodName, SomeTestScenario.class)
+        testOutcome.startTime = FIRST_OF_JANUARY
+        testOutcome.duration = duration
+        return testOutcome
+    }
+
+    private TestOutcome passingTest(String methodName) {
+        def testOutcome = testOutcome(methodName, 1000)
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1"))
+        return testOutcome
+    }
+
+    private TestOutcome skippedTest(String methodName) {
+        def testOutcome = testOutcome(methodName, 250)
+        testOutcome.recordStep(TestStepFactory.skippedTestStepCalled("step 1"))
+        return testOutcome
+    }
+
+    private TestOutcome testFailingWith(String methodName, String errorType, String message, TestResult result) {
+        def testOutcome = testOutcome(methodName, (result == TestResult.FAILURE) ? 500 : 250)
+        testOutcome.appendTestFailure(failureCause(errorType, message, result))
+        return testOutcome
+    }
+
+    private TestOutcome flakyTest(String methodName) {
+        def testOutcome = testOutcome(methodName, 250)
+        testOutcome.addTag(TestTag.withName("Retries: 1").andType("unstable test"))
+        testOutcome.setFlakyTestFailureCause(failureCause("java.lang.AssertionError", "Flaky test assertion error", TestResult.FAILURE))
+        testOutcome.recordStep(TestStepFactory.flakyTestStepCalled("UNSTABLE TEST:FailureHistory"))
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1"))
+        return testOutcome
+    }
+
+    private static TestFailureCause failureCause(String errorType, String message, TestResult result) {
+        def rootCause = new FailureCause(errorType, message, STACK_TRACE)
+        return new TestFailureCause(null, rootCause, errorType, message, result)
+    }
+}
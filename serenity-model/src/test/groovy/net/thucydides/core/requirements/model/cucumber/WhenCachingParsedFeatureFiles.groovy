@@ -0,0 +1,73 @@
+package net.thucydides.core.requirements.model.cucumber
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class WhenCachingParsedFeatureFiles extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder
+
+    def invalidFeatureFile = "src/test/resources/features/maintain_my_todo_list/invalid.feature"
+
+    File featureFile
+
+    def setup() {
+        featureFile = temporaryFolder.newFile("buying_things.feature")
+        featureFile.text = """Feature: Buying things
+
+  Scenario: Buying a single item
+    Given I have an empty cart
+    When I add an item
+    Then I should have one item in my cart
+"""
+    }
+
+    def "should reuse a feature file that has already been parsed"() {
+        given:
+            def parser = new CucumberParser()
+            def firstFeature = parser.loadFeature(featureFile)
+            def hitsBefore = ParsedFeatureCache.hitCount
+        when:
+            def secondFeature = new CucumberParser().loadFeature(featureFile)
+        then:
+            secondFeature.get().is(firstFeature.get())
+        and:
+            ParsedFeatureCache.hitCount == hitsBefore + 1
+    }
+
+    def "should parse a feature file again when it has been modified"() {
+        given:
+            def parser = new CucumberParser()
+            parser.loadFeature(featureFile)
+        when:
+            featureFile.text = featureFile.text.replace("Feature: Buying things", "Feature: Buying lots of things")
+            def updatedFeature = parser.loadFeature(featureFile)
+        then:
+            updatedFeature.get().feature.name == "Buying lots of things"
+    }
+
+    def "should parse the feature files in the requirements directories in advance"() {
+        given:
+            def missesBefore = ParsedFeatureCache.missCount
+        when:
+            ParsedFeatureCache.warmUpFrom([temporaryFolder.root.absolutePath])
+            new CucumberParser().loadFeature(featureFile)
+        then:
+            ParsedFeatureCache.missCount == missesBefore + 1
+    }
+
+    def "should report a syntax error each time an invalid feature file is loaded"() {
+        given:
+            def parser = new CucumberParser()
+        when:
+            parser.loadFeature(new File(invalidFeatureFile))
+        then:
+            thrown(InvalidFeatureFileException)
+        when:
+            parser.loadFeature(new File(invalidFeatureFile))
+        then:
+            thrown(InvalidFeatureFileException)
+    }
+}
@@ -1,6 +1,9 @@
 package net.thucydides.core.reports;
 
 import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.util.MockEnvironmentVariables;
 import org.hamcrest.Matcher;
 import org.junit.Before;
 import org.junit.Rule;
@@ -12,7 +15,9 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -94,6 +99,50 @@ public class WhenUsingAReportService {
         verify(reporter).setOutputDirectory(outputDirectory);
     }
 
+    @Test
+    public void reports_can_be_written_in_the_background() throws Exception {
+        List<TestOutcome> testOutcomeResults = new ArrayList<>();
+        for(int i = 0; i < 10; i++) {
+            testOutcomeResults.add(TestOutcome.forTest("test" + i, ATestCase.class));
+        }
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.background.reporting", "true");
+        long writtenBatches = ReportPipeline.getWrittenBatchCount();
+
+        ReportService reportService = new ReportService(outputDirectory, new ArrayList<AcceptanceTestReporter>(), environmentVariables);
+        reportService.subscribe(reporter);
+        reportService.generateReportsFor(testOutcomeResults);
+
+        assertThat(ReportPipeline.awaitPendingReports(Duration.ofSeconds(30)), is(true));
+        verify(reporter, times(10)).generateReportFor(Matchers.any(TestOutcome.class));
+        assertThat(ReportPipeline.getQueueDepth(), is(0));
+        assertThat(ReportPipeline.getWrittenBatchCount(), greaterThan(writtenBatches));
+    }
+
+    @Test
+    public void reports_written_in_the_background_should_not_see_later_changes_to_the_test_outcomes() throws Exception {
+        TestOutcome outcome = TestOutcome.forTest("test", ATestCase.class);
+        outcome.recordStep(TestStep.forStepCalled("a passing step").withResult(TestResult.SUCCESS));
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.background.reporting", "true");
+        List<TestOutcome> reportedOutcomes = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            reportedOutcomes.add((TestOutcome) invocation.getArguments()[0]);
+            return null;
+        }).when(reporter).generateReportFor(Matchers.any(TestOutcome.class));
+
+        ReportService reportService = new ReportService(outputDirectory, new ArrayList<AcceptanceTestReporter>(), environmentVariables);
+        reportService.subscribe(reporter);
+        reportService.generateReportsFor(Collections.singletonList(outcome));
+        outcome.recordStep(TestStep.forStepCalled("a failing step").withResult(TestResult.FAILURE));
+
+        assertThat(ReportPipeline.awaitPendingReports(Duration.ofSeconds(30)), is(true));
+        assertThat(reportedOutcomes, hasSize(1));
+        assertThat(reportedOutcomes.get(0), is(not(sameInstance(outcome))));
+        assertThat(reportedOutcomes.get(0).getTestSteps(), hasSize(1));
+        assertThat(reportedOutcomes.get(0).getResult(), is(TestResult.SUCCESS));
+    }
+
     @Test
     public void default_reporters_should_include_xml_html_and_json() {
         List reporters = ReportService.getDefaultReporters();
@@ -11,6 +11,10 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -515,4 +519,27 @@ public class WhenReadingAnXMLReport {
         assertThat(testOutcome.get().getTitleWithLinks(), is("Search for news [euro]"));
     }
 
+    static class ASampleTestCase {}
+
+    @Test
+    public void reports_should_be_written_and_read_back_from_several_threads_at_once() throws Exception {
+        List<String> titles = IntStream.range(0, 20).parallel()
+                .mapToObj(i -> {
+                    TestOutcome outcome = TestOutcome.forTest("should_do_thing_" + i, ASampleTestCase.class);
+                    TestStep step = new TestStep("step " + i);
+                    step.setResult(TestResult.SUCCESS);
+                    outcome.recordStep(step);
+                    try {
+                        File report = outcomeReporter.generateReportFor(outcome);
+                        return outcomeReporter.loadReportFrom(report).get().getTitle();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+
+        assertThat(titles.size(), is(20));
+        assertThat(titles, hasItems("Should do thing 0", "Should do thing 19"));
+    }
+
 }
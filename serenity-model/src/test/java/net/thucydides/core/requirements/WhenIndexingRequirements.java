@@ -0,0 +1,65 @@
+package net.thucydides.core.requirements;
+
+import net.serenitybdd.core.collect.NewList;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.requirements.model.Requirement;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WhenIndexingRequirements {
+
+    Requirement addItem = Requirement.named("Add an item").withType("feature").withNarrative("")
+            .withPath("grow_apples/add_an_item.feature")
+            .definedInFile(new File("add_an_item.feature"));
+
+    Requirement removeItem = Requirement.named("Remove an item").withType("feature").withNarrative("")
+            .withPath("grow_apples/remove_an_item.feature");
+
+    Requirement growApples = Requirement.named("Grow apples").withType("capability").withNarrative("")
+            .withPath("grow_apples")
+            .withChildren(NewList.of(addItem, removeItem));
+
+    Requirement growFruit = Requirement.named("Grow fruit").withType("theme").withNarrative("")
+            .withChildren(NewList.of(growApples));
+
+    RequirementsIndex index = RequirementsIndex.of(NewList.of(growFruit));
+
+    @Test
+    public void should_find_requirements_by_feature_file_name_ignoring_case() {
+        assertThat(index.withFeatureFileName("ADD_AN_ITEM.feature")).contains(addItem);
+    }
+
+    @Test
+    public void should_find_requirements_by_path() {
+        assertThat(index.withPath(Paths.get("grow_apples/remove_an_item.feature"))).contains(removeItem);
+        assertThat(index.withFeatureFilePath(Paths.get("add_an_item.feature"))).contains(addItem);
+    }
+
+    @Test
+    public void should_find_requirements_by_name_and_type() {
+        assertThat(index.withNameAndType("grow APPLES", "Capability")).contains(growApples);
+        assertThat(index.withNameAndType("grow apples", "feature")).isEmpty();
+    }
+
+    @Test
+    public void should_find_requirements_by_tag() {
+        assertThat(index.matchingTag(TestTag.withName("Grow apples").andType("capability"))).contains(growApples);
+        assertThat(index.matchingTag(TestTag.withName("Grow apples").andType("theme"))).isEmpty();
+    }
+
+    @Test
+    public void should_find_the_ancestors_of_a_requirement() {
+        assertThat(index.parentOf(addItem)).contains(growApples);
+        assertThat(index.ancestorsOf(addItem)).containsExactly(growApples, growFruit);
+        assertThat(index.ancestorsOf(growFruit)).isEmpty();
+    }
+
+    @Test
+    public void should_prefer_the_requirement_that_appears_first_in_the_tree() {
+        assertThat(index.earliestOf(index.withId("Remove an item"), index.withId("Grow apples"))).contains(growApples);
+    }
+}
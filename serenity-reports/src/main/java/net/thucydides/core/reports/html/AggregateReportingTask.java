@@ -9,6 +9,7 @@ import net.thucydides.core.util.EnvironmentVariables;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_GENERATE_CSV_REPORTS;
 import static net.thucydides.core.reports.html.ReportNameProvider.NO_CONTEXT;
@@ -18,6 +19,11 @@ public class AggregateReportingTask extends BaseReportingTask implements Reporti
     private static final String HOME_PAGE_TEMPLATE_PATH = "freemarker/home.ftl";
     private static final String BUILD_INFO_TEMPLATE_PATH = "freemarker/build-info.ftl";
 
+    /**
+     * The home page and the text summary both report on the whole test run, so they are always regenerated together.
+     */
+    static final String OVERVIEW_REPORTS = "overview";
+
     private final RequirementsService requirementsService;
     private final TestOutcomes testOutcomes;
 
@@ -51,4 +57,9 @@ public class AggregateReportingTask extends BaseReportingTask implements Reporti
          LOGGER.debug("Aggregate reports generated in {} ms ", stopwatch.stop());
     }
 
+    @Override
+    public Optional<ReportInputs> getInputs() {
+        return Optional.of(ReportInputs.forReport("index.html").dependingOn(testOutcomes).inGroup(OVERVIEW_REPORTS));
+    }
+
 }
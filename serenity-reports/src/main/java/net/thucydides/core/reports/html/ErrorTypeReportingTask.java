@@ -9,6 +9,7 @@ import net.thucydides.core.util.EnvironmentVariables;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 import static net.thucydides.core.reports.html.ReportNameProvider.NO_CONTEXT;
 
@@ -48,4 +49,9 @@ public class ErrorTypeReportingTask extends BaseReportingTask implements Reporti
 
         LOGGER.debug("Error type reports generated in {} ms ", stopwatch.stop());
     }
+
+    @Override
+    public Optional<ReportInputs> getInputs() {
+        return Optional.of(ReportInputs.forReport(filename).dependingOn(testOutcomes));
+    }
 }
@@ -17,6 +17,7 @@ import net.thucydides.core.reports.OutcomeFormat;
 import net.thucydides.core.reports.ReportOptions;
 import net.thucydides.core.requirements.RequirementsService;
 import net.thucydides.core.requirements.model.Requirement;
+import net.thucydides.core.screenshots.CompressedPageSource;
 import net.thucydides.core.tags.BreadcrumbTagFilter;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.util.Inflector;
@@ -121,6 +122,7 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
                 getOutputDirectory());
 
         copyResourcesToOutputDirectory();
+        CompressedPageSource.decompressLinkedPageSourceFor(storedTestOutcome, getOutputDirectory().toPath());
 
         return generateReportPage(context, DEFAULT_ACCEPTANCE_TEST_REPORT, reportFilename);
     }
@@ -7,6 +7,8 @@ import net.serenitybdd.reports.model.FrequentFailures;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.issues.IssueTracking;
 import net.thucydides.core.model.ReportType;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestOutcomeReportSummary;
 import net.thucydides.core.model.TestTag;
 import net.thucydides.core.reports.*;
 import net.thucydides.core.requirements.DefaultRequirements;
@@ -24,6 +26,7 @@ import java.io.IOException;
 import java.nio.file.CopyOption;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -58,6 +61,11 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private FormatConfiguration formatConfiguration;
     private boolean generateTestOutcomeReports = false;
 
+    /**
+     * In streaming mode, the number of test outcome files that are loaded and reported on together.
+     */
+    private static final int STREAMED_OUTCOMES_PER_GROUP = 256;
+
     public static final CopyOption[] COPY_OPTIONS = new CopyOption[]{StandardCopyOption.COPY_ATTRIBUTES};
 
     public HtmlAggregateStoryReporter(final String projectName) {
@@ -126,14 +134,17 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
 
         LOGGER.debug("Copied screenshots after {}", stopwatch.lapTimeFormatted());
 
-        TestOutcomes allTestOutcomes = loadTestOutcomesFrom(sourceDirectory);
-
-        if (!isEmpty(tags)) {
-            allTestOutcomes = allTestOutcomes.withTags(getTags());
+        boolean streamTestOutcomeReports = generateTestOutcomeReports && useStreamingReports();
+        TestOutcomes allTestOutcomes;
+        if (streamTestOutcomeReports) {
+            allTestOutcomes = generateStreamedTestOutcomeReportsFrom(sourceDirectory);
+            LOGGER.debug("Generated streamed test outcome reports after {}", stopwatch.lapTimeFormatted());
+        } else {
+            allTestOutcomes = withSelectedTags(loadTestOutcomesFrom(sourceDirectory));
+            LOGGER.debug("Loaded test outcomes after {}", stopwatch.lapTimeFormatted());
         }
-        LOGGER.debug("Loaded test outcomes after {}", stopwatch.lapTimeFormatted());
 
-        generateReportsForTestResultsIn(allTestOutcomes);
+        generateReportsForTestResultsIn(allTestOutcomes, !streamTestOutcomeReports);
 
         LOGGER.debug("Generated reports after {}", stopwatch.lapTimeFormatted());
 
@@ -144,12 +155,54 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         CopyFiles.from(sourceDirectory).to(getOutputDirectory());
     }
 
+    private boolean incrementalReporting() {
+        return ThucydidesSystemProperty.SERENITY_INCREMENTAL_REPORTS.booleanFrom(environmentVariables, false);
+    }
+
+    private boolean useStreamingReports() {
+        return ThucydidesSystemProperty.SERENITY_REPORT_STREAMING.booleanFrom(environmentVariables, false)
+                && getFormat() == OutcomeFormat.JSON;
+    }
+
+    private TestOutcomes withSelectedTags(TestOutcomes testOutcomes) {
+        return isEmpty(tags) ? testOutcomes : testOutcomes.withTags(getTags());
+    }
+
+    /**
+     * Read each test outcome file once, a group at a time, and generate the test outcome pages for each group while
+     * the full outcomes are in memory. Only a summary of each outcome is kept for the aggregate pages.
+     */
+    private TestOutcomes generateStreamedTestOutcomeReportsFrom(File sourceDirectory) {
+        List<TestOutcomeReportSummary> summaries = new ArrayList<>();
+        new TestOutcomeLoader(environmentVariables).forFormat(getFormat()).loadInGroupsFrom(
+                sourceDirectory,
+                STREAMED_OUTCOMES_PER_GROUP,
+                outcomes -> summaries.addAll(generateTestOutcomeReportsAndSummarize(outcomes))
+        );
+        LOGGER.debug("Generated streamed test outcome reports for {} tests", summaries.size());
+        return TestOutcomes.of(summaries.stream().map(TestOutcomeReportSummary::asTestOutcome).collect(Collectors.toList()));
+    }
+
+    private List<TestOutcomeReportSummary> generateTestOutcomeReportsAndSummarize(List<TestOutcome> outcomes) {
+        TestOutcomes selectedOutcomes = withSelectedTags(TestOutcomes.of(outcomes));
+        Reporter.generateReportsFor(HtmlTestOutcomeReportingTask.testOutcomeReportsFor(selectedOutcomes)
+                .using(environmentVariables, requirements.getRequirementsService(), getOutputDirectory(), issueTracking));
+        return selectedOutcomes.getOutcomes().stream()
+                .map(TestOutcomeReportSummary::of)
+                .collect(Collectors.toList());
+    }
+
     public void generateReportsForTestResultsIn(TestOutcomes testOutcomes) throws IOException {
+        generateReportsForTestResultsIn(testOutcomes, generateTestOutcomeReports);
+    }
+
+    private void generateReportsForTestResultsIn(TestOutcomes testOutcomes, boolean includeTestOutcomeReports) throws IOException {
 
         Stopwatch stopwatch = Stopwatch.started();
         LOGGER.debug("Generating test results for {} tests", testOutcomes.getTestCount());
 
-        FreemarkerContext context = new FreemarkerContext(environmentVariables, requirements.getRequirementsService(), issueTracking, relativeLink);
+        FreemarkerContext context = new FreemarkerContext(environmentVariables, requirements.getRequirementsService(), issueTracking, relativeLink)
+                .sharedForReportsOn(testOutcomes);
 
         RequirementsOutcomes requirementsOutcomes = requirements.getRequirementsOutcomeFactory().buildRequirementsOutcomesFrom(testOutcomes);
 
@@ -164,8 +217,8 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
 
         Set<ReportingTask> reportingTasks = new CopyOnWriteArraySet<>();
 
-        LOGGER.debug("Generating test outcome reports: " + generateTestOutcomeReports);
-        if (generateTestOutcomeReports) {
+        LOGGER.debug("Generating test outcome reports: " + includeTestOutcomeReports);
+        if (includeTestOutcomeReports) {
             reportingTasks.addAll(HtmlTestOutcomeReportingTask.testOutcomeReportsFor(testOutcomes).using(environmentVariables, requirements.getRequirementsService(), getOutputDirectory(), issueTracking));
         }
 
@@ -209,7 +262,14 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
                 )
         );
 
-        Reporter.generateReportsFor(reportingTasks);
+        if (incrementalReporting()) {
+            IncrementalReports incrementalReports = IncrementalReports.in(getOutputDirectory(), testOutcomes, knownRequirementReportNames, environmentVariables);
+            Collection<ReportingTask> tasksToRegenerate = incrementalReports.tasksToRegenerateFrom(reportingTasks);
+            incrementalReports.recordGenerated(Reporter.generateReportsFor(tasksToRegenerate), tasksToRegenerate);
+        } else {
+            Reporter.generateReportsFor(reportingTasks);
+        }
+        LOGGER.debug("{} report context values reused across report pages", context.getReusedComputationCount());
         LOGGER.info("Test results for {} tests generated in {} in directory: {}", testOutcomes.getTestCount(), stopwatch.executionTimeFormatted(), getOutputDirectory().toURI());
     }
 
@@ -1,6 +1,7 @@
 package net.thucydides.core.reports.html;
 
 import net.thucydides.core.issues.IssueTracking;
+import net.thucydides.core.model.ReportType;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.reports.TestOutcomes;
 import net.thucydides.core.requirements.RequirementsService;
@@ -11,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 public class HtmlTestOutcomeReportingTask implements ReportingTask {
@@ -20,6 +22,7 @@ public class HtmlTestOutcomeReportingTask implements ReportingTask {
     private final RequirementsService requirementsService;
     private final EnvironmentVariables environmentVariables;
     private final IssueTracking issueTracking;
+    private final ReportInputs inputs;
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(HtmlTestOutcomeReportingTask.class);
 
@@ -29,13 +32,12 @@ public class HtmlTestOutcomeReportingTask implements ReportingTask {
         this.requirementsService = requirementsService;
         this.environmentVariables = environmentVariables;
         this.issueTracking = issueTracking;
+        this.inputs = ReportInputs.forReport(testOutcome.getReportName(ReportType.HTML)).dependingOn(testOutcome);
     }
 
-
     @Override
     public void generateReports() throws IOException {
 
-
         HtmlAcceptanceTestReporter reporter = new HtmlAcceptanceTestReporter(environmentVariables,
                                                                              requirementsService,
                                                                              issueTracking);
@@ -44,6 +46,15 @@ public class HtmlTestOutcomeReportingTask implements ReportingTask {
         reporter.generateReportFor(testOutcome);
     }
 
+    @Override
+    public Optional<ReportInputs> getInputs() {
+        return Optional.of(inputs);
+    }
+
+    @Override
+    public String toString() {
+        return "Test outcome report for " + testOutcome.getId();
+    }
 
     public static TestOutcomeReportBuilder testOutcomeReportsFor(TestOutcomes testOutcomes) {
         return new TestOutcomeReportBuilder(testOutcomes);
@@ -0,0 +1,201 @@
+package net.thucydides.core.reports.html;
+
+import net.thucydides.core.digest.Digest;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.util.VersionProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which aggregate report pages need to be regenerated, using a manifest written to the output directory
+ * at the end of the previous run. The manifest records a digest of each test outcome, and, for each report that
+ * declares its inputs, a digest of the outcomes and tags it was generated from. A report is regenerated when this
+ * digest changes, when its report file is missing, or when another report in the same group is regenerated.
+ * Any change to the tags, the requirements or the Serenity configuration invalidates every report.
+ */
+class IncrementalReports {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalReports.class);
+
+    static final String MANIFEST_FILE = "serenity-report-manifest.properties";
+
+    private static final String FINGERPRINT_KEY = "fingerprint";
+    private static final String OUTCOME_PREFIX = "outcome.";
+    private static final String REPORT_PREFIX = "report.";
+
+    private static final List<String> CONFIGURATION_PREFIXES = Arrays.asList("serenity.", "thucydides.", "report.", "jira.");
+
+    private final File outputDirectory;
+    private final Properties previousManifest;
+    private final String fingerprint;
+    private final Map<TestOutcome, String> outcomeDigests = new IdentityHashMap<>();
+    private final Map<String, String> currentReportDigests = new HashMap<>();
+    private final Map<String, String> reportGroups = new HashMap<>();
+    private final Map<ReportingTask, ReportInputs> declaredInputs = new IdentityHashMap<>();
+
+    private IncrementalReports(File outputDirectory,
+                               TestOutcomes testOutcomes,
+                               Collection<String> knownRequirementReportNames,
+                               EnvironmentVariables environmentVariables) {
+        this.outputDirectory = outputDirectory;
+        this.previousManifest = loadManifestFrom(outputDirectory.toPath().resolve(MANIFEST_FILE));
+        testOutcomes.getOutcomes().forEach(
+                outcome -> outcomeDigests.put(outcome, ReportInputs.digestOf(outcome))
+        );
+        this.fingerprint = fingerprintOf(testOutcomes, knownRequirementReportNames, environmentVariables);
+    }
+
+    static IncrementalReports in(File outputDirectory,
+                                 TestOutcomes testOutcomes,
+                                 Collection<String> knownRequirementReportNames,
+                                 EnvironmentVariables environmentVariables) {
+        return new IncrementalReports(outputDirectory, testOutcomes, knownRequirementReportNames, environmentVariables);
+    }
+
+    /**
+     * The reporting tasks that need to run: tasks that do not declare their inputs, and tasks whose inputs have changed.
+     */
+    Collection<ReportingTask> tasksToRegenerateFrom(Collection<ReportingTask> reportingTasks) {
+        boolean sameConfiguration = fingerprint.equals(previousManifest.getProperty(FINGERPRINT_KEY));
+
+        Set<ReportingTask> tasksToRegenerate = new LinkedHashSet<>();
+        Set<String> staleGroups = new HashSet<>();
+        for (ReportingTask reportingTask : reportingTasks) {
+            Optional<ReportInputs> taskInputs = reportingTask.getInputs();
+            if (!taskInputs.isPresent()) {
+                tasksToRegenerate.add(reportingTask);
+                continue;
+            }
+            ReportInputs inputs = taskInputs.get();
+            declaredInputs.put(reportingTask, inputs);
+            String digest = inputs.digestUsing(this::digestOf, fingerprint);
+            currentReportDigests.put(inputs.getReportName(), digest);
+            inputs.getGroup().ifPresent(group -> reportGroups.put(inputs.getReportName(), group));
+
+            if (!sameConfiguration || !isUpToDate(inputs, digest)) {
+                tasksToRegenerate.add(reportingTask);
+                inputs.getGroup().ifPresent(staleGroups::add);
+            }
+        }
+
+        declaredInputs.forEach(
+                (reportingTask, inputs) -> {
+                    if (inputs.getGroup().filter(staleGroups::contains).isPresent()) {
+                        tasksToRegenerate.add(reportingTask);
+                    }
+                }
+        );
+
+        LOGGER.info("Incremental reporting: regenerating {} of {} reports ({} of {} test outcomes changed)",
+                tasksToRegenerate.size(), reportingTasks.size(), changedOutcomeCount(), outcomeDigests.size());
+
+        return tasksToRegenerate;
+    }
+
+    /**
+     * Write the manifest for the next run. Reports that were due to be regenerated but did not complete are left
+     * out of the manifest, along with the other reports in their group, so that they are regenerated next time.
+     */
+    void recordGenerated(Collection<ReportingTask> regeneratedTasks, Collection<ReportingTask> tasksToRegenerate) {
+        Set<String> failedReports = tasksToRegenerate.stream()
+                .filter(task -> !regeneratedTasks.contains(task))
+                .filter(declaredInputs::containsKey)
+                .map(task -> declaredInputs.get(task).getReportName())
+                .collect(Collectors.toSet());
+        Set<String> failedGroups = failedReports.stream()
+                .map(reportGroups::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Properties manifest = new Properties();
+        manifest.setProperty(FINGERPRINT_KEY, fingerprint);
+        outcomeDigests.forEach(
+                (outcome, digest) -> manifest.setProperty(OUTCOME_PREFIX + outcome.getId(), digest)
+        );
+        currentReportDigests.forEach(
+                (reportName, digest) -> {
+                    if (!failedReports.contains(reportName) && !failedGroups.contains(reportGroups.get(reportName))) {
+                        manifest.setProperty(REPORT_PREFIX + reportName, digest);
+                    }
+                }
+        );
+        saveManifest(manifest);
+    }
+
+    private boolean isUpToDate(ReportInputs inputs, String digest) {
+        return digest.equals(previousManifest.getProperty(REPORT_PREFIX + inputs.getReportName()))
+                && new File(outputDirectory, inputs.getReportName()).exists();
+    }
+
+    private String digestOf(TestOutcome outcome) {
+        String digest = outcomeDigests.get(outcome);
+        return (digest != null) ? digest : ReportInputs.digestOf(outcome);
+    }
+
+    private long changedOutcomeCount() {
+        return outcomeDigests.entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(previousManifest.getProperty(OUTCOME_PREFIX + entry.getKey().getId())))
+                .count();
+    }
+
+    /**
+     * Every page shows the tag menus, requirement links and configuration of the whole run,
+     * so a change to any of these means that every page has to be regenerated.
+     */
+    private static String fingerprintOf(TestOutcomes testOutcomes,
+                                        Collection<String> knownRequirementReportNames,
+                                        EnvironmentVariables environmentVariables) {
+        StringBuilder fingerprint = new StringBuilder(new VersionProvider(environmentVariables).getVersion()).append('\n');
+        testOutcomes.getTags().stream()
+                .map(TestTag::getCompleteName)
+                .sorted()
+                .forEach(tag -> fingerprint.append(tag).append('\n'));
+        knownRequirementReportNames.stream()
+                .sorted()
+                .forEach(reportName -> fingerprint.append(reportName).append('\n'));
+        environmentVariables.getKeys().stream()
+                .filter(key -> CONFIGURATION_PREFIXES.stream().anyMatch(key::startsWith))
+                .sorted()
+                .forEach(key -> fingerprint.append(key).append('=').append(environmentVariables.getProperty(key)).append('\n'));
+        return Digest.ofTextValue(fingerprint.toString());
+    }
+
+    private static Properties loadManifestFrom(Path manifestFile) {
+        Properties manifest = new Properties();
+        if (Files.exists(manifestFile)) {
+            try (InputStream in = Files.newInputStream(manifestFile)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                LOGGER.warn("Could not read the report manifest {} - all reports will be regenerated: {}", manifestFile, e.getMessage());
+                return new Properties();
+            }
+        }
+        return manifest;
+    }
+
+    private void saveManifest(Properties manifest) {
+        Path manifestFile = outputDirectory.toPath().resolve(MANIFEST_FILE);
+        try {
+            Path temporaryFile = Files.createTempFile(outputDirectory.toPath(), MANIFEST_FILE, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+                manifest.store(out, "Serenity incremental report manifest");
+            }
+            Files.move(temporaryFile, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the report manifest {}: {}", manifestFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package net.thucydides.core.reports.html;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import net.serenitybdd.core.buildinfo.BuildProperties;
+import net.serenitybdd.reports.model.*;
+import net.thucydides.core.model.ReportType;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.ReportOptions;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.requirements.RequirementsService;
+import net.thucydides.core.requirements.model.Requirement;
+import net.thucydides.core.requirements.reports.ScenarioOutcome;
+import net.thucydides.core.requirements.reports.ScenarioOutcomes;
+import net.thucydides.core.tags.OutcomeTagFilter;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.util.Inflector;
+import net.thucydides.core.util.TagInflector;
+import net.thucydides.core.util.VersionProvider;
+import org.joda.time.DateTime;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static net.serenitybdd.reports.model.DurationsKt.*;
+import static net.thucydides.core.ThucydidesSystemProperty.REPORT_TAGTYPES;
+import static net.thucydides.core.reports.html.HtmlReporter.TIMESTAMP_FORMAT;
+import static net.thucydides.core.reports.html.ReportNameProvider.NO_CONTEXT;
+
+/**
+ * The parts of the Freemarker context that are the same on every page of an aggregate report.
+ * A snapshot is computed once for each report run and shared by all of the reporting tasks, which only add the
+ * values derived from the test outcomes on their own page. Pages that report on the complete set of test outcomes
+ * (such as the home page and the text summary) also share the values derived from these outcomes, whether or not
+ * they filter the tag types; the tag types are shared by the pages that filter them in the same way.
+ * The shared values are never modified once the snapshot has been created, so the snapshot can be used by several
+ * reporting threads at once.
+ */
+final class ReportContextSnapshot {
+
+    private final EnvironmentVariables environmentVariables;
+    private final RequirementsService requirementsService;
+
+    private final Map<String, Object> sharedValues;
+
+    private final List<String> coverageTagTypes;
+    private final Collection<TestTag> requirementTagsOfCoverageTypes;
+    private final List<Requirement> displayedRequirementsOfCoverageTypes;
+
+    private final TestOutcomes allTestOutcomes;
+    private final ReusableValues valuesDerivedFromAllTestOutcomes;
+    private final ReusableValues filteredTagTypesOfAllTestOutcomes;
+    private final ReusableValues tagTypesOfAllTestOutcomes;
+
+    private ReportContextSnapshot(EnvironmentVariables environmentVariables,
+                                  RequirementsService requirements,
+                                  RequirementsService requirementsService,
+                                  BuildProperties buildProperties,
+                                  TestOutcomes allTestOutcomes) {
+        this.environmentVariables = environmentVariables;
+        this.requirementsService = requirementsService;
+        this.allTestOutcomes = allTestOutcomes;
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("absoluteReportName", new ReportNameProvider(NO_CONTEXT, ReportType.HTML, requirements));
+        values.put("reportOptions", new ReportOptions(environmentVariables));
+        values.put("timestamp", new DateTime().toString(TIMESTAMP_FORMAT));
+        values.put("requirementTypes", requirements.getRequirementTypes());
+        values.put("leafRequirementType", last(requirements.getRequirementTypes()));
+
+        VersionProvider versionProvider = new VersionProvider(environmentVariables);
+        values.put("serenityVersionNumber", versionProvider.getVersion());
+        values.put("buildNumber", versionProvider.getBuildNumberText());
+        values.put("build", buildProperties);
+
+        values.put("inflection", Inflector.getInstance());
+        values.put("tagInflector", new TagInflector(environmentVariables));
+        values.put("backgroundColor", new BackgroundColor());
+
+        CustomReportFields customReportFields = new CustomReportFields(environmentVariables);
+        values.put("customFields", customReportFields.getFieldNames());
+        values.put("customFieldValues", customReportFields.getValues());
+        this.sharedValues = Collections.unmodifiableMap(values);
+
+        this.coverageTagTypes = Splitter.on(",")
+                .trimResults()
+                .splitToList(REPORT_TAGTYPES.from(environmentVariables, "feature"));
+        this.requirementTagsOfCoverageTypes = requirements.getTagsOfType(coverageTagTypes);
+
+        RequirementsFilter requirementsFilter = new RequirementsFilter(environmentVariables);
+        this.displayedRequirementsOfCoverageTypes = requirements.getRequirementsWithTagsOfType(coverageTagTypes).stream()
+                .filter(requirementsFilter::inDisplayOnlyTags)
+                .collect(Collectors.toList());
+
+        this.valuesDerivedFromAllTestOutcomes = new ReusableValues(() -> computeValuesDerivedFrom(allTestOutcomes));
+        this.filteredTagTypesOfAllTestOutcomes = new ReusableValues(
+                () -> computeTagTypesFrom(testOutcomesIn(valuesDerivedFromAllTestOutcomes.values.get()), true));
+        this.tagTypesOfAllTestOutcomes = new ReusableValues(
+                () -> computeTagTypesFrom(testOutcomesIn(valuesDerivedFromAllTestOutcomes.values.get()), false));
+    }
+
+    /**
+     * A snapshot shared by every page generated for the given test outcomes.
+     */
+    static ReportContextSnapshot forReportsOn(TestOutcomes allTestOutcomes,
+                                              EnvironmentVariables environmentVariables,
+                                              RequirementsService requirements,
+                                              RequirementsService requirementsService,
+                                              BuildProperties buildProperties) {
+        return new ReportContextSnapshot(environmentVariables, requirements, requirementsService, buildProperties, allTestOutcomes);
+    }
+
+    /**
+     * A snapshot used for a single page, when no snapshot has been prepared for the report run.
+     */
+    static ReportContextSnapshot forSinglePage(EnvironmentVariables environmentVariables,
+                                               RequirementsService requirements,
+                                               RequirementsService requirementsService,
+                                               BuildProperties buildProperties) {
+        return new ReportContextSnapshot(environmentVariables, requirements, requirementsService, buildProperties, null);
+    }
+
+    Map<String, Object> getSharedValues() {
+        return sharedValues;
+    }
+
+    Map<String, Object> valuesDerivedFrom(TestOutcomes completeTestOutcomes, boolean useFiltering) {
+        Map<String, Object> values = new HashMap<>();
+        if (allTestOutcomes != null && completeTestOutcomes == allTestOutcomes) {
+            values.putAll(valuesDerivedFromAllTestOutcomes.get());
+            values.putAll(useFiltering ? filteredTagTypesOfAllTestOutcomes.get() : tagTypesOfAllTestOutcomes.get());
+        } else {
+            Map<String, Object> valuesForThesePages = computeValuesDerivedFrom(completeTestOutcomes);
+            values.putAll(valuesForThesePages);
+            values.putAll(computeTagTypesFrom(testOutcomesIn(valuesForThesePages), useFiltering));
+        }
+        return values;
+    }
+
+    /**
+     * How many context values derived from the test outcomes were reused from the snapshot rather than being
+     * computed again for a page. Values are only counted when their computation was skipped, so the page that
+     * computes them first, and the report-wide values that never depend on the test outcomes, are not counted.
+     */
+    long getReusedComputationCount() {
+        return valuesDerivedFromAllTestOutcomes.reusedComputationCount()
+                + filteredTagTypesOfAllTestOutcomes.reusedComputationCount()
+                + tagTypesOfAllTestOutcomes.reusedComputationCount();
+    }
+
+    private TestOutcomes testOutcomesIn(Map<String, Object> valuesDerivedFromTestOutcomes) {
+        return (TestOutcomes) valuesDerivedFromTestOutcomes.get("testOutcomes");
+    }
+
+    private Map<String, Object> computeTagTypesFrom(TestOutcomes testOutcomes, boolean useFiltering) {
+        if (useFiltering) {
+            return Collections.singletonMap("tagTypes", new TagFilter(environmentVariables).filteredTagTypes(testOutcomes.getTagTypes()));
+        } else {
+            return Collections.singletonMap("tagTypes", testOutcomes.getTagTypes());
+        }
+    }
+
+    private Map<String, Object> computeValuesDerivedFrom(TestOutcomes completeTestOutcomes) {
+        Map<String, Object> values = new HashMap<>();
+        TagFilter tagFilter = new TagFilter(environmentVariables);
+        OutcomeTagFilter outcomeFilter = new OutcomeTagFilter(environmentVariables);
+
+        TestOutcomes testOutcomes = completeTestOutcomes.filteredByEnvironmentTags();
+
+        values.put("testOutcomes", testOutcomes);
+        values.put("allTestOutcomes", testOutcomes.getRootOutcomes());
+
+        values.put("totalTestDuration", formattedDuration(Duration.ofMillis(testOutcomes.getDuration())));
+        values.put("totalClockDuration", formattedDuration(clockDurationOf(testOutcomes.getOutcomes())));
+        values.put("averageTestDuration", formattedDuration(averageDurationOf(testOutcomes.getOutcomes())));
+        values.put("maxTestDuration", formattedDuration(maxDurationOf(testOutcomes.getOutcomes())));
+        values.put("minTestDuration", formattedDuration(minDurationOf(testOutcomes.getOutcomes())));
+
+        values.put("resultCounts", ResultCounts.forOutcomesIn(testOutcomes));
+
+        List<ScenarioOutcome> scenarios = outcomeFilter.scenariosFilteredByTagIn(ScenarioOutcomes.from(testOutcomes));
+        List<ScenarioOutcome> executedScenarios = executedScenariosIn(scenarios);
+
+        values.put("scenarios", scenarios);
+        values.put("filteredScenarios", scenarios);
+        values.put("testCases", executedScenarios);
+        values.put("automatedTestCases", automated(executedScenarios));
+        values.put("manualTestCases", manual(executedScenarios));
+        values.put("evidence", EvidenceData.from(outcomeFilter.outcomesFilteredByTagIn(testOutcomes.getOutcomes())));
+
+        values.put("frequentFailures", FrequentFailures.from(testOutcomes).withMaxOf(5));
+        values.put("unstableFeatures", UnstableFeatures.from(testOutcomes)
+                .withRequirementsFrom(requirementsService)
+                .withMaxOf(5));
+
+        Collection<TestTag> coveredTags = displayedRequirementsOfCoverageTypes.stream()
+                .filter(requirement -> testOutcomes.containTestFor(requirement) || requirement.containsNoScenarios())
+                .map(Requirement::asTag)
+                .collect(Collectors.toSet());
+
+        values.put("coverage", TagCoverage.from(testOutcomes)
+                .showingTags(requirementTagsOfCoverageTypes)
+                .showingTags(coveredTags)
+                .forTagTypes(coverageTagTypes));
+
+        List<? extends TestOutcome> outcomes = testOutcomes.getOutcomes();
+        if (!outcomes.isEmpty()) {
+            values.put("filteredTags", tagFilter.removeHiddenTagsFrom(outcomes.get(outcomes.size() - 1).getTags()));
+        }
+
+        values.put("tagResults", TagResults.from(testOutcomes).groupedByType());
+
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Values that are computed the first time a page needs them, and then reused by the other pages.
+     */
+    private static final class ReusableValues {
+        private final Supplier<Map<String, Object>> values;
+        private final LongAdder uses = new LongAdder();
+
+        ReusableValues(Supplier<Map<String, Object>> computation) {
+            this.values = Suppliers.memoize(computation);
+        }
+
+        Map<String, Object> get() {
+            uses.increment();
+            return values.get();
+        }
+
+        long reusedComputationCount() {
+            long reuses = uses.sum() - 1;
+            return (reuses > 0) ? reuses * values.get().size() : 0;
+        }
+    }
+
+    private String last(List<String> requirementTypes) {
+        return (requirementTypes.size() > 0) ? requirementTypes.get(requirementTypes.size() - 1) : "Feature";
+    }
+
+    private List<ScenarioOutcome> automated(List<ScenarioOutcome> executedScenariosIn) {
+        return executedScenariosIn.stream().filter(scenarioOutcome -> !scenarioOutcome.isManual()).collect(Collectors.toList());
+    }
+
+    private List<ScenarioOutcome> manual(List<ScenarioOutcome> executedScenariosIn) {
+        return executedScenariosIn.stream().filter(ScenarioOutcome::isManual).collect(Collectors.toList());
+    }
+
+    private List<ScenarioOutcome> executedScenariosIn(List<ScenarioOutcome> scenarioOutcomes) {
+        return scenarioOutcomes.stream()
+                .filter(scenarioOutcome -> !scenarioOutcome.getType().equalsIgnoreCase("background"))
+                .collect(Collectors.toList());
+    }
+}
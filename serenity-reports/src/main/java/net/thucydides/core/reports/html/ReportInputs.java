@@ -0,0 +1,106 @@
+package net.thucydides.core.reports.html;
+
+import net.thucydides.core.digest.Digest;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.TestOutcomes;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The test outcomes and tags that a report page is generated from.
+ * When aggregate reports are generated incrementally, a report is only regenerated if the digest of its inputs
+ * has changed since the last run, or if its report file is missing.
+ */
+public class ReportInputs {
+
+    private final String reportName;
+    private final List<? extends TestOutcome> outcomes;
+    private final Collection<TestTag> tags;
+    private final String group;
+
+    private ReportInputs(String reportName, List<? extends TestOutcome> outcomes, Collection<TestTag> tags, String group) {
+        this.reportName = reportName;
+        this.outcomes = outcomes;
+        this.tags = tags;
+        this.group = group;
+    }
+
+    public static ReportInputs forReport(String reportName) {
+        return new ReportInputs(reportName, Collections.emptyList(), Collections.emptySet(), null);
+    }
+
+    public ReportInputs dependingOn(TestOutcomes testOutcomes) {
+        return new ReportInputs(reportName, testOutcomes.getOutcomes(), tags, group);
+    }
+
+    public ReportInputs dependingOn(TestOutcome testOutcome) {
+        return new ReportInputs(reportName, Collections.singletonList(testOutcome), tags, group);
+    }
+
+    public ReportInputs andTags(Collection<TestTag> tags) {
+        return new ReportInputs(reportName, outcomes, tags, group);
+    }
+
+    /**
+     * Reports in the same group are always regenerated together, so that they never show results from different runs.
+     */
+    public ReportInputs inGroup(String group) {
+        return new ReportInputs(reportName, outcomes, tags, group);
+    }
+
+    /**
+     * The name of the report file, relative to the output directory. This also identifies the report in the manifest.
+     */
+    public String getReportName() {
+        return reportName;
+    }
+
+    public Optional<String> getGroup() {
+        return Optional.ofNullable(group);
+    }
+
+    public int getOutcomeCount() {
+        return outcomes.size();
+    }
+
+    String digestUsing(Function<TestOutcome, String> outcomeDigests, String sharedFingerprint) {
+        StringBuilder inputs = new StringBuilder(sharedFingerprint).append('\n');
+        tags.stream()
+            .map(TestTag::getCompleteName)
+            .sorted()
+            .forEach(tag -> inputs.append(tag).append('\n'));
+        outcomes.forEach(
+                outcome -> inputs.append(outcomeDigests.apply(outcome)).append('\n')
+        );
+        return Digest.ofTextValue(inputs.toString());
+    }
+
+    /**
+     * A digest of the parts of a test outcome that appear in the aggregate reports. A test that is run again
+     * always has a new digest, as its start time changes.
+     */
+    static String digestOf(TestOutcome outcome) {
+        String sortedTags = outcome.getTags().stream()
+                                   .map(TestTag::getCompleteName)
+                                   .sorted()
+                                   .collect(Collectors.joining(","));
+        return Digest.ofTextValue(String.join("|",
+                String.valueOf(outcome.getId()),
+                String.valueOf(outcome.getTitle()),
+                String.valueOf(outcome.getResult()),
+                String.valueOf(outcome.getStartTime()),
+                String.valueOf(outcome.getDuration()),
+                String.valueOf(outcome.getOrder()),
+                String.valueOf(outcome.getTestFailureMessage()),
+                String.valueOf(outcome.getTestStepCount()),
+                sortedTags));
+    }
+
+    @Override
+    public String toString() {
+        return "inputs of " + reportName + " (" + outcomes.size() + " test outcomes)";
+    }
+}
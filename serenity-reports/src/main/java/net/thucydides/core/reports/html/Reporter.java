@@ -28,16 +28,20 @@ class Reporter {
         this.reportingTasks = reportingTasks;
     }
 
-    public static void generateReportsFor(Collection<ReportingTask> reportingTasks) {
-        new Reporter(reportingTasks).generateReports();
+    /**
+     * Generate the reports, returning the reporting tasks that completed successfully.
+     */
+    public static Collection<ReportingTask> generateReportsFor(Collection<ReportingTask> reportingTasks) {
+        return new Reporter(reportingTasks).generateReports();
     }
 
-    private void generateReports() {
+    private Collection<ReportingTask> generateReports() {
         Stopwatch stopwatch = Stopwatch.started();
 
         ExecutorService executorPool = Executors.newFixedThreadPool(NumberOfThreads.forIOOperations());
 
         ErrorTally errorTally = new ErrorTally();
+        List<ReportingTask> completedTasks = new ArrayList<>();
         try {
             final List<ReportExecutor> partitions
                     = reportingTasks.stream()
@@ -54,6 +58,7 @@ class Reporter {
             for (ReportExecutorFuture executedTask : futures) {
                 try {
                     executedTask.getFuture().get(timeout.getTimeout(), timeout.getUnit());
+                    completedTasks.add(executedTask.getReportTask());
                 } catch (TimeoutException reportGenerationTimedOut) {
                     String errorMessage = reportFailureMessage("Report generation timed out", executedTask, reportGenerationTimedOut);
                     errorTally.recordReportFailure(errorMessage);
@@ -82,7 +87,7 @@ class Reporter {
                 System.err.println(ThreadDump.forAllThreads());
             }
         }
-
+        return completedTasks;
     }
 
     private boolean showThreaddumpOnReportTimeout() {
@@ -153,6 +158,8 @@ class Reporter {
 
         Future<Void> getFuture() { return future; }
 
+        ReportingTask getReportTask() { return reportTask; }
+
         @Override
         public String toString() {
             return reportTask.toString();
@@ -1,7 +1,16 @@
 package net.thucydides.core.reports.html;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public interface ReportingTask {
     void generateReports() throws IOException;
+
+    /**
+     * The test outcomes and tags that this report is generated from, when the report only needs to be regenerated
+     * if they change. Reports that do not declare their inputs are generated every time.
+     */
+    default Optional<ReportInputs> getInputs() {
+        return Optional.empty();
+    }
 }
@@ -1,6 +1,7 @@
 package net.thucydides.core.reports.html;
 
 import com.google.common.base.Objects;
+import net.serenitybdd.core.collect.NewList;
 import net.thucydides.core.model.TestTag;
 import net.thucydides.core.reports.TestOutcomes;
 import net.thucydides.core.util.EnvironmentVariables;
@@ -8,6 +9,7 @@ import net.thucydides.core.util.EnvironmentVariables;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 public class ResultReportingTask extends BaseReportingTask implements ReportingTask {
 
@@ -54,6 +56,11 @@ public class ResultReportingTask extends BaseReportingTask implements ReportingT
         generateCSVReportFor(testOutcomes, csvReport);
     }
 
+    @Override
+    public Optional<ReportInputs> getInputs() {
+        return Optional.of(ReportInputs.forReport(reportName).dependingOn(testOutcomes).andTags(NewList.of(tag)));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -109,6 +109,13 @@ public class TagReportingTask extends BaseReportingTask implements ReportingTask
         return false;
     }
 
+    @Override
+    public Optional<ReportInputs> getInputs() {
+        return Optional.of(ReportInputs.forReport(reportName)
+                                       .dependingOn(testOutcomes.withTag(tag))
+                                       .andTags(allTags));
+    }
+
     @Override
     public String toString() {
         return "TagReportingTask for " + tag;
@@ -8,6 +8,7 @@ import net.thucydides.core.util.EnvironmentVariables;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 import static net.thucydides.core.reports.html.ReportNameProvider.NO_CONTEXT;
 
@@ -37,6 +38,13 @@ public class TextSummaryReportTask extends BaseReportingTask implements Reportin
         LOGGER.trace("Summary report generated: {} ms", stopwatch.stop());
     }
 
+    @Override
+    public Optional<ReportInputs> getInputs() {
+        return Optional.of(ReportInputs.forReport(TEST_SUMMARY_REPORT_NAME)
+                                       .dependingOn(testOutcomes)
+                                       .inGroup(AggregateReportingTask.OVERVIEW_REPORTS));
+    }
+
     @Override
     public String toString() {
         return "Test Summary Report";
@@ -0,0 +1,70 @@
+package net.thucydides.core.reports.integration
+
+import net.thucydides.core.ThucydidesSystemProperty
+import net.thucydides.core.issues.IssueTracking
+import net.thucydides.core.model.ReportType
+import net.thucydides.core.model.TestResult
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.reports.html.HtmlAggregateStoryReporter
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenGeneratingStreamedAggregateHtmlReports extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder
+
+    def environmentVariables = new MockEnvironmentVariables()
+
+    File sourceDirectory = directoryInClasspathCalled("/test-outcomes/full-json")
+    File outputDirectory
+
+    HtmlAggregateStoryReporter reporter
+
+    def setup() {
+        outputDirectory = temporaryFolder.newFolder("serenity")
+        environmentVariables.setProperty("output.formats", "json")
+        environmentVariables.setProperty(ThucydidesSystemProperty.SERENITY_REPORT_STREAMING.propertyName, "true")
+
+        reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking), environmentVariables)
+        reporter.outputDirectory = outputDirectory
+        reporter.setGenerateTestOutcomeReports()
+    }
+
+    def "should generate a page for each test outcome and the aggregate pages in streaming mode"() {
+        given:
+            def fullOutcomes = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.JSON).loadFrom(sourceDirectory)
+        when:
+            def reportedOutcomes = reporter.generateReportsForTestResultsFrom(sourceDirectory)
+        then:
+            reportedOutcomes.outcomes.size() == fullOutcomes.size()
+        and:
+            fullOutcomes.every { outcome -> new File(outputDirectory, outcome.getReportName(ReportType.HTML)).exists() }
+        and:
+            new File(outputDirectory, "index.html").exists()
+    }
+
+    def "should only keep a summary of each test outcome for the aggregate pages"() {
+        given:
+            def fullOutcomes = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.JSON).loadFrom(sourceDirectory)
+        and: "the source outcomes contain screenshots"
+            assert fullOutcomes.any { outcome -> outcome.flattenedTestSteps.any { step -> !step.screenshots.isEmpty() } }
+        when:
+            def reportedOutcomes = reporter.generateReportsForTestResultsFrom(sourceDirectory)
+        then:
+            reportedOutcomes.outcomes.every { outcome -> outcome.testSteps.every { step -> step.screenshots.isEmpty() && step.children.isEmpty() } }
+        and: "the results, report names and test counts are unchanged"
+            reportedOutcomes.outcomes.collect { [it.id, it.result, it.getReportName(ReportType.HTML), it.testCount] } as Set ==
+                    fullOutcomes.collect { [it.id, it.result, it.getReportName(ReportType.HTML), it.testCount] } as Set
+        and:
+            TestResult.values().every { result ->
+                reportedOutcomes.scenarioCountWithResult(result) == TestOutcomes.of(fullOutcomes).scenarioCountWithResult(result)
+            }
+    }
+}
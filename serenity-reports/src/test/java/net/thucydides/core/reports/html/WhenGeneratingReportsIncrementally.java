@@ -0,0 +1,142 @@
+package net.thucydides.core.reports.html;
+
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WhenGeneratingReportsIncrementally {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File outputDirectory;
+    private EnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+
+    private TestOutcome firstTest;
+    private TestOutcome secondTest;
+
+    @Before
+    public void setupOutcomes() throws IOException {
+        outputDirectory = temporaryFolder.newFolder("site");
+        firstTest = TestOutcome.forTestInStory("first test", Story.called("a story"));
+        secondTest = TestOutcome.forTestInStory("second test", Story.called("another story"));
+    }
+
+    @Test
+    public void should_generate_every_report_the_first_time() {
+        List<ReportingTask> reportingTasks = reportingTasksFor(firstTest, secondTest);
+
+        assertThat(generateReportsIncrementally(reportingTasks)).containsExactlyInAnyOrderElementsOf(reportingTasks);
+    }
+
+    @Test
+    public void should_not_regenerate_reports_whose_outcomes_have_not_changed() {
+        generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        assertThat(generateReportsIncrementally(reportingTasksFor(firstTest, secondTest))).isEmpty();
+    }
+
+    @Test
+    public void should_only_regenerate_the_reports_that_depend_on_a_changed_outcome() {
+        generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        secondTest.setDuration(5000);
+        Collection<ReportingTask> regenerated = generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        assertThat(regenerated).extracting(ReportingTask::toString)
+                               .containsExactlyInAnyOrder("second.html", "index.html", "summary.txt");
+    }
+
+    @Test
+    public void should_regenerate_reports_that_are_missing() {
+        generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        new File(outputDirectory, "first.html").delete();
+        Collection<ReportingTask> regenerated = generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        assertThat(regenerated).extracting(ReportingTask::toString).containsExactly("first.html");
+    }
+
+    @Test
+    public void should_regenerate_the_other_reports_in_a_group_when_one_of_them_is_regenerated() {
+        generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        new File(outputDirectory, "summary.txt").delete();
+        Collection<ReportingTask> regenerated = generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        assertThat(regenerated).extracting(ReportingTask::toString).containsExactlyInAnyOrder("index.html", "summary.txt");
+    }
+
+    @Test
+    public void should_regenerate_every_report_when_the_configuration_changes() {
+        generateReportsIncrementally(reportingTasksFor(firstTest, secondTest));
+
+        environmentVariables.setProperty("serenity.project.name", "A different project");
+
+        assertThat(generateReportsIncrementally(reportingTasksFor(firstTest, secondTest))).hasSize(4);
+    }
+
+    private Collection<ReportingTask> generateReportsIncrementally(List<ReportingTask> reportingTasks) {
+        TestOutcomes testOutcomes = TestOutcomes.of(Arrays.asList(firstTest, secondTest));
+        IncrementalReports incrementalReports = IncrementalReports.in(outputDirectory, testOutcomes, Arrays.asList("a-story.html"), environmentVariables);
+        Collection<ReportingTask> tasksToRegenerate = incrementalReports.tasksToRegenerateFrom(reportingTasks);
+        for (ReportingTask reportingTask : tasksToRegenerate) {
+            try {
+                reportingTask.generateReports();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+        incrementalReports.recordGenerated(tasksToRegenerate, tasksToRegenerate);
+        return tasksToRegenerate;
+    }
+
+    private List<ReportingTask> reportingTasksFor(TestOutcome firstTest, TestOutcome secondTest) {
+        TestOutcomes allOutcomes = TestOutcomes.of(Arrays.asList(firstTest, secondTest));
+        return Arrays.asList(
+                new PageReportingTask(ReportInputs.forReport("first.html").dependingOn(firstTest)),
+                new PageReportingTask(ReportInputs.forReport("second.html").dependingOn(secondTest)),
+                new PageReportingTask(ReportInputs.forReport("index.html").dependingOn(allOutcomes).inGroup("overview")),
+                new PageReportingTask(ReportInputs.forReport("summary.txt").dependingOn(allOutcomes).inGroup("overview"))
+        );
+    }
+
+    private class PageReportingTask implements ReportingTask {
+        private final ReportInputs inputs;
+
+        PageReportingTask(ReportInputs inputs) {
+            this.inputs = inputs;
+        }
+
+        @Override
+        public void generateReports() throws IOException {
+            Files.write(new File(outputDirectory, inputs.getReportName()).toPath(), inputs.getReportName().getBytes());
+        }
+
+        @Override
+        public Optional<ReportInputs> getInputs() {
+            return Optional.of(inputs);
+        }
+
+        @Override
+        public String toString() {
+            return inputs.getReportName();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package net.thucydides.core.reports.html;
+
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.requirements.RequirementsService;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WhenSharingTheReportContext {
+
+    private TestOutcome firstTest;
+    private TestOutcomes allTestOutcomes;
+    private FreemarkerContext freemarkerContext;
+    private ReportNameProvider reportNameProvider = new ReportNameProvider();
+
+    @Before
+    public void setupContext() {
+        firstTest = TestOutcome.forTestInStory("first test", Story.called("a story"));
+        TestOutcome secondTest = TestOutcome.forTestInStory("second test", Story.called("another story"));
+        allTestOutcomes = TestOutcomes.of(Arrays.asList(firstTest, secondTest));
+
+        RequirementsService requirementsService = Injectors.getInjector().getInstance(RequirementsService.class);
+        freemarkerContext = new FreemarkerContext(new MockEnvironmentVariables(), requirementsService, null, "")
+                .sharedForReportsOn(allTestOutcomes);
+    }
+
+    @Test
+    public void pages_reporting_on_all_the_test_outcomes_should_share_the_values_derived_from_them() {
+        Map<String, Object> homePage = freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, true);
+        Map<String, Object> summaryPage = freemarkerContext.withParentTag(TestTag.withName("a story").andType("story"))
+                                                           .getBuildContext(allTestOutcomes, reportNameProvider, true);
+
+        assertThat(summaryPage.get("resultCounts")).isSameAs(homePage.get("resultCounts"));
+        assertThat(summaryPage.get("scenarios")).isSameAs(homePage.get("scenarios"));
+        assertThat(freemarkerContext.getReusedComputationCount()).isGreaterThan(0);
+    }
+
+    @Test
+    public void pages_that_do_not_filter_the_tag_types_should_still_share_the_values_derived_from_all_the_test_outcomes() {
+        Map<String, Object> homePage = freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, true);
+        Map<String, Object> unfilteredPage = freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, false);
+
+        assertThat(unfilteredPage.get("resultCounts")).isSameAs(homePage.get("resultCounts"));
+        assertThat(unfilteredPage.get("tagTypes")).isNotSameAs(homePage.get("tagTypes"));
+    }
+
+    @Test
+    public void only_the_computations_that_were_skipped_should_be_counted_as_reused() {
+        freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, true);
+        freemarkerContext.getBuildContext(TestOutcomes.of(Collections.singletonList(firstTest)), reportNameProvider, true);
+
+        assertThat(freemarkerContext.getReusedComputationCount()).isZero();
+
+        freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, true);
+
+        assertThat(freemarkerContext.getReusedComputationCount()).isGreaterThan(0);
+    }
+
+    @Test
+    public void pages_reporting_on_a_subset_of_the_test_outcomes_should_only_share_the_report_wide_values() {
+        Map<String, Object> homePage = freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, true);
+        Map<String, Object> storyPage = freemarkerContext.getBuildContext(TestOutcomes.of(Collections.singletonList(firstTest)), reportNameProvider, true);
+
+        assertThat(storyPage.get("resultCounts")).isNotSameAs(homePage.get("resultCounts"));
+        assertThat(((TestOutcomes) storyPage.get("testOutcomes")).getOutcomes()).containsExactly(firstTest);
+        assertThat(storyPage.get("timestamp")).isEqualTo(homePage.get("timestamp"));
+        assertThat(storyPage.get("customFields")).isSameAs(homePage.get("customFields"));
+    }
+
+    @Test
+    public void each_page_should_have_its_own_context_to_add_values_to() {
+        Map<String, Object> homePage = freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, true);
+        homePage.put("report", "home page");
+
+        Map<String, Object> summaryPage = freemarkerContext.getBuildContext(allTestOutcomes, reportNameProvider, true);
+
+        assertThat(summaryPage).doesNotContainKey("report");
+    }
+}
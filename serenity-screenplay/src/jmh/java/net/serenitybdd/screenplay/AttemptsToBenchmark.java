@@ -0,0 +1,58 @@
+package net.serenitybdd.screenplay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead that Actor.attemptsTo() adds to a task, for a task that Serenity instruments on the fly,
+ * a task that has already been instrumented, and a task whose performAs() method is called directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttemptsToBenchmark {
+
+    public static class OpenTheDoor implements Performable {
+        private String door;
+
+        public OpenTheDoor() {
+        }
+
+        public OpenTheDoor(String door) {
+            this.door = door;
+        }
+
+        @Override
+        public <T extends Actor> void performAs(T actor) {
+            actor.remember("door", door);
+        }
+    }
+
+    private Actor actor;
+    private Performable preinstrumentedTask;
+
+    @Setup
+    public void createActor() {
+        actor = Actor.named("Bernie");
+        preinstrumentedTask = Tasks.instrumented(OpenTheDoor.class, "front door");
+    }
+
+    @Benchmark
+    public void performAsCalledDirectly() {
+        new OpenTheDoor("front door").performAs(actor);
+    }
+
+    @Benchmark
+    public void attemptsToWithATaskInstrumentedOnTheFly() {
+        actor.attemptsTo(new OpenTheDoor("front door"));
+    }
+
+    @Benchmark
+    public void attemptsToWithAnInstrumentedTask() {
+        actor.attemptsTo(preinstrumentedTask);
+    }
+}
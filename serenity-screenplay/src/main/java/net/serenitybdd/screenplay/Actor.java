@@ -9,16 +9,14 @@ import net.serenitybdd.screenplay.events.*;
 import net.serenitybdd.screenplay.exceptions.IgnoreStepException;
 import net.serenitybdd.screenplay.facts.Fact;
 import net.serenitybdd.screenplay.facts.FactLifecycleListener;
-import net.thucydides.core.annotations.Pending;
-import net.thucydides.core.annotations.Step;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.steps.ExecutedStepDescription;
+import net.thucydides.core.steps.SilentTaskTracker;
 import net.thucydides.core.steps.StepEventBus;
 import net.thucydides.core.steps.StepListener;
 import net.thucydides.core.util.EnvironmentVariables;
 import org.openqa.selenium.Keys;
 
-import java.lang.reflect.Method;
 import java.util.*;
 
 import static net.serenitybdd.screenplay.SilentTasks.isNestedInSilentTask;
@@ -195,11 +193,7 @@ public class Actor implements PerformsTasks, SkipNested {
     }
 
     private boolean noStepAnnotationIsPresentIn(Performable task) {
-        try {
-            return task.getClass().getMethod("performAs").getAnnotation(Step.class) != null;
-        } catch (NoSuchMethodException e) {
-            return false;
-        }
+        return PerformableMetadata.forClass(task.getClass()).hasStepAnnotationOnPerformAs();
     }
 
     public <ANSWER> ANSWER asksFor(Question<ANSWER> question) {
@@ -211,7 +205,12 @@ public class Actor implements PerformsTasks, SkipNested {
     }
 
     private <T extends Performable> void performSilently(T todo) {
-        perform(todo);
+        SilentTaskTracker.startingSilentTask();
+        try {
+            perform(todo);
+        } finally {
+            SilentTaskTracker.finishedSilentTask();
+        }
     }
 
     private <T extends Performable> void performWithoutReporting(T todo) {
@@ -259,17 +258,7 @@ public class Actor implements PerformsTasks, SkipNested {
     }
 
     private <T extends Performable> boolean isPending(T todo) {
-            Method performAs = getPerformAsForClass(todo.getClass().getSuperclass()).orElse(getPerformAsForClass(todo.getClass()).orElse(null));
-
-            return (performAs != null) && (performAs.getAnnotation(Pending.class) != null);
-    }
-
-    private Optional<Method> getPerformAsForClass(Class taskClass) {
-        try {
-            return Optional.of(taskClass.getMethod("performAs", Actor.class));
-        } catch (NoSuchMethodException e) {
-            return Optional.empty();
-        }
+        return PerformableMetadata.forClass(todo.getClass()).isPending();
     }
 
     private boolean pendingOrIgnore(Throwable exception) {
@@ -15,6 +15,14 @@ class CopyNonNullProperties {
     }
 
     public void to(Object target) {
+        if (target.getClass().getSuperclass() == source.getClass()) {
+            PerformableMetadata.fieldCopierFor(source.getClass()).copy(source, target);
+        } else {
+            copyFieldsReflectivelyTo(target);
+        }
+    }
+
+    private void copyFieldsReflectivelyTo(Object target) {
         Arrays.stream(source.getClass().getDeclaredFields()).filter(field -> !field.isSynthetic()).forEach(
                 field -> copyFieldValue(field, source, target)
         );
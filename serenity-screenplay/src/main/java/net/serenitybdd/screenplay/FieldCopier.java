@@ -0,0 +1,98 @@
+package net.serenitybdd.screenplay;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Copies the non-null field values of a task into an instrumented copy of the task, using method handles
+ * prepared once for each task class.
+ */
+final class FieldCopier {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final List<FieldCopy> fieldCopies;
+
+    private FieldCopier(List<FieldCopy> fieldCopies) {
+        this.fieldCopies = Collections.unmodifiableList(fieldCopies);
+    }
+
+    /**
+     * The fields copied are the fields declared in the task class and any public fields it inherits.
+     * Static fields belong to the class rather than to the task, so they are left alone.
+     */
+    static FieldCopier forClass(Class<?> taskClass) {
+        Set<Field> fields = new LinkedHashSet<>();
+        fields.addAll(asList(taskClass.getDeclaredFields()));
+        fields.addAll(asList(taskClass.getFields()));
+
+        List<FieldCopy> fieldCopies = new ArrayList<>();
+        for (Field field : fields) {
+            if (!field.isSynthetic() && !Modifier.isStatic(field.getModifiers())) {
+                fieldCopies.add(FieldCopy.of(field));
+            }
+        }
+        return new FieldCopier(fieldCopies);
+    }
+
+    void copy(Object source, Object target) {
+        for (FieldCopy fieldCopy : fieldCopies) {
+            fieldCopy.copy(source, target);
+        }
+    }
+
+    private static class FieldCopy {
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldCopy(Field field, MethodHandle getter, MethodHandle setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        static FieldCopy of(Field field) {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = null;
+            MethodHandle setter = null;
+            try {
+                getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException noMethodHandleAccess) {
+                // Some fields (e.g. final fields on some JVMs) can only be written reflectively
+            }
+            return new FieldCopy(field, getter, setter);
+        }
+
+        void copy(Object source, Object target) {
+            try {
+                Object sourceValue = (getter != null) ? getter.invokeExact(source) : field.get(source);
+                if (sourceValue == null) {
+                    return;
+                }
+                if (setter != null) {
+                    setter.invokeExact(target, sourceValue);
+                } else {
+                    field.set(target, sourceValue);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+}
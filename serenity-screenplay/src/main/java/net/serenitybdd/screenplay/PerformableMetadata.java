@@ -0,0 +1,116 @@
+package net.serenitybdd.screenplay;
+
+import net.thucydides.core.annotations.Pending;
+import net.thucydides.core.annotations.Step;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static java.util.Arrays.stream;
+
+/**
+ * What the Screenplay runtime needs to know about a Performable class, worked out once per class rather than
+ * each time a task is performed.
+ */
+final class PerformableMetadata {
+
+    private static final ClassValue<PerformableMetadata> METADATA = new ClassValue<PerformableMetadata>() {
+        @Override
+        protected PerformableMetadata computeValue(Class<?> performableClass) {
+            return new PerformableMetadata(performableClass);
+        }
+    };
+
+    private static final ClassValue<FieldCopier> FIELD_COPIERS = new ClassValue<FieldCopier>() {
+        @Override
+        protected FieldCopier computeValue(Class<?> performableClass) {
+            return FieldCopier.forClass(performableClass);
+        }
+    };
+
+    private final boolean instrumented;
+    private final boolean instrumentable;
+    private final boolean pending;
+    private final boolean stepAnnotationOnPerformAs;
+
+    private PerformableMetadata(Class<?> performableClass) {
+        this.instrumented = performableClass.getSimpleName().contains("ByteBuddy");
+        this.instrumentable = hasPerformAsMethod(performableClass) && hasDefaultConstructor(performableClass);
+        this.pending = isPending(performableClass);
+        this.stepAnnotationOnPerformAs = stepAnnotationOnPerformAs(performableClass);
+    }
+
+    static PerformableMetadata forClass(Class<?> performableClass) {
+        return METADATA.get(performableClass);
+    }
+
+    static FieldCopier fieldCopierFor(Class<?> performableClass) {
+        return FIELD_COPIERS.get(performableClass);
+    }
+
+    /**
+     * Has this class been generated by Serenity to report on a task?
+     */
+    boolean isInstrumented() {
+        return instrumented;
+    }
+
+    /**
+     * Can Serenity generate an instrumented version of this class?
+     */
+    boolean canBeInstrumented() {
+        return instrumentable;
+    }
+
+    boolean isPending() {
+        return pending;
+    }
+
+    boolean hasStepAnnotationOnPerformAs() {
+        return stepAnnotationOnPerformAs;
+    }
+
+    private static boolean hasPerformAsMethod(Class<?> performableClass) {
+        return stream(performableClass.getMethods()).anyMatch(method -> method.getName().equals("performAs"));
+    }
+
+    private static boolean hasDefaultConstructor(Class<?> performableClass) {
+        return stream(performableClass.getConstructors()).anyMatch(PerformableMetadata::hasNoParameters)
+                || stream(performableClass.getDeclaredConstructors()).anyMatch(PerformableMetadata::hasNoParameters);
+    }
+
+    private static boolean hasNoParameters(Constructor<?> constructor) {
+        return constructor.getParameterCount() == 0;
+    }
+
+    /**
+     * An instrumented task is a subclass of the original task class, so the annotations are read from the superclass
+     * if it has a performAs() method.
+     */
+    private static boolean isPending(Class<?> performableClass) {
+        Optional<Method> performAs = performAsMethodIn(performableClass.getSuperclass());
+        if (!performAs.isPresent()) {
+            performAs = performAsMethodIn(performableClass);
+        }
+        return performAs.isPresent() && performAs.get().getAnnotation(Pending.class) != null;
+    }
+
+    private static Optional<Method> performAsMethodIn(Class<?> taskClass) {
+        if (taskClass == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(taskClass.getMethod("performAs", Actor.class));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean stepAnnotationOnPerformAs(Class<?> performableClass) {
+        return Arrays.stream(performableClass.getMethods())
+                .filter(method -> method.getName().equals("performAs") && method.getParameterCount() == 0)
+                .anyMatch(method -> method.getAnnotation(Step.class) != null);
+    }
+}
@@ -2,8 +2,7 @@ package net.serenitybdd.screenplay;
 
 import net.serenitybdd.markers.CanBeSilent;
 import net.serenitybdd.markers.IsSilent;
-
-import static java.util.Arrays.asList;
+import net.thucydides.core.steps.SilentTaskTracker;
 
 public class SilentTasks {
     public static boolean isSilent(Performable task) {
@@ -18,8 +17,6 @@ public class SilentTasks {
     }
 
     public static boolean isNestedInSilentTask() {
-        return asList(new Exception().getStackTrace())
-                .stream()
-                .anyMatch(element -> element.getMethodName().equals("performSilently"));
+        return SilentTaskTracker.isNestedInSilentTask();
     }
 }
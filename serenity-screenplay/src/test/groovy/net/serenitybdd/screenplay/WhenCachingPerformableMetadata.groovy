@@ -0,0 +1,75 @@
+package net.serenitybdd.screenplay
+
+import net.thucydides.core.annotations.Pending
+import spock.lang.Specification
+
+class WhenCachingPerformableMetadata extends Specification {
+
+    static class PlantsATree implements Performable {
+        String tree
+        String place = "the garden"
+
+        PlantsATree() {}
+
+        PlantsATree(String tree) {
+            this.tree = tree
+        }
+
+        @Override
+        <T extends Actor> void performAs(T actor) {}
+    }
+
+    static class ClimbsATree implements Performable {
+        @Pending
+        @Override
+        <T extends Actor> void performAs(T actor) {}
+    }
+
+    static class PrunesATree implements Performable {
+        private final String tree
+
+        PrunesATree(String tree) {
+            this.tree = tree
+        }
+
+        @Override
+        <T extends Actor> void performAs(T actor) {}
+    }
+
+    def "should know whether a task class can be instrumented"() {
+        expect:
+            PerformableMetadata.forClass(PlantsATree).canBeInstrumented()
+            !PerformableMetadata.forClass(PrunesATree).canBeInstrumented()
+    }
+
+    def "should know whether a task is pending"() {
+        expect:
+            PerformableMetadata.forClass(ClimbsATree).isPending()
+            !PerformableMetadata.forClass(PlantsATree).isPending()
+    }
+
+    def "should compute the metadata once for each task class"() {
+        expect:
+            PerformableMetadata.forClass(PlantsATree).is(PerformableMetadata.forClass(PlantsATree))
+    }
+
+    def "should recognise an instrumented task"() {
+        given:
+            def instrumentedTask = Tasks.instrumented(PlantsATree, "oak")
+        expect:
+            PerformableMetadata.forClass(instrumentedTask.getClass()).isInstrumented()
+            !PerformableMetadata.forClass(PlantsATree).isInstrumented()
+    }
+
+    def "should copy the non-null fields of a task into its instrumented copy"() {
+        given:
+            def task = new PlantsATree("oak")
+            task.place = null
+            def instrumentedTask = Tasks.instrumented(PlantsATree)
+        when:
+            CopyNonNullProperties.from(task).to(instrumentedTask)
+        then:
+            instrumentedTask.tree == "oak"
+            instrumentedTask.place == "the garden"
+    }
+}
@@ -0,0 +1,68 @@
+package net.serenitybdd.reports.model;
+
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.reports.TestOutcomes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the report builders take to work out the unstable features and frequent failures
+ * for 100,000 test outcomes spread over 1,000 stories, with one test in ten failing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TestOutcomeAggregateBenchmark {
+
+    private static final int OUTCOME_COUNT = 100_000;
+    private static final int STORY_COUNT = 1_000;
+
+    private List<TestOutcome> outcomes;
+    private TestOutcomes testOutcomes;
+
+    @Setup(Level.Trial)
+    public void createOutcomes() {
+        outcomes = new ArrayList<>(OUTCOME_COUNT);
+        for (int i = 0; i < OUTCOME_COUNT; i++) {
+            TestOutcome outcome = TestOutcome.forTestInStory("test " + i, Story.called("story " + (i % STORY_COUNT)));
+            if (i % 10 == 0) {
+                outcome.determineTestFailureCause((i % 20 == 0) ? new AssertionError("test failed") : new IllegalStateException("test broken"));
+            } else {
+                outcome.setResult(TestResult.SUCCESS);
+            }
+            outcomes.add(outcome);
+        }
+    }
+
+    /**
+     * A new set of test outcomes for each call, so that every call builds its own aggregate.
+     */
+    @Setup(Level.Invocation)
+    public void wrapOutcomes() {
+        testOutcomes = TestOutcomes.of(outcomes);
+    }
+
+    @Benchmark
+    public List<UnstableFeature> unstableFeatures() {
+        return UnstableFeatures.from(testOutcomes).withMaxOf(5);
+    }
+
+    @Benchmark
+    public List<FrequentFailure> frequentFailures() {
+        return FrequentFailures.from(testOutcomes).withMaxOf(5);
+    }
+
+    @Benchmark
+    public int unstableFeaturesAndFrequentFailures() {
+        return UnstableFeatures.from(testOutcomes).withMaxOf(5).size()
+                + FrequentFailures.from(testOutcomes).withMaxOf(5).size();
+    }
+}
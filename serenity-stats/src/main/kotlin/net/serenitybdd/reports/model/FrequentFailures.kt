@@ -5,7 +5,6 @@ import net.thucydides.core.reports.TestOutcomes
 import net.thucydides.core.reports.html.ReportNameProvider
 import net.thucydides.core.reports.html.ResultIconFormatter
 import net.thucydides.core.util.NameConverter.humanize
-import org.apache.commons.lang3.StringUtils
 
 class FrequentFailures {
     companion object {
@@ -17,17 +16,12 @@ class FrequentFailures {
 class FrequentFailuresBuilder(val testOutcomes: TestOutcomes) {
 
     fun withMaxOf(maxEntries: Int): List<FrequentFailure> =
-            testOutcomes.unsuccessfulTests.outcomes
-                    .map { outcome -> ScenarioSummary.ofFailingScenariosIn(outcome).results.toList() }
-                    .flatten()
-                    .filter { StringUtils.isNotEmpty(it.testFailureErrorType) }
-                    .groupBy { it.testFailureErrorType }
-                    .map { (error, outcomes) -> FrequentFailure(error, outcomes.size, testResultOf(outcomes)) }
+            TestOutcomeAggregate.of(testOutcomes).failuresByErrorType()
+                    .map { (error, failures) -> FrequentFailure(error, failures.count, testResultOf(failures.firstFailure)) }
                     .sortedByDescending { it.count }
                     .take(maxEntries)
 
-    private fun testResultOf(outcomes: List<ScenarioSummaryResult>) =
-            TestResult.valueOf(outcomes.first().result.toUpperCase())
+    private fun testResultOf(failure: ScenarioSummaryResult) = TestResult.valueOf(failure.result.toUpperCase())
 }
 
 class FrequentFailure(val type: String, val count: Int, val result: TestResult) {
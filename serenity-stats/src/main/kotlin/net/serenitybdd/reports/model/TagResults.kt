@@ -34,15 +34,19 @@ class TagResults(val testOutcomes: TestOutcomes) {
 
 
 
-    fun forAllTags(): List<TagResult> =
-            testOutcomes.tags
-                    .filter { tag -> !requirementsService.requirementTypes.contains(tag.type) }
-                    .map { tag ->
-                        TagResult(tag,
-                                ReportNameProvider().forTag(tag),
-                                testOutcomes.withTag(tag).total,
-                                testOutcomes.withTag(tag).result)
-                    }
+    fun forAllTags(): List<TagResult> {
+        val aggregate = TestOutcomeAggregate.of(testOutcomes)
+        val requirementTypes = requirementsService.requirementTypes
+        return testOutcomes.tags
+                .filter { tag -> !requirementTypes.contains(tag.type) }
+                .map { tag ->
+                    val totals = aggregate.totalsForTag(tag, testOutcomes)
+                    TagResult(tag,
+                            ReportNameProvider().forTag(tag),
+                            totals.count,
+                            totals.result)
+                }
+    }
 }
 
 class TagResult(val tag: TestTag, val report: String, val count: Int, val result: TestResult) {
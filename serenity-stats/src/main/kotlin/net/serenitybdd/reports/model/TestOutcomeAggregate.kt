@@ -0,0 +1,86 @@
+package net.serenitybdd.reports.model
+
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.model.TestResult
+import net.thucydides.core.model.TestTag
+import net.thucydides.core.reports.TestOutcomes
+import org.apache.commons.lang3.StringUtils
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * The per-story totals, failures by error type and per-tag results that the report builders need,
+ * gathered in a single pass over a set of test outcomes.
+ * An aggregate is shared by all the report builders working on the same set of test outcomes.
+ * The aggregates are weakly keyed by their set of test outcomes, so an aggregate must never hold a reference
+ * to its own set of test outcomes: that would keep both alive for as long as the JVM runs.
+ */
+class TestOutcomeAggregate private constructor(testOutcomes: TestOutcomes) {
+
+    companion object {
+        private val aggregates: MutableMap<TestOutcomes, TestOutcomeAggregate> = Collections.synchronizedMap(WeakHashMap())
+
+        @JvmStatic
+        fun of(testOutcomes: TestOutcomes): TestOutcomeAggregate =
+                aggregates.getOrPut(testOutcomes) { TestOutcomeAggregate(testOutcomes) }
+
+        const val UNDEFINED_STORY = "Undefined Story"
+    }
+
+    private val totalTestsByStory: Map<String, Int>
+    private val unsuccessfulOutcomesByStory: Map<String, List<TestOutcome>>
+    private val failuresByErrorType: Map<String, ErrorTypeFailures>
+    private val tagTotals = ConcurrentHashMap<TestTag, TagTotals>()
+
+    init {
+        val totals = HashMap<String, Int>()
+        for (outcome in testOutcomes.outcomes) {
+            val storyName = outcome.userStory?.displayName ?: continue
+            totals[storyName] = (totals[storyName] ?: 0) + outcome.testCount
+        }
+        totalTestsByStory = totals
+
+        val unsuccessfulByStory = LinkedHashMap<String, MutableList<TestOutcome>>()
+        val failuresByError = LinkedHashMap<String, ErrorTypeFailures>()
+        for (outcome in testOutcomes.unsuccessfulTests.outcomes) {
+            val storyName = outcome.userStory?.displayName ?: UNDEFINED_STORY
+            unsuccessfulByStory.getOrPut(storyName) { ArrayList() }.add(outcome)
+
+            ScenarioSummary.ofFailingScenariosIn(outcome).results
+                    .filter { StringUtils.isNotEmpty(it.testFailureErrorType) }
+                    .forEach { failuresByError.getOrPut(it.testFailureErrorType) { ErrorTypeFailures(it) }.count++ }
+        }
+        unsuccessfulOutcomesByStory = unsuccessfulByStory
+        failuresByErrorType = failuresByError
+    }
+
+    /**
+     * The unsuccessful test outcomes, grouped by the name of their user story, in the order they were found.
+     */
+    fun unsuccessfulOutcomesByStory(): Map<String, List<TestOutcome>> = unsuccessfulOutcomesByStory
+
+    /**
+     * The total number of tests (including data-driven rows) in a user story.
+     */
+    fun totalTestsInStory(storyName: String): Int = totalTestsByStory[storyName] ?: 0
+
+    /**
+     * The failing scenarios, grouped by error type, in the order they were found.
+     */
+    fun failuresByErrorType(): Map<String, ErrorTypeFailures> = failuresByErrorType
+
+    /**
+     * The number of tests with a given tag, and their overall result, in the set of test outcomes of this aggregate.
+     */
+    fun totalsForTag(tag: TestTag, testOutcomes: TestOutcomes): TagTotals = tagTotals.computeIfAbsent(tag) {
+        val outcomesWithTag = testOutcomes.withTag(tag)
+        TagTotals(outcomesWithTag.total, outcomesWithTag.result)
+    }
+}
+
+class ErrorTypeFailures(val firstFailure: ScenarioSummaryResult) {
+    var count: Int = 0
+        internal set
+}
+
+class TagTotals(val count: Int, val result: TestResult)
@@ -1,8 +1,6 @@
 package net.serenitybdd.reports.model
 
-import net.thucydides.core.model.DataTableRow
 import net.thucydides.core.model.TestOutcome
-import net.thucydides.core.model.TestResult.*
 import net.thucydides.core.reports.TestOutcomes
 import net.thucydides.core.reports.html.ReportNameProvider
 import net.thucydides.core.requirements.ParentRequirementProvider
@@ -26,12 +24,12 @@ class UnstableFeaturesBuilder(val testOutcomes: TestOutcomes) {
     }
 
     fun withMaxOf(maxEntries: Int): List<UnstableFeature> {
-        return testOutcomes.unsuccessfulTests.outcomes
-                .groupBy { outcome -> defaultStoryNameOr(outcome.userStory?.displayName) }
+        val aggregate = TestOutcomeAggregate.of(testOutcomes)
+        return aggregate.unsuccessfulOutcomesByStory()
                 .map { (userStoryName, outcomes) ->
                     UnstableFeature(userStoryName,
                             outcomes.size,
-                            percentageFailures(outcomes.size, userStoryName, testOutcomes),
+                            percentageFailures(outcomes.size, aggregate.totalTestsInStory(userStoryName)),
                             featureReport(outcomes[0]))
                 }
                 .sortedWith(compareByDescending<UnstableFeature> { it.failurePercentage }
@@ -39,27 +37,8 @@ class UnstableFeaturesBuilder(val testOutcomes: TestOutcomes) {
                 .take(maxEntries)
     }
 
-    private fun defaultStoryNameOr(displayName: String?): String = if (displayName != null) displayName else "Undefined Story"
-
-    private fun unsuccessfulOutcomesIn(testOutcomes: TestOutcomes) : Int {
-        return testOutcomes.outcomes.map { unsuccessfulOutcomesIn(it) }.sum()
-    }
-
-    private fun unsuccessfulOutcomesIn(outcome : TestOutcome) : Int {
-        if (outcome.isDataDriven) {
-            return outcome.dataTable.rows.count(this::isUnsuccessful)
-        }
-        return if (outcome.isError || outcome.isCompromised || outcome.isFailure) 1 else 0
-    }
-
-    private fun isUnsuccessful(row: DataTableRow) = row.result == FAILURE || row.result == ERROR || row.result == COMPROMISED
-
-    private fun percentageFailures(failingScenarios: Int, userStoryName: String, testOutcomes: TestOutcomes): Int {
-        val totalScenarios = TestOutcomes.of(testOutcomes.outcomes.filter {
-                                                outcome -> userStoryName == outcome.userStory?.displayName }
-                                            ).total
-        return if (totalScenarios == 0) 0 else failingScenarios * 100 / totalScenarios
-    }
+    private fun percentageFailures(failingScenarios: Int, totalScenarios: Int): Int =
+            if (totalScenarios == 0) 0 else failingScenarios * 100 / totalScenarios
 
     fun featureReport(outcome : TestOutcome) : String {
 
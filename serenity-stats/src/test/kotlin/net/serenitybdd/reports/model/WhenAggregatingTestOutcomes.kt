@@ -0,0 +1,68 @@
+package net.serenitybdd.reports.model
+
+import net.thucydides.core.model.Story
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.model.TestResult
+import net.thucydides.core.reports.TestOutcomes
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+class WhenAggregatingTestOutcomes {
+
+    private fun passingTestIn(story: String) = TestOutcome.forTestInStory("passing test", Story.called(story)).apply {
+        result = TestResult.SUCCESS
+    }
+
+    private fun failingTestIn(story: String, error: Throwable = AssertionError("test failed")) =
+            TestOutcome.forTestInStory("failing test", Story.called(story)).apply {
+                determineTestFailureCause(error)
+            }
+
+    private val testOutcomes = TestOutcomes.of(listOf(
+            passingTestIn("Buying things"),
+            failingTestIn("Buying things"),
+            passingTestIn("Selling things"),
+            passingTestIn("Selling things"),
+            passingTestIn("Selling things"),
+            failingTestIn("Selling things", IllegalStateException("test broken")),
+            failingTestIn("Returning things")
+    ))
+
+    @Test
+    fun `the same aggregate should be shared by all the report builders for a set of test outcomes`() {
+        assertThat(TestOutcomeAggregate.of(testOutcomes)).isSameAs(TestOutcomeAggregate.of(testOutcomes))
+    }
+
+    @Test
+    fun `an aggregate should not keep its set of test outcomes alive`() {
+        assertThat(TestOutcomeAggregate::class.java.declaredFields.map { it.type })
+                .doesNotContain(TestOutcomes::class.java)
+    }
+
+    @Test
+    fun `unsuccessful outcomes should be grouped by story along with the story totals`() {
+        val aggregate = TestOutcomeAggregate.of(testOutcomes)
+
+        assertThat(aggregate.unsuccessfulOutcomesByStory().keys).containsExactlyInAnyOrder("Buying things", "Selling things", "Returning things")
+        assertThat(aggregate.totalTestsInStory("Buying things")).isEqualTo(2)
+        assertThat(aggregate.totalTestsInStory("Selling things")).isEqualTo(4)
+        assertThat(aggregate.totalTestsInStory("Unknown story")).isEqualTo(0)
+    }
+
+    @Test
+    fun `unstable features should be ordered by failure percentage`() {
+        val unstableFeatures = UnstableFeatures.from(testOutcomes).withMaxOf(5)
+
+        assertThat(unstableFeatures.map { it.name }).containsExactly("Returning things", "Buying things", "Selling things")
+        assertThat(unstableFeatures.map { it.failurePercentage }).containsExactly(100, 50, 25)
+    }
+
+    @Test
+    fun `frequent failures should be counted by error type`() {
+        val frequentFailures = FrequentFailures.from(testOutcomes).withMaxOf(5)
+
+        assertThat(frequentFailures.map { it.type }).containsExactly("java.lang.AssertionError", "java.lang.IllegalStateException")
+        assertThat(frequentFailures.map { it.count }).containsExactly(2, 1)
+        assertThat(frequentFailures.map { it.result }).containsExactly(TestResult.FAILURE, TestResult.ERROR)
+    }
+}